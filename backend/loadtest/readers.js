@@ -0,0 +1,69 @@
+/**
+ * 读者并发压测脚本（k6）
+ * 模拟最多5000个并发读者浏览首页、热点、详情和评论，输出吞吐量和p99延迟，
+ * 用于对比平台线程（默认）与虚拟线程（virtual配置）两种模式：
+ *
+ *   k6 run -e BASE_URL=http://localhost:8080/api -e TAG=platform loadtest/readers.js
+ *   k6 run -e BASE_URL=http://localhost:8080/api -e TAG=virtual  loadtest/readers.js
+ *
+ * 可选参数：READERS（并发读者数，默认5000）、DURATION（稳态时长，默认2m）
+ */
+import http from 'k6/http';
+import { check, sleep } from 'k6';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8080/api';
+const READERS = parseInt(__ENV.READERS || '5000', 10);
+const DURATION = __ENV.DURATION || '2m';
+
+export const options = {
+  scenarios: {
+    readers: {
+      executor: 'ramping-vus',
+      startVUs: 0,
+      stages: [
+        { duration: '30s', target: READERS },
+        { duration: DURATION, target: READERS },
+        { duration: '15s', target: 0 },
+      ],
+      gracefulRampDown: '10s',
+    },
+  },
+  tags: { mode: __ENV.TAG || 'default' },
+  summaryTrendStats: ['avg', 'p(50)', 'p(95)', 'p(99)', 'max'],
+  thresholds: {
+    http_req_failed: ['rate<0.01'],
+    'http_req_duration{endpoint:feed}': ['p(99)<1000'],
+    'http_req_duration{endpoint:detail}': ['p(99)<1000'],
+  },
+};
+
+// 预先取一页新闻ID，供详情和评论请求使用
+export function setup() {
+  const res = http.get(`${BASE_URL}/news/feed/latest?size=50`);
+  const ids = res.status === 200 ? res.json('content').map((item) => item.id) : [];
+  if (ids.length === 0) {
+    throw new Error(`No news available at ${BASE_URL}`);
+  }
+  return { ids };
+}
+
+export default function (data) {
+  const id = data.ids[Math.floor(Math.random() * data.ids.length)];
+
+  const feed = http.get(`${BASE_URL}/news/feed/latest?size=20`, { tags: { endpoint: 'feed' } });
+  check(feed, { 'feed 200': (r) => r.status === 200 });
+
+  if (Math.random() < 0.3) {
+    const hot = http.get(`${BASE_URL}/news/hot?size=10`, { tags: { endpoint: 'hot' } });
+    check(hot, { 'hot 200': (r) => r.status === 200 });
+  }
+
+  const detail = http.get(`${BASE_URL}/news/${id}`, { tags: { endpoint: 'detail' } });
+  check(detail, { 'detail 200': (r) => r.status === 200 });
+
+  const comments = http.get(`${BASE_URL}/comments/news/${id}?size=20`, { tags: { endpoint: 'comments' } });
+  check(comments, { 'comments 200': (r) => r.status === 200 });
+
+  // 阅读停留
+  sleep(1 + Math.random() * 2);
+}
@@ -0,0 +1,121 @@
+package com.news.ai;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 自适应令牌桶限流器
+ * 请求成功时线性提高速率，遇到限流时速率减半并暂停发放令牌（AIMD），令牌不足时预留令牌并在锁外等待
+ */
+public class AdaptiveRateLimiter {
+
+    private static final long NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final double minRate;
+    private final double maxRate;
+    private final double increaseStep;
+    private final double capacity;
+    private final long defaultBackoffNanos;
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private double rate;
+    private double tokens;
+    // 令牌从该时刻开始补充；限流退避时被推到未来
+    private long lastRefillNanos;
+
+    /**
+     * @param initialRate          初始速率（次/秒）
+     * @param minRate              最低速率
+     * @param maxRate              最高速率
+     * @param increaseStep         每次成功提高的速率
+     * @param burst                令牌桶容量
+     * @param defaultBackoffMillis 服务端未给出Retry-After时的退避时间
+     */
+    public AdaptiveRateLimiter(double initialRate, double minRate, double maxRate,
+                               double increaseStep, int burst, long defaultBackoffMillis) {
+        if (minRate <= 0 || maxRate < minRate) {
+            throw new IllegalArgumentException("Invalid rate bounds");
+        }
+        this.minRate = minRate;
+        this.maxRate = maxRate;
+        this.increaseStep = increaseStep;
+        this.capacity = Math.max(1, burst);
+        this.defaultBackoffNanos = TimeUnit.MILLISECONDS.toNanos(defaultBackoffMillis);
+        this.rate = Math.min(maxRate, Math.max(minRate, initialRate));
+        this.tokens = 1;
+        this.lastRefillNanos = System.nanoTime();
+    }
+
+    /**
+     * 获取一个令牌，必要时阻塞等待
+     */
+    public void acquire() throws InterruptedException {
+        long waitNanos;
+        lock.lock();
+        try {
+            long now = System.nanoTime();
+            refill(now);
+            tokens -= 1;
+            waitNanos = Math.max(0, lastRefillNanos - now)
+                    + (tokens >= 0 ? 0 : (long) (-tokens / rate * NANOS_PER_SECOND));
+        } finally {
+            lock.unlock();
+        }
+        if (waitNanos > 0) {
+            TimeUnit.NANOSECONDS.sleep(waitNanos);
+        }
+    }
+
+    /**
+     * 请求成功：线性提高速率
+     */
+    public void onSuccess() {
+        lock.lock();
+        try {
+            refill(System.nanoTime());
+            rate = Math.min(maxRate, rate + increaseStep);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 被限流：速率减半，并在退避时间内停止发放令牌
+     *
+     * @param retryAfterMillis 服务端建议的等待时间，0表示使用默认退避
+     */
+    public void onThrottled(long retryAfterMillis) {
+        lock.lock();
+        try {
+            long now = System.nanoTime();
+            refill(now);
+            rate = Math.max(minRate, rate / 2);
+            long backoff = retryAfterMillis > 0 ? TimeUnit.MILLISECONDS.toNanos(retryAfterMillis) : defaultBackoffNanos;
+            lastRefillNanos = Math.max(lastRefillNanos, now + backoff);
+            tokens = Math.min(tokens, 0);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 当前速率（次/秒）
+     */
+    public double getRate() {
+        lock.lock();
+        try {
+            return rate;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void refill(long now) {
+        if (now <= lastRefillNanos) {
+            return;
+        }
+        double elapsedSeconds = (now - lastRefillNanos) / (double) NANOS_PER_SECOND;
+        tokens = Math.min(capacity, tokens + elapsedSeconds * rate);
+        lastRefillNanos = now;
+    }
+}
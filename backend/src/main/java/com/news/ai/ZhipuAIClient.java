@@ -1,88 +1,250 @@
 package com.news.ai;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
-import lombok.Data;
+import com.news.ai.dto.ChatCompletionRequest;
+import com.news.ai.dto.ChatCompletionResponse;
+import com.news.ai.dto.ChatMessage;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.hc.client5.http.async.methods.SimpleHttpRequest;
+import org.apache.hc.client5.http.async.methods.SimpleHttpResponse;
+import org.apache.hc.client5.http.async.methods.SimpleRequestBuilder;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.config.TlsConfig;
+import org.apache.hc.client5.http.impl.async.CloseableHttpAsyncClient;
+import org.apache.hc.client5.http.impl.async.HttpAsyncClients;
+import org.apache.hc.client5.http.impl.nio.PoolingAsyncClientConnectionManagerBuilder;
+import org.apache.hc.core5.concurrent.FutureCallback;
+import org.apache.hc.core5.http.ContentType;
+import org.apache.hc.core5.http.Header;
+import org.apache.hc.core5.http.HttpHeaders;
+import org.apache.hc.core5.http.HttpStatus;
+import org.apache.hc.core5.http2.HttpVersionPolicy;
+import org.apache.hc.core5.io.CloseMode;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.http.*;
 import org.springframework.stereotype.Component;
-import org.springframework.web.client.RestTemplate;
 
-import java.util.HashMap;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
 import java.util.List;
-import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * ZhipuAI API客户端
- * 用于调用智谱AI的GLM-4模型生成新闻摘要
+ * 用于调用智谱AI的GLM-4模型生成新闻摘要。
+ * 基于连接池化的异步HTTP客户端（长连接，TLS协商HTTP/2），同一新闻的并发请求合并为一次调用
  */
 @Component
 @Slf4j
 public class ZhipuAIClient {
 
-    @Value("${zhipuai.api-key:}")
-    private String apiKey;
-
-    @Value("${zhipuai.api-url:https://open.bigmodel.cn/api/paas/v4/chat/completions}")
-    private String apiUrl;
+    private final String apiKey;
+    private final String apiUrl;
+    private final String model;
+    private final ObjectMapper objectMapper;
+    private final CloseableHttpAsyncClient httpClient;
 
-    @Value("${zhipuai.model:glm-4}")
-    private String model;
+    // 进行中的摘要请求：新闻ID -> 结果
+    private final ConcurrentHashMap<Long, CompletableFuture<String>> inFlight = new ConcurrentHashMap<>();
 
-    private final RestTemplate restTemplate;
-    private final ObjectMapper objectMapper;
+    public ZhipuAIClient(@Value("${zhipuai.api-key:}") String apiKey,
+                         @Value("${zhipuai.api-url:https://open.bigmodel.cn/api/paas/v4/chat/completions}") String apiUrl,
+                         @Value("${zhipuai.model:glm-4}") String model,
+                         @Value("${zhipuai.timeout:60000}") long responseTimeoutMillis,
+                         @Value("${zhipuai.connect-timeout:5000}") long connectTimeoutMillis,
+                         @Value("${zhipuai.max-connections:20}") int maxConnections,
+                         ObjectMapper objectMapper) {
+        this.apiKey = apiKey;
+        this.apiUrl = apiUrl;
+        this.model = model;
+        this.objectMapper = objectMapper;
 
-    public ZhipuAIClient() {
-        this.restTemplate = new RestTemplate();
-        this.objectMapper = new ObjectMapper();
+        var connectionManager = PoolingAsyncClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(maxConnections)
+                .setMaxConnPerRoute(maxConnections)
+                .setDefaultTlsConfig(TlsConfig.custom()
+                        .setVersionPolicy(HttpVersionPolicy.NEGOTIATE)
+                        .build())
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.ofMilliseconds(connectTimeoutMillis))
+                        .setSocketTimeout(Timeout.ofMilliseconds(responseTimeoutMillis))
+                        .build())
+                .build();
+        this.httpClient = HttpAsyncClients.custom()
+                .setConnectionManager(connectionManager)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectionRequestTimeout(Timeout.ofMilliseconds(connectTimeoutMillis))
+                        .setResponseTimeout(Timeout.ofMilliseconds(responseTimeoutMillis))
+                        .build())
+                .evictIdleConnections(TimeValue.ofMinutes(1))
+                .build();
+        this.httpClient.start();
+        log.info("ZhipuAI client initialized: maxConnections={}, connectTimeout={}ms, responseTimeout={}ms",
+                maxConnections, connectTimeoutMillis, responseTimeoutMillis);
     }
 
     /**
-     * 生成新闻摘要
-     * 
+     * 生成新闻摘要（阻塞等待结果）
+     *
+     * @param newsId 新闻ID，用于合并同一新闻的并发请求
      * @param newsTitle 新闻标题
      * @param newsContent 新闻内容
      * @return 生成的摘要文本
+     * @throws ZhipuAIException 接口调用失败
      */
-    public String generateSummary(String newsTitle, String newsContent) {
-        log.info("Generating summary for news: {}", newsTitle);
+    public String generateSummary(Long newsId, String newsTitle, String newsContent) {
+        try {
+            return generateSummaryAsync(newsId, newsTitle, newsContent).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof ZhipuAIException cause) {
+                throw cause;
+            }
+            throw new ZhipuAIException("ZhipuAI调用失败: " + e.getCause().getMessage(), e.getCause());
+        }
+    }
+
+    /**
+     * 异步生成新闻摘要
+     * 同一新闻已有进行中的请求时直接复用其结果
+     *
+     * @param newsId 新闻ID
+     * @param newsTitle 新闻标题
+     * @param newsContent 新闻内容
+     * @return 摘要文本的Future，失败时以ZhipuAIException结束
+     */
+    public CompletableFuture<String> generateSummaryAsync(Long newsId, String newsTitle, String newsContent) {
+        CompletableFuture<String> created = new CompletableFuture<>();
+        CompletableFuture<String> existing = inFlight.putIfAbsent(newsId, created);
+        if (existing != null) {
+            log.info("Joining in-flight summary request for news {}", newsId);
+            return existing.copy();
+        }
 
-        if (apiKey == null || apiKey.isEmpty() || apiKey.equals("your-api-key-here")) {
+        log.info("Generating summary for news: {}", newsTitle);
+        CompletableFuture<String> call;
+        if (!isApiAvailable()) {
             log.warn("ZhipuAI API key not configured, returning mock summary");
-            return generateMockSummary(newsTitle, newsContent);
+            call = CompletableFuture.completedFuture(generateMockSummary(newsTitle, newsContent));
+        } else {
+            call = callApi(buildSummaryPrompt(newsTitle, newsContent));
         }
+        call.whenComplete((summary, error) -> {
+            inFlight.remove(newsId, created);
+            if (error != null) {
+                created.completeExceptionally(error);
+            } else {
+                created.complete(summary);
+            }
+        });
+        return created.copy();
+    }
 
+    /**
+     * 调用对话补全接口
+     */
+    private CompletableFuture<String> callApi(String prompt) {
+        CompletableFuture<String> result = new CompletableFuture<>();
+        SimpleHttpRequest request;
         try {
-            // 构建请求体
-            String prompt = buildSummaryPrompt(newsTitle, newsContent);
-            Map<String, Object> requestBody = buildRequestBody(prompt);
-
-            // 设置请求头
-            HttpHeaders headers = new HttpHeaders();
-            headers.setContentType(MediaType.APPLICATION_JSON);
-            headers.set("Authorization", "Bearer " + apiKey);
-
-            HttpEntity<Map<String, Object>> request = new HttpEntity<>(requestBody, headers);
-
-            // 调用API
-            ResponseEntity<Map> response = restTemplate.exchange(
-                    apiUrl,
-                    HttpMethod.POST,
-                    request,
-                    Map.class
-            );
-
-            // 解析响应
-            if (response.getStatusCode() == HttpStatus.OK && response.getBody() != null) {
-                return parseSummaryFromResponse(response.getBody());
-            } else {
-                log.error("ZhipuAI API returned non-OK status: {}", response.getStatusCode());
-                return generateMockSummary(newsTitle, newsContent);
+            ChatCompletionRequest body = new ChatCompletionRequest(
+                    model, List.of(ChatMessage.user(prompt)), 0.7, 300);
+            request = SimpleRequestBuilder.post(apiUrl)
+                    .setHeader(HttpHeaders.AUTHORIZATION, "Bearer " + apiKey)
+                    .setBody(objectMapper.writeValueAsBytes(body), ContentType.APPLICATION_JSON)
+                    .build();
+        } catch (Exception e) {
+            result.completeExceptionally(new ZhipuAIException("构建ZhipuAI请求失败: " + e.getMessage(), e));
+            return result;
+        }
+
+        httpClient.execute(request, new FutureCallback<>() {
+            @Override
+            public void completed(SimpleHttpResponse response) {
+                try {
+                    result.complete(parseResponse(response));
+                } catch (ZhipuAIException e) {
+                    result.completeExceptionally(e);
+                }
+            }
+
+            @Override
+            public void failed(Exception e) {
+                log.error("Failed to call ZhipuAI API: {}", e.getMessage());
+                result.completeExceptionally(new ZhipuAIException("ZhipuAI调用失败: " + e.getMessage(), e));
             }
 
+            @Override
+            public void cancelled() {
+                result.completeExceptionally(new ZhipuAIException("ZhipuAI请求已取消"));
+            }
+        });
+        return result;
+    }
+
+    /**
+     * 解析响应，限流和错误状态转换为异常
+     */
+    private String parseResponse(SimpleHttpResponse response) {
+        int status = response.getCode();
+        if (status == HttpStatus.SC_TOO_MANY_REQUESTS) {
+            // 限流交由调用方退避重试
+            long retryAfterMillis = parseRetryAfter(response.getFirstHeader(HttpHeaders.RETRY_AFTER));
+            log.warn("ZhipuAI API rate limited, retry after {} ms", retryAfterMillis);
+            throw new ZhipuAIRateLimitException("ZhipuAI API请求过于频繁，请稍后重试", retryAfterMillis);
+        }
+        if (status != HttpStatus.SC_OK) {
+            log.error("ZhipuAI API returned non-OK status: {}", status);
+            throw new ZhipuAIException("ZhipuAI API返回错误状态: " + status);
+        }
+
+        ChatCompletionResponse body;
+        try {
+            body = objectMapper.readValue(response.getBodyBytes(), ChatCompletionResponse.class);
         } catch (Exception e) {
-            log.error("Failed to call ZhipuAI API: {}", e.getMessage(), e);
-            return generateMockSummary(newsTitle, newsContent);
+            log.error("Error parsing ZhipuAI response: {}", e.getMessage());
+            throw new ZhipuAIException("摘要解析失败", e);
+        }
+        String content = body.firstContent();
+        if (content == null || content.isBlank()) {
+            throw new ZhipuAIException("ZhipuAI响应中没有摘要内容");
+        }
+        log.info("Successfully generated summary from ZhipuAI");
+        return content.trim();
+    }
+
+    /**
+     * 解析Retry-After响应头（秒），缺失或无法解析时返回0
+     */
+    private long parseRetryAfter(Header header) {
+        if (header == null || header.getValue() == null) {
+            return 0;
+        }
+        try {
+            return Long.parseLong(header.getValue().trim()) * 1000;
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    /**
+     * 计算摘要请求的缓存键：模型 + 规范化（合并空白）后的提示词的SHA-256
+     */
+    public String promptHash(String newsTitle, String newsContent) {
+        String normalized = buildSummaryPrompt(newsTitle, newsContent).strip().replaceAll("\\s+", " ");
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(model.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) '\n');
+            return HexFormat.of().formatHex(digest.digest(normalized.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
         }
     }
 
@@ -91,8 +253,8 @@ public class ZhipuAIClient {
      */
     private String buildSummaryPrompt(String title, String content) {
         // 限制内容长度，避免超过token限制
-        String truncatedContent = content.length() > 2000 
-                ? content.substring(0, 2000) + "..." 
+        String truncatedContent = content.length() > 2000
+                ? content.substring(0, 2000) + "..."
                 : content;
 
         return String.format(
@@ -109,63 +271,17 @@ public class ZhipuAIClient {
         );
     }
 
-    /**
-     * 构建API请求体
-     */
-    private Map<String, Object> buildRequestBody(String prompt) {
-        Map<String, Object> body = new HashMap<>();
-        body.put("model", model);
-        
-        // 构建messages
-        Map<String, String> userMessage = new HashMap<>();
-        userMessage.put("role", "user");
-        userMessage.put("content", prompt);
-        
-        body.put("messages", List.of(userMessage));
-        body.put("temperature", 0.7);
-        body.put("max_tokens", 300);
-        
-        return body;
-    }
-
-    /**
-     * 从响应中解析摘要
-     */
-    private String parseSummaryFromResponse(Map<String, Object> responseBody) {
-        try {
-            List<Map<String, Object>> choices = (List<Map<String, Object>>) responseBody.get("choices");
-            if (choices != null && !choices.isEmpty()) {
-                Map<String, Object> firstChoice = choices.get(0);
-                Map<String, Object> message = (Map<String, Object>) firstChoice.get("message");
-                if (message != null) {
-                    String content = (String) message.get("content");
-                    if (content != null && !content.isEmpty()) {
-                        log.info("Successfully generated summary from ZhipuAI");
-                        return content.trim();
-                    }
-                }
-            }
-            
-            log.warn("Unable to parse summary from response, using mock");
-            return "摘要生成失败";
-            
-        } catch (Exception e) {
-            log.error("Error parsing ZhipuAI response: {}", e.getMessage());
-            return "摘要解析失败";
-        }
-    }
-
     /**
      * 生成模拟摘要（当API不可用时）
      */
     private String generateMockSummary(String title, String content) {
         log.info("Generating mock summary (API key not configured)");
-        
+
         // 简单的摘要生成逻辑：取标题+内容前100字
-        String contentPreview = content.length() > 100 
-                ? content.substring(0, 100) 
+        String contentPreview = content.length() > 100
+                ? content.substring(0, 100)
                 : content;
-        
+
         return String.format(
                 "【自动摘要】%s。%s...",
                 title,
@@ -179,5 +295,9 @@ public class ZhipuAIClient {
     public boolean isApiAvailable() {
         return apiKey != null && !apiKey.isEmpty() && !apiKey.equals("your-api-key-here");
     }
-}
 
+    @PreDestroy
+    public void shutdown() {
+        httpClient.close(CloseMode.GRACEFUL);
+    }
+}
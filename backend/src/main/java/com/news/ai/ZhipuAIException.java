@@ -0,0 +1,16 @@
+package com.news.ai;
+
+/**
+ * ZhipuAI调用异常
+ * 接口返回错误状态、响应无法解析或网络失败时抛出
+ */
+public class ZhipuAIException extends RuntimeException {
+
+    public ZhipuAIException(String message) {
+        super(message);
+    }
+
+    public ZhipuAIException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
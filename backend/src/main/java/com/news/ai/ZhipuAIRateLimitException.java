@@ -0,0 +1,22 @@
+package com.news.ai;
+
+/**
+ * ZhipuAI限流异常
+ * 接口返回HTTP 429时抛出，调用方据此退避
+ */
+public class ZhipuAIRateLimitException extends ZhipuAIException {
+
+    private final long retryAfterMillis;
+
+    public ZhipuAIRateLimitException(String message, long retryAfterMillis) {
+        super(message);
+        this.retryAfterMillis = retryAfterMillis;
+    }
+
+    /**
+     * 服务端建议的重试等待时间（毫秒），未提供时为0
+     */
+    public long getRetryAfterMillis() {
+        return retryAfterMillis;
+    }
+}
@@ -0,0 +1,20 @@
+package com.news.ai.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.List;
+
+/**
+ * 对话补全请求
+ *
+ * @param model       模型名称
+ * @param messages    对话消息
+ * @param temperature 采样温度
+ * @param maxTokens   最大生成token数
+ */
+public record ChatCompletionRequest(
+        String model,
+        List<ChatMessage> messages,
+        double temperature,
+        @JsonProperty("max_tokens") int maxTokens) {
+}
@@ -0,0 +1,38 @@
+package com.news.ai.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.List;
+
+/**
+ * 对话补全响应
+ *
+ * @param id      请求ID
+ * @param model   实际使用的模型
+ * @param choices 生成结果
+ * @param usage   token用量
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record ChatCompletionResponse(String id, String model, List<Choice> choices, Usage usage) {
+
+    /**
+     * 第一条生成结果的文本，没有结果时返回null
+     */
+    public String firstContent() {
+        if (choices == null || choices.isEmpty() || choices.get(0).message() == null) {
+            return null;
+        }
+        return choices.get(0).message().content();
+    }
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public record Choice(int index, ChatMessage message, @JsonProperty("finish_reason") String finishReason) {
+    }
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public record Usage(@JsonProperty("prompt_tokens") int promptTokens,
+                        @JsonProperty("completion_tokens") int completionTokens,
+                        @JsonProperty("total_tokens") int totalTokens) {
+    }
+}
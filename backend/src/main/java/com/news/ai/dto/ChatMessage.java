@@ -0,0 +1,14 @@
+package com.news.ai.dto;
+
+/**
+ * 对话消息
+ *
+ * @param role    角色：system、user、assistant
+ * @param content 消息内容
+ */
+public record ChatMessage(String role, String content) {
+
+    public static ChatMessage user(String content) {
+        return new ChatMessage("user", content);
+    }
+}
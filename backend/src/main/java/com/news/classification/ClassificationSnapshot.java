@@ -0,0 +1,106 @@
+package com.news.classification;
+
+import com.news.model.entity.Category;
+import com.news.model.entity.ClassificationRule;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 分类规则快照
+ * 分类、来源规则和关键词自动机的不可变组合，规则或分类变更时整体替换，分类过程不再访问数据库
+ */
+public final class ClassificationSnapshot {
+
+    private static final String DEFAULT_CATEGORY_NAME = "社会";
+    private static final Long FALLBACK_CATEGORY_ID = 1L;
+
+    private final long version;
+    private final Map<String, Long> sourceCategoryIds;
+    private final KeywordAutomaton keywordAutomaton;
+    private final Long defaultCategoryId;
+
+    private ClassificationSnapshot(long version, Map<String, Long> sourceCategoryIds,
+                                   KeywordAutomaton keywordAutomaton, Long defaultCategoryId) {
+        this.version = version;
+        this.sourceCategoryIds = sourceCategoryIds;
+        this.keywordAutomaton = keywordAutomaton;
+        this.defaultCategoryId = defaultCategoryId;
+    }
+
+    /**
+     * 构建快照
+     *
+     * @param version    快照版本号
+     * @param categories 全部分类
+     * @param rules      启用的规则，已按优先级排序
+     */
+    public static ClassificationSnapshot build(long version, List<Category> categories, List<ClassificationRule> rules) {
+        Map<String, Long> categoryIdsByName = new HashMap<>();
+        for (Category category : categories) {
+            categoryIdsByName.put(category.getName(), category.getId());
+        }
+        Set<Long> categoryIds = Set.copyOf(categoryIdsByName.values());
+
+        Map<String, Long> sourceCategoryIds = new HashMap<>();
+        List<ClassificationRule> keywordRules = new ArrayList<>();
+        for (ClassificationRule rule : rules) {
+            if ("SOURCE".equals(rule.getRuleType())) {
+                // 同一来源取优先级最高的规则，目标分类已删除的规则忽略
+                if (rule.getSourcePattern() != null && categoryIds.contains(rule.getTargetCategoryId())) {
+                    sourceCategoryIds.putIfAbsent(normalizeSource(rule.getSourcePattern()), rule.getTargetCategoryId());
+                }
+            } else if ("KEYWORD".equals(rule.getRuleType())) {
+                keywordRules.add(rule);
+            }
+        }
+
+        return new ClassificationSnapshot(
+                version,
+                Map.copyOf(sourceCategoryIds),
+                KeywordAutomaton.compile(keywordRules),
+                categoryIdsByName.getOrDefault(DEFAULT_CATEGORY_NAME, FALLBACK_CATEGORY_ID));
+    }
+
+    /**
+     * 按来源规则分类
+     *
+     * @return 目标分类ID，无匹配规则返回null
+     */
+    public Long classifyBySource(String sourceWebsite) {
+        return sourceWebsite != null ? sourceCategoryIds.get(normalizeSource(sourceWebsite)) : null;
+    }
+
+    /**
+     * 按关键词规则分类
+     *
+     * @return 目标分类ID，无命中返回null
+     */
+    public Long classifyByKeywords(String title, String content) {
+        return keywordAutomaton.match(title, content);
+    }
+
+    public Long getDefaultCategoryId() {
+        return defaultCategoryId;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public int getSourceRuleCount() {
+        return sourceCategoryIds.size();
+    }
+
+    public int getKeywordCount() {
+        return keywordAutomaton.keywordCount();
+    }
+
+    private static String normalizeSource(String source) {
+        return source.trim().toUpperCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,186 @@
+package com.news.classification;
+
+import com.news.model.entity.ClassificationRule;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import java.util.TreeMap;
+
+/**
+ * 关键词规则自动机（Aho-Corasick）
+ * 把全部启用的关键词规则编译为一个不可变自动机，单次扫描文本即可得到优先级最高的命中规则。
+ * 匹配不区分大小写，与原先先转小写再contains的语义一致。
+ */
+public final class KeywordAutomaton {
+
+    private static final int NO_MATCH = Integer.MAX_VALUE;
+
+    private static final KeywordAutomaton EMPTY = new KeywordAutomaton(
+            new char[][]{new char[0]}, new int[][]{new int[0]}, new int[]{0}, new int[]{NO_MATCH}, new Long[0], 0);
+
+    // 每个状态的出边，按字符排序，二分查找
+    private final char[][] edgeChars;
+    private final int[][] edgeTargets;
+    private final int[] fail;
+    // 到达该状态时（含失败链）命中的最小规则序号
+    private final int[] bestRank;
+    // 规则序号 -> 目标分类ID，序号越小优先级越高
+    private final Long[] rankCategory;
+    private final int keywordCount;
+
+    private KeywordAutomaton(char[][] edgeChars, int[][] edgeTargets, int[] fail,
+                             int[] bestRank, Long[] rankCategory, int keywordCount) {
+        this.edgeChars = edgeChars;
+        this.edgeTargets = edgeTargets;
+        this.fail = fail;
+        this.bestRank = bestRank;
+        this.rankCategory = rankCategory;
+        this.keywordCount = keywordCount;
+    }
+
+    public static KeywordAutomaton empty() {
+        return EMPTY;
+    }
+
+    /**
+     * 编译关键词规则
+     *
+     * @param rules 已按优先级排序的KEYWORD规则，列表顺序即匹配优先顺序
+     */
+    public static KeywordAutomaton compile(List<ClassificationRule> rules) {
+        List<TreeMap<Character, Integer>> trie = new ArrayList<>();
+        List<Integer> ownRank = new ArrayList<>();
+        trie.add(new TreeMap<>());
+        ownRank.add(NO_MATCH);
+
+        Long[] rankCategory = new Long[rules.size()];
+        int keywordCount = 0;
+        for (int rank = 0; rank < rules.size(); rank++) {
+            ClassificationRule rule = rules.get(rank);
+            rankCategory[rank] = rule.getTargetCategoryId();
+            if (rule.getKeywords() == null || rule.getKeywords().isEmpty()) {
+                continue;
+            }
+            for (String raw : rule.getKeywords().split(",")) {
+                String keyword = raw.trim();
+                if (keyword.isEmpty()) {
+                    continue;
+                }
+                int state = 0;
+                for (int i = 0; i < keyword.length(); i++) {
+                    char c = Character.toLowerCase(keyword.charAt(i));
+                    Integer next = trie.get(state).get(c);
+                    if (next == null) {
+                        next = trie.size();
+                        trie.add(new TreeMap<>());
+                        ownRank.add(NO_MATCH);
+                        trie.get(state).put(c, next);
+                    }
+                    state = next;
+                }
+                ownRank.set(state, Math.min(ownRank.get(state), rank));
+                keywordCount++;
+            }
+        }
+
+        int size = trie.size();
+        char[][] edgeChars = new char[size][];
+        int[][] edgeTargets = new int[size][];
+        for (int state = 0; state < size; state++) {
+            TreeMap<Character, Integer> edges = trie.get(state);
+            edgeChars[state] = new char[edges.size()];
+            edgeTargets[state] = new int[edges.size()];
+            int i = 0;
+            for (var edge : edges.entrySet()) {
+                edgeChars[state][i] = edge.getKey();
+                edgeTargets[state][i] = edge.getValue();
+                i++;
+            }
+        }
+
+        // 按BFS顺序构建失败指针，并沿失败链传播最小规则序号
+        int[] fail = new int[size];
+        int[] bestRank = new int[size];
+        bestRank[0] = ownRank.get(0);
+        Deque<Integer> queue = new ArrayDeque<>();
+        for (int child : edgeTargets[0]) {
+            fail[child] = 0;
+            bestRank[child] = ownRank.get(child);
+            queue.add(child);
+        }
+        while (!queue.isEmpty()) {
+            int state = queue.poll();
+            for (int i = 0; i < edgeChars[state].length; i++) {
+                char c = edgeChars[state][i];
+                int child = edgeTargets[state][i];
+                int f = fail[state];
+                int target;
+                while ((target = step(edgeChars, edgeTargets, f, c)) < 0 && f != 0) {
+                    f = fail[f];
+                }
+                fail[child] = target >= 0 ? target : 0;
+                bestRank[child] = Math.min(ownRank.get(child), bestRank[fail[child]]);
+                queue.add(child);
+            }
+        }
+
+        return new KeywordAutomaton(edgeChars, edgeTargets, fail, bestRank, rankCategory, keywordCount);
+    }
+
+    /**
+     * 单次扫描匹配，返回优先级最高的命中规则的目标分类
+     *
+     * @param texts 依次扫描的文本片段（如标题、正文），片段之间按空格连接
+     * @return 目标分类ID，无命中返回null
+     */
+    public Long match(String... texts) {
+        if (keywordCount == 0) {
+            return null;
+        }
+        int best = NO_MATCH;
+        int state = 0;
+        for (int t = 0; t < texts.length; t++) {
+            if (t > 0) {
+                state = next(state, ' ');
+                best = Math.min(best, bestRank[state]);
+            }
+            String text = texts[t];
+            if (text == null) {
+                continue;
+            }
+            for (int i = 0; i < text.length(); i++) {
+                state = next(state, Character.toLowerCase(text.charAt(i)));
+                if (bestRank[state] < best) {
+                    best = bestRank[state];
+                    if (best == 0) {
+                        return rankCategory[0];
+                    }
+                }
+            }
+        }
+        return best == NO_MATCH ? null : rankCategory[best];
+    }
+
+    /**
+     * 已编译的关键词数
+     */
+    public int keywordCount() {
+        return keywordCount;
+    }
+
+    private int next(int state, char c) {
+        int target;
+        while ((target = step(edgeChars, edgeTargets, state, c)) < 0 && state != 0) {
+            state = fail[state];
+        }
+        return target >= 0 ? target : 0;
+    }
+
+    private static int step(char[][] edgeChars, int[][] edgeTargets, int state, char c) {
+        int i = Arrays.binarySearch(edgeChars[state], c);
+        return i >= 0 ? edgeTargets[state][i] : -1;
+    }
+}
@@ -1,58 +1,116 @@
 package com.news.config;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.scheduling.annotation.AsyncConfigurer;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
-import java.util.concurrent.Executor;
-import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.RejectedExecutionException;
 
 /**
  * 异步任务配置
- * 配置线程池避免资源耗尽
+ * 按负载类型隔离线程池：爬虫、AI摘要和后台维护任务各用独立的有界线程池，互不抢占；
+ * 线程和队列已满时拒绝提交（抛出TaskRejectedException，接口返回503），不在调用线程上执行
  */
 @Configuration
 @Slf4j
-public class AsyncConfig implements AsyncConfigurer {
+public class AsyncConfig {
 
+    public static final String CRAWL_EXECUTOR = "crawlExecutor";
+    public static final String SUMMARY_EXECUTOR = "summaryExecutor";
+
+    private final MeterRegistry meterRegistry;
+
+    public AsyncConfig(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * 默认线程池（未指定线程池的@Async方法）：索引重建、排行榜重建等后台维护任务
+     */
     @Bean(name = "taskExecutor")
-    @Override
-    public Executor getAsyncExecutor() {
-        log.info("Creating async task executor with thread pool");
-        
+    public ThreadPoolTaskExecutor taskExecutor(
+            @Value("${async.default.core-size:1}") int coreSize,
+            @Value("${async.default.max-size:2}") int maxSize,
+            @Value("${async.default.queue-capacity:20}") int queueCapacity,
+            @Value("${async.default.virtual-threads:false}") boolean virtualThreads) {
+        return createExecutor("taskExecutor", "Async-", coreSize, maxSize, queueCapacity, virtualThreads);
+    }
+
+    /**
+     * 爬虫任务线程池
+     */
+    @Bean(name = CRAWL_EXECUTOR)
+    public ThreadPoolTaskExecutor crawlExecutor(
+            @Value("${async.crawl.core-size:2}") int coreSize,
+            @Value("${async.crawl.max-size:4}") int maxSize,
+            @Value("${async.crawl.queue-capacity:20}") int queueCapacity,
+            @Value("${async.crawl.virtual-threads:true}") boolean virtualThreads) {
+        return createExecutor(CRAWL_EXECUTOR, "Crawler-", coreSize, maxSize, queueCapacity, virtualThreads);
+    }
+
+    /**
+     * AI摘要生成线程池
+     */
+    @Bean(name = SUMMARY_EXECUTOR)
+    public ThreadPoolTaskExecutor summaryExecutor(
+            @Value("${async.summary.core-size:4}") int coreSize,
+            @Value("${async.summary.max-size:8}") int maxSize,
+            @Value("${async.summary.queue-capacity:100}") int queueCapacity,
+            @Value("${async.summary.virtual-threads:true}") boolean virtualThreads) {
+        return createExecutor(SUMMARY_EXECUTOR, "Summary-", coreSize, maxSize, queueCapacity, virtualThreads);
+    }
+
+    /**
+     * 创建有界线程池并注册活跃线程数、队列长度和拒绝次数指标
+     *
+     * @param virtualThreads 是否使用虚拟线程（需JDK 21+，否则回退为平台线程）
+     */
+    private ThreadPoolTaskExecutor createExecutor(String name, String threadNamePrefix,
+                                                  int coreSize, int maxSize, int queueCapacity,
+                                                  boolean virtualThreads) {
         ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
-        
-        // 核心线程数
-        executor.setCorePoolSize(2);
-        
-        // 最大线程数
-        executor.setMaxPoolSize(5);
-        
-        // 队列容量
-        executor.setQueueCapacity(100);
-        
-        // 线程名称前缀
-        executor.setThreadNamePrefix("Async-");
-        
-        // 拒绝策略：由调用线程执行
-        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
-        
-        // 线程空闲时间
+        executor.setCorePoolSize(coreSize);
+        executor.setMaxPoolSize(Math.max(coreSize, maxSize));
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix(threadNamePrefix);
         executor.setKeepAliveSeconds(60);
-        
-        // 等待所有任务完成后关闭
         executor.setWaitForTasksToCompleteOnShutdown(true);
-        
-        // 等待时间
         executor.setAwaitTerminationSeconds(60);
-        
+
+        boolean virtual = virtualThreads && useVirtualThreads(executor, threadNamePrefix);
+
+        // 拒绝策略：计数后抛出异常，由调用方返回503或放弃本次任务
+        Counter rejected = Counter.builder("executor.rejected")
+                .description("线程池已满被拒绝的任务数")
+                .tag("name", name)
+                .register(meterRegistry);
+        executor.setRejectedExecutionHandler((task, pool) -> {
+            rejected.increment();
+            throw new RejectedExecutionException("Executor " + name + " is saturated");
+        });
+
         executor.initialize();
-        
-        log.info("Async task executor initialized: corePoolSize=2, maxPoolSize=5, queueCapacity=100");
-        
+        new ExecutorServiceMetrics(executor.getThreadPoolExecutor(), name, Tags.empty()).bindTo(meterRegistry);
+
+        log.info("Async executor {} initialized: corePoolSize={}, maxPoolSize={}, queueCapacity={}, virtualThreads={}",
+                name, coreSize, executor.getMaxPoolSize(), queueCapacity, virtual);
         return executor;
     }
-}
 
+    private boolean useVirtualThreads(ThreadPoolTaskExecutor executor, String threadNamePrefix) {
+        try {
+            executor.setThreadFactory(new VirtualThreadTaskExecutor(threadNamePrefix).getVirtualThreadFactory());
+            return true;
+        } catch (UnsupportedOperationException e) {
+            log.warn("Virtual threads not supported on this JDK, {} falls back to platform threads", threadNamePrefix);
+            return false;
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.news.config;
+
+/**
+ * 缓存名称
+ */
+public final class CacheNames {
+
+    /** 新闻列表（智能排序，可按分类） */
+    public static final String NEWS_LIST = "newsList";
+    /** 最新新闻 */
+    public static final String LATEST_NEWS = "latestNews";
+    /** 全部分类 */
+    public static final String CATEGORIES = "categories";
+    /** 新闻摘要（按新闻ID） */
+    public static final String SUMMARIES = "summaries";
+
+    private CacheNames() {
+    }
+}
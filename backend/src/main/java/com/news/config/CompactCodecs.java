@@ -0,0 +1,431 @@
+package com.news.config;
+
+import com.news.model.dto.CachedPage;
+import com.news.model.dto.NewsFeedItem;
+import com.news.model.entity.Category;
+import com.news.model.entity.News;
+import com.news.model.entity.Summary;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 缓存值的紧凑二进制编码
+ * 每种类型以1字节标签标识，字段按固定顺序写出（不含字段名和类名），
+ * 整数使用变长编码，可空字段前置存在标记。
+ * 修改任何编解码器的字段顺序或增删字段时必须递增 {@link #SCHEMA_VERSION}，旧版本数据将按未命中处理
+ */
+final class CompactCodecs {
+
+    static final int SCHEMA_VERSION = 3;
+
+    private static final int TAG_NULL = 0;
+    private static final int TAG_STRING = 1;
+    private static final int TAG_LONG = 2;
+    private static final int TAG_INTEGER = 3;
+    private static final int TAG_BOOLEAN = 4;
+    private static final int TAG_LIST = 5;
+    private static final int TAG_PAGE = 6;
+    private static final int TAG_NEWS = 10;
+    private static final int TAG_CATEGORY = 11;
+    private static final int TAG_SUMMARY = 12;
+    private static final int TAG_FEED_ITEM = 13;
+
+    private static final Map<Class<?>, Integer> ENTITY_TAGS = Map.of(
+            News.class, TAG_NEWS,
+            Category.class, TAG_CATEGORY,
+            Summary.class, TAG_SUMMARY,
+            NewsFeedItem.class, TAG_FEED_ITEM);
+
+    private CompactCodecs() {
+    }
+
+    /**
+     * 是否可用紧凑格式编码（集合需所有元素均可编码）
+     */
+    static boolean supports(Object value) {
+        if (value == null || value instanceof String || value instanceof Long
+                || value instanceof Integer || value instanceof Boolean) {
+            return true;
+        }
+        if (value instanceof List<?> list) {
+            return list.stream().allMatch(CompactCodecs::supports);
+        }
+        if (value instanceof CachedPage<?> page) {
+            return page.getContent() == null || supports(page.getContent());
+        }
+        return ENTITY_TAGS.containsKey(value.getClass());
+    }
+
+    static void writeValue(Output out, Object value) {
+        if (value == null) {
+            out.writeByte(TAG_NULL);
+        } else if (value instanceof String s) {
+            out.writeByte(TAG_STRING);
+            out.writeString(s);
+        } else if (value instanceof Long l) {
+            out.writeByte(TAG_LONG);
+            out.writeVarLong(l);
+        } else if (value instanceof Integer i) {
+            out.writeByte(TAG_INTEGER);
+            out.writeVarLong(i);
+        } else if (value instanceof Boolean b) {
+            out.writeByte(TAG_BOOLEAN);
+            out.writeByte(b ? 1 : 0);
+        } else if (value instanceof List<?> list) {
+            out.writeByte(TAG_LIST);
+            writeList(out, list);
+        } else if (value instanceof CachedPage<?> page) {
+            out.writeByte(TAG_PAGE);
+            writeList(out, page.getContent() != null ? page.getContent() : List.of());
+            out.writeVarLong(page.getPageNumber());
+            out.writeVarLong(page.getPageSize());
+            out.writeVarLong(page.getTotalElements());
+        } else if (value instanceof News news) {
+            out.writeByte(TAG_NEWS);
+            writeNews(out, news);
+        } else if (value instanceof Category category) {
+            out.writeByte(TAG_CATEGORY);
+            writeCategory(out, category);
+        } else if (value instanceof Summary summary) {
+            out.writeByte(TAG_SUMMARY);
+            writeSummary(out, summary);
+        } else if (value instanceof NewsFeedItem item) {
+            out.writeByte(TAG_FEED_ITEM);
+            writeFeedItem(out, item);
+        } else {
+            throw new IllegalArgumentException("Unsupported type: " + value.getClass().getName());
+        }
+    }
+
+    static Object readValue(Input in) {
+        int tag = in.readByte();
+        return switch (tag) {
+            case TAG_NULL -> null;
+            case TAG_STRING -> in.readString();
+            case TAG_LONG -> in.readVarLong();
+            case TAG_INTEGER -> (int) in.readVarLong();
+            case TAG_BOOLEAN -> in.readByte() != 0;
+            case TAG_LIST -> readList(in);
+            case TAG_PAGE -> new CachedPage<>(readList(in),
+                    (int) in.readVarLong(), (int) in.readVarLong(), in.readVarLong());
+            case TAG_NEWS -> readNews(in);
+            case TAG_CATEGORY -> readCategory(in);
+            case TAG_SUMMARY -> readSummary(in);
+            case TAG_FEED_ITEM -> readFeedItem(in);
+            default -> throw new IllegalStateException("Unknown type tag: " + tag);
+        };
+    }
+
+    private static void writeList(Output out, List<?> list) {
+        out.writeVarLong(list.size());
+        for (Object element : list) {
+            writeValue(out, element);
+        }
+    }
+
+    private static List<Object> readList(Input in) {
+        int size = (int) in.readVarLong();
+        List<Object> list = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            list.add(readValue(in));
+        }
+        return list;
+    }
+
+    private static void writeNews(Output out, News news) {
+        out.writeNullableLong(news.getId());
+        out.writeString(news.getTitle());
+        out.writeString(news.getContent());
+        out.writeString(news.getSourceWebsite());
+        out.writeString(news.getOriginalUrl());
+        out.writeString(news.getImageUrl());
+        out.writeNullableLong(news.getCategoryId());
+        out.writeDateTime(news.getPublishTime());
+        out.writeDateTime(news.getCrawlTime());
+        out.writeNullableLong(news.getCreatedBy());
+        out.writeString(news.getStatus());
+        out.writeString(news.getClassificationMethod());
+        out.writeNullableLong(news.getViewCount());
+        out.writeNullableInt(news.getLikeCount());
+        out.writeNullableInt(news.getCommentCount());
+        out.writeNullableDouble(news.getHotScore());
+        out.writeDateTime(news.getUpdatedAt());
+    }
+
+    private static News readNews(Input in) {
+        News news = new News();
+        news.setId(in.readNullableLong());
+        news.setTitle(in.readString());
+        news.setContent(in.readString());
+        news.setSourceWebsite(in.readString());
+        news.setOriginalUrl(in.readString());
+        news.setImageUrl(in.readString());
+        news.setCategoryId(in.readNullableLong());
+        news.setPublishTime(in.readDateTime());
+        news.setCrawlTime(in.readDateTime());
+        news.setCreatedBy(in.readNullableLong());
+        news.setStatus(in.readString());
+        news.setClassificationMethod(in.readString());
+        news.setViewCount(in.readNullableLong());
+        news.setLikeCount(in.readNullableInt());
+        news.setCommentCount(in.readNullableInt());
+        news.setHotScore(in.readNullableDouble());
+        news.setUpdatedAt(in.readDateTime());
+        return news;
+    }
+
+    private static void writeCategory(Output out, Category category) {
+        out.writeNullableLong(category.getId());
+        out.writeString(category.getName());
+        out.writeString(category.getDescription());
+        out.writeNullableBoolean(category.getIsDefault());
+        out.writeNullableLong(category.getCreatedBy());
+        out.writeDateTime(category.getCreatedAt());
+        out.writeDateTime(category.getUpdatedAt());
+    }
+
+    private static Category readCategory(Input in) {
+        Category category = new Category();
+        category.setId(in.readNullableLong());
+        category.setName(in.readString());
+        category.setDescription(in.readString());
+        category.setIsDefault(in.readNullableBoolean());
+        category.setCreatedBy(in.readNullableLong());
+        category.setCreatedAt(in.readDateTime());
+        category.setUpdatedAt(in.readDateTime());
+        return category;
+    }
+
+    private static void writeSummary(Output out, Summary summary) {
+        out.writeNullableLong(summary.getId());
+        out.writeNullableLong(summary.getNewsId());
+        out.writeString(summary.getSummaryContent());
+        out.writeDateTime(summary.getGeneratedAt());
+        out.writeString(summary.getModelVersion());
+        out.writeString(summary.getStatus());
+        out.writeString(summary.getPromptHash());
+    }
+
+    private static Summary readSummary(Input in) {
+        Summary summary = new Summary();
+        summary.setId(in.readNullableLong());
+        summary.setNewsId(in.readNullableLong());
+        summary.setSummaryContent(in.readString());
+        summary.setGeneratedAt(in.readDateTime());
+        summary.setModelVersion(in.readString());
+        summary.setStatus(in.readString());
+        summary.setPromptHash(in.readString());
+        return summary;
+    }
+
+    private static void writeFeedItem(Output out, NewsFeedItem item) {
+        out.writeNullableLong(item.getId());
+        out.writeString(item.getTitle());
+        out.writeString(item.getSourceWebsite());
+        out.writeNullableLong(item.getCategoryId());
+        out.writeDateTime(item.getPublishTime());
+        out.writeString(item.getImageUrl());
+        out.writeString(item.getStatus());
+        out.writeNullableLong(item.getViewCount());
+        out.writeNullableInt(item.getLikeCount());
+        out.writeNullableInt(item.getCommentCount());
+        out.writeNullableDouble(item.getHotScore());
+        out.writeString(item.getExcerpt());
+    }
+
+    private static NewsFeedItem readFeedItem(Input in) {
+        NewsFeedItem item = new NewsFeedItem();
+        item.setId(in.readNullableLong());
+        item.setTitle(in.readString());
+        item.setSourceWebsite(in.readString());
+        item.setCategoryId(in.readNullableLong());
+        item.setPublishTime(in.readDateTime());
+        item.setImageUrl(in.readString());
+        item.setStatus(in.readString());
+        item.setViewCount(in.readNullableLong());
+        item.setLikeCount(in.readNullableInt());
+        item.setCommentCount(in.readNullableInt());
+        item.setHotScore(in.readNullableDouble());
+        item.setExcerpt(in.readString());
+        return item;
+    }
+
+    /**
+     * 可扩容的字节输出
+     */
+    static final class Output {
+
+        private byte[] buffer;
+        private int size;
+
+        Output(int initialCapacity) {
+            this.buffer = new byte[Math.max(16, initialCapacity)];
+        }
+
+        void writeByte(int b) {
+            ensure(1);
+            buffer[size++] = (byte) b;
+        }
+
+        void writeBytes(byte[] bytes) {
+            ensure(bytes.length);
+            System.arraycopy(bytes, 0, buffer, size, bytes.length);
+            size += bytes.length;
+        }
+
+        /**
+         * ZigZag变长整数
+         */
+        void writeVarLong(long value) {
+            long v = (value << 1) ^ (value >> 63);
+            ensure(10);
+            while ((v & ~0x7FL) != 0) {
+                buffer[size++] = (byte) ((v & 0x7F) | 0x80);
+                v >>>= 7;
+            }
+            buffer[size++] = (byte) v;
+        }
+
+        /**
+         * 字符串：长度+1（0表示null）后接UTF-8字节
+         */
+        void writeString(String value) {
+            if (value == null) {
+                writeVarLong(0);
+                return;
+            }
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            writeVarLong(bytes.length + 1L);
+            writeBytes(bytes);
+        }
+
+        void writeNullableLong(Long value) {
+            writeByte(value == null ? 0 : 1);
+            if (value != null) {
+                writeVarLong(value);
+            }
+        }
+
+        void writeNullableInt(Integer value) {
+            writeByte(value == null ? 0 : 1);
+            if (value != null) {
+                writeVarLong(value);
+            }
+        }
+
+        void writeNullableBoolean(Boolean value) {
+            writeByte(value == null ? 0 : value ? 2 : 1);
+        }
+
+        void writeNullableDouble(Double value) {
+            writeByte(value == null ? 0 : 1);
+            if (value != null) {
+                long bits = Double.doubleToRawLongBits(value);
+                ensure(8);
+                for (int shift = 56; shift >= 0; shift -= 8) {
+                    buffer[size++] = (byte) (bits >>> shift);
+                }
+            }
+        }
+
+        /**
+         * 日期时间：秒（UTC偏移）+ 纳秒
+         */
+        void writeDateTime(LocalDateTime value) {
+            writeByte(value == null ? 0 : 1);
+            if (value != null) {
+                writeVarLong(value.toEpochSecond(ZoneOffset.UTC));
+                writeVarLong(value.getNano());
+            }
+        }
+
+        byte[] toByteArray() {
+            return Arrays.copyOf(buffer, size);
+        }
+
+        private void ensure(int extra) {
+            if (size + extra > buffer.length) {
+                buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, size + extra));
+            }
+        }
+    }
+
+    /**
+     * 字节输入
+     */
+    static final class Input {
+
+        private final byte[] buffer;
+        private int position;
+
+        Input(byte[] buffer, int offset) {
+            this.buffer = buffer;
+            this.position = offset;
+        }
+
+        int readByte() {
+            return buffer[position++] & 0xFF;
+        }
+
+        long readVarLong() {
+            long v = 0;
+            int shift = 0;
+            int b;
+            do {
+                b = readByte();
+                v |= (long) (b & 0x7F) << shift;
+                shift += 7;
+            } while ((b & 0x80) != 0);
+            return (v >>> 1) ^ -(v & 1);
+        }
+
+        String readString() {
+            int length = (int) readVarLong();
+            if (length == 0) {
+                return null;
+            }
+            String value = new String(buffer, position, length - 1, StandardCharsets.UTF_8);
+            position += length - 1;
+            return value;
+        }
+
+        Long readNullableLong() {
+            return readByte() == 0 ? null : readVarLong();
+        }
+
+        Integer readNullableInt() {
+            return readByte() == 0 ? null : (int) readVarLong();
+        }
+
+        Boolean readNullableBoolean() {
+            int b = readByte();
+            return b == 0 ? null : b == 2;
+        }
+
+        Double readNullableDouble() {
+            if (readByte() == 0) {
+                return null;
+            }
+            long bits = 0;
+            for (int i = 0; i < 8; i++) {
+                bits = (bits << 8) | readByte();
+            }
+            return Double.longBitsToDouble(bits);
+        }
+
+        LocalDateTime readDateTime() {
+            if (readByte() == 0) {
+                return null;
+            }
+            long seconds = readVarLong();
+            int nanos = (int) readVarLong();
+            return LocalDateTime.ofEpochSecond(seconds, nanos, ZoneOffset.UTC);
+        }
+    }
+}
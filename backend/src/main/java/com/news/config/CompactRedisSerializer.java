@@ -0,0 +1,139 @@
+package com.news.config;
+
+import lombok.extern.slf4j.Slf4j;
+import net.jpountz.lz4.LZ4Compressor;
+import net.jpountz.lz4.LZ4Factory;
+import net.jpountz.lz4.LZ4FastDecompressor;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.util.Arrays;
+
+/**
+ * Redis值序列化器
+ * 已注册类型（新闻、分类、摘要、分页及其列表）使用紧凑二进制格式，其余类型回退为JSON；
+ * 超过阈值的数据使用LZ4压缩（仅在确有收益时）。
+ * 帧格式：首字节为格式标记（0x01紧凑 / 0x02 JSON，最高位表示已压缩），
+ * 压缩帧随后为4字节原始长度和LZ4数据块；紧凑格式正文以编码版本号开头。
+ * 无法识别首字节的数据按旧版JSON格式读取
+ */
+@Slf4j
+public class CompactRedisSerializer implements RedisSerializer<Object> {
+
+    private static final int FORMAT_COMPACT = 0x01;
+    private static final int FORMAT_JSON = 0x02;
+    private static final int FLAG_LZ4 = 0x80;
+
+    private static final LZ4Factory LZ4 = LZ4Factory.fastestInstance();
+
+    private final RedisSerializer<Object> jsonSerializer;
+    private final boolean compactEnabled;
+    private final int compressionThreshold;
+    private final LZ4Compressor compressor = LZ4.fastCompressor();
+    private final LZ4FastDecompressor decompressor = LZ4.fastDecompressor();
+
+    /**
+     * @param jsonSerializer 回退使用的JSON序列化器
+     * @param compactEnabled 是否启用紧凑格式，关闭时全部使用JSON
+     * @param compressionThreshold 压缩阈值（字节），小于等于0时不压缩
+     */
+    public CompactRedisSerializer(RedisSerializer<Object> jsonSerializer,
+                                  boolean compactEnabled,
+                                  int compressionThreshold) {
+        this.jsonSerializer = jsonSerializer;
+        this.compactEnabled = compactEnabled;
+        this.compressionThreshold = compressionThreshold;
+    }
+
+    @Override
+    public byte[] serialize(Object value) throws SerializationException {
+        if (value == null) {
+            return new byte[0];
+        }
+
+        int format;
+        byte[] body;
+        if (compactEnabled && CompactCodecs.supports(value)) {
+            CompactCodecs.Output out = new CompactCodecs.Output(256);
+            out.writeByte(CompactCodecs.SCHEMA_VERSION);
+            CompactCodecs.writeValue(out, value);
+            format = FORMAT_COMPACT;
+            body = out.toByteArray();
+        } else {
+            format = FORMAT_JSON;
+            body = jsonSerializer.serialize(value);
+        }
+
+        if (compressionThreshold > 0 && body.length > compressionThreshold) {
+            byte[] compressed = compress(format, body);
+            if (compressed != null) {
+                return compressed;
+            }
+        }
+        byte[] frame = new byte[body.length + 1];
+        frame[0] = (byte) format;
+        System.arraycopy(body, 0, frame, 1, body.length);
+        return frame;
+    }
+
+    @Override
+    public Object deserialize(byte[] bytes) throws SerializationException {
+        if (bytes == null || bytes.length == 0) {
+            return null;
+        }
+
+        int header = bytes[0] & 0xFF;
+        int format = header & ~FLAG_LZ4;
+        if (format != FORMAT_COMPACT && format != FORMAT_JSON) {
+            // 旧版JSON数据
+            return jsonSerializer.deserialize(bytes);
+        }
+
+        byte[] body = (header & FLAG_LZ4) != 0
+                ? decompress(bytes)
+                : Arrays.copyOfRange(bytes, 1, bytes.length);
+
+        if (format == FORMAT_JSON) {
+            return jsonSerializer.deserialize(body);
+        }
+        CompactCodecs.Input in = new CompactCodecs.Input(body, 0);
+        int version = in.readByte();
+        if (version != CompactCodecs.SCHEMA_VERSION) {
+            // 编码版本变化，按未命中处理
+            log.debug("Skipping cached value with schema version {}", version);
+            return null;
+        }
+        try {
+            return CompactCodecs.readValue(in);
+        } catch (RuntimeException e) {
+            throw new SerializationException("Cannot deserialize compact value", e);
+        }
+    }
+
+    private byte[] compress(int format, byte[] body) {
+        int maxLength = compressor.maxCompressedLength(body.length);
+        byte[] frame = new byte[5 + maxLength];
+        int compressedLength = compressor.compress(body, 0, body.length, frame, 5, maxLength);
+        if (compressedLength + 4 >= body.length) {
+            return null;
+        }
+        frame[0] = (byte) (format | FLAG_LZ4);
+        frame[1] = (byte) (body.length >>> 24);
+        frame[2] = (byte) (body.length >>> 16);
+        frame[3] = (byte) (body.length >>> 8);
+        frame[4] = (byte) body.length;
+        return Arrays.copyOf(frame, 5 + compressedLength);
+    }
+
+    private byte[] decompress(byte[] frame) {
+        int length = ((frame[1] & 0xFF) << 24) | ((frame[2] & 0xFF) << 16)
+                | ((frame[3] & 0xFF) << 8) | (frame[4] & 0xFF);
+        byte[] body = new byte[length];
+        try {
+            decompressor.decompress(frame, 5, body, 0, length);
+        } catch (RuntimeException e) {
+            throw new SerializationException("Cannot decompress cached value", e);
+        }
+        return body;
+    }
+}
@@ -2,25 +2,35 @@ package com.news.config;
 
 import com.fasterxml.jackson.annotation.JsonTypeInfo;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.jsontype.impl.LaissezFaireSubTypeValidator;
+import com.fasterxml.jackson.databind.jsontype.BasicPolymorphicTypeValidator;
+import com.fasterxml.jackson.databind.jsontype.PolymorphicTypeValidator;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.cache.BatchStrategies;
 import org.springframework.data.redis.cache.RedisCacheConfiguration;
 import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.cache.RedisCacheWriter;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
 import org.springframework.data.redis.serializer.RedisSerializationContext;
+import org.springframework.data.redis.serializer.RedisSerializer;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 
 import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
 
 /**
  * Redis配置类
- * 配置Redis缓存管理器和序列化方式
+ * 配置Redis缓存管理器（本地+Redis二级缓存）和序列化方式
  */
 @Configuration
 @EnableCaching
@@ -28,11 +38,12 @@ public class RedisConfig {
 
     /**
      * 配置RedisTemplate
-     * 使用String序列化Key，JSON序列化Value
+     * 使用String序列化Key，紧凑二进制（回退JSON）序列化Value
      */
     @Bean
     public RedisTemplate<String, Object> redisTemplate(
-            RedisConnectionFactory connectionFactory) {
+            RedisConnectionFactory connectionFactory,
+            RedisSerializer<Object> redisValueSerializer) {
         
         RedisTemplate<String, Object> template = new RedisTemplate<>();
         template.setConnectionFactory(connectionFactory);
@@ -40,17 +51,13 @@ public class RedisConfig {
         // String序列化器
         StringRedisSerializer stringSerializer = new StringRedisSerializer();
         
-        // JSON序列化器
-        GenericJackson2JsonRedisSerializer jsonSerializer = 
-            createJsonSerializer();
-
         // Key使用String序列化
         template.setKeySerializer(stringSerializer);
         template.setHashKeySerializer(stringSerializer);
 
-        // Value使用JSON序列化
-        template.setValueSerializer(jsonSerializer);
-        template.setHashValueSerializer(jsonSerializer);
+        // Value使用紧凑二进制序列化
+        template.setValueSerializer(redisValueSerializer);
+        template.setHashValueSerializer(redisValueSerializer);
 
         template.afterPropertiesSet();
         return template;
@@ -58,13 +65,19 @@ public class RedisConfig {
 
     /**
      * 配置缓存管理器
+     * 本地Caffeine + Redis二级缓存，各缓存TTL取自app.cache配置
      */
     @Bean
-    public CacheManager cacheManager(RedisConnectionFactory connectionFactory) {
-        
-        // 创建JSON序列化器
-        GenericJackson2JsonRedisSerializer jsonSerializer = 
-            createJsonSerializer();
+    public CacheManager cacheManager(RedisConnectionFactory connectionFactory,
+                                     StringRedisTemplate stringRedisTemplate,
+                                     RedisMessageListenerContainer redisMessageListenerContainer,
+                                     RedisSerializer<Object> redisValueSerializer,
+                                     MeterRegistry meterRegistry,
+                                     @Value("${app.cache.news-list-ttl:300}") long newsListTtl,
+                                     @Value("${app.cache.category-list-ttl:3600}") long categoryListTtl,
+                                     @Value("${app.cache.summary-ttl:3600}") long summaryTtl,
+                                     @Value("${app.cache.local.max-size:1000}") long localMaxSize,
+                                     @Value("${app.cache.local.max-ttl:60}") long localMaxTtl) {
 
         // 配置序列化方式
         RedisCacheConfiguration config = RedisCacheConfiguration
@@ -76,19 +89,67 @@ public class RedisConfig {
             )
             .serializeValuesWith(
                 RedisSerializationContext.SerializationPair
-                    .fromSerializer(jsonSerializer)
+                    .fromSerializer(redisValueSerializer)
             )
             .disableCachingNullValues();  // 不缓存null值
 
-        return RedisCacheManager.builder(connectionFactory)
+        Map<String, Duration> ttls = Map.of(
+                CacheNames.NEWS_LIST, Duration.ofSeconds(newsListTtl),
+                CacheNames.LATEST_NEWS, Duration.ofSeconds(newsListTtl),
+                CacheNames.CATEGORIES, Duration.ofSeconds(categoryListTtl),
+                CacheNames.SUMMARIES, Duration.ofSeconds(summaryTtl)
+        );
+        Map<String, RedisCacheConfiguration> cacheConfigs = new HashMap<>();
+        ttls.forEach((name, ttl) -> cacheConfigs.put(name, config.entryTtl(ttl)));
+
+        // 清空缓存时使用SCAN而非KEYS，避免阻塞Redis
+        RedisCacheManager remoteCacheManager = RedisCacheManager
+                .builder(RedisCacheWriter.nonLockingRedisCacheWriter(connectionFactory, BatchStrategies.scan(1000)))
                 .cacheDefaults(config)
-                .transactionAware()
+                .withInitialCacheConfigurations(cacheConfigs)
                 .build();
+        remoteCacheManager.afterPropertiesSet();
+
+        TwoLevelCacheManager cacheManager = new TwoLevelCacheManager(
+                remoteCacheManager,
+                ttls,
+                Duration.ofMinutes(5),
+                Duration.ofSeconds(localMaxTtl),
+                localMaxSize,
+                stringRedisTemplate,
+                redisMessageListenerContainer,
+                meterRegistry);
+        cacheManager.setTransactionAware(true);
+        return cacheManager;
+    }
+
+    /**
+     * 配置消息监听容器（用于跨节点同步Token吊销等通知）
+     */
+    @Bean
+    public RedisMessageListenerContainer redisMessageListenerContainer(
+            RedisConnectionFactory connectionFactory) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        return container;
+    }
+
+    /**
+     * 配置Redis值序列化器
+     * app.cache.serializer为compact时已注册类型使用紧凑二进制格式，为json时全部使用JSON；
+     * 两种格式均可读取，切换无需清空Redis
+     */
+    @Bean
+    public RedisSerializer<Object> redisValueSerializer(
+            @Value("${app.cache.serializer:compact}") String format,
+            @Value("${app.cache.compression-threshold:1024}") int compressionThreshold) {
+        return new CompactRedisSerializer(createJsonSerializer(), "compact".equalsIgnoreCase(format),
+                compressionThreshold);
     }
 
     /**
      * 创建JSON序列化器
-     * 配置ObjectMapper以支持Java时间类型和类型信息
+     * 配置ObjectMapper以支持Java时间类型和类型信息，多态反序列化仅允许本项目及JDK的常用类型
      */
     private GenericJackson2JsonRedisSerializer createJsonSerializer() {
         ObjectMapper objectMapper = new ObjectMapper();
@@ -97,8 +158,14 @@ public class RedisConfig {
         objectMapper.registerModule(new JavaTimeModule());
         
         // 启用默认类型信息（用于多态反序列化）
+        PolymorphicTypeValidator typeValidator = BasicPolymorphicTypeValidator.builder()
+            .allowIfSubType("com.news.")
+            .allowIfSubType("java.util.")
+            .allowIfSubType("java.time.")
+            .allowIfSubType("java.lang.")
+            .build();
         objectMapper.activateDefaultTyping(
-            LaissezFaireSubTypeValidator.instance,
+            typeValidator,
             ObjectMapper.DefaultTyping.NON_FINAL,
             JsonTypeInfo.As.PROPERTY
         );
@@ -106,4 +173,3 @@ public class RedisConfig {
         return new GenericJackson2JsonRedisSerializer(objectMapper);
     }
 }
-
@@ -47,11 +47,15 @@ public class SecurityConfig {
             
             // 配置授权规则
             .authorizeHttpRequests(auth -> auth
+                // SSE等异步响应的再次分派 - 原始请求已完成鉴权
+                .dispatcherTypeMatchers(jakarta.servlet.DispatcherType.ASYNC).permitAll()
+
                 // 公开端点 - 无需认证
                 .requestMatchers(
                     "/",
                     "/auth/login",
                     "/auth/register",
+                    "/auth/refresh",
                     "/auth/logout",
                     "/actuator/health",
                     "/actuator/info",
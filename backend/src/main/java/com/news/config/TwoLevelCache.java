@@ -0,0 +1,166 @@
+package com.news.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.news.model.dto.CachedPage;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.support.AbstractValueAdaptingCache;
+import org.springframework.data.domain.Page;
+
+import java.util.concurrent.Callable;
+import java.util.function.BiConsumer;
+
+/**
+ * 二级缓存
+ * L1为本地Caffeine缓存，L2为Redis缓存；读取依次查询L1、L2，L2命中时回填L1。
+ * 删除和清空同时作用于两级，并通过回调广播给其他节点清理各自的L1。
+ * Redis读写失败时降级为仅使用L1，不影响业务查询
+ */
+@Slf4j
+public class TwoLevelCache extends AbstractValueAdaptingCache {
+
+    private final String name;
+    private final Cache<String, Object> local;
+    private final org.springframework.cache.Cache remote;
+    private final BiConsumer<String, String> invalidationPublisher;
+
+    private final Counter localHits;
+    private final Counter remoteHits;
+    private final Counter misses;
+
+    /**
+     * @param invalidationPublisher 广播失效消息（缓存名，键；清空时键为null）
+     */
+    public TwoLevelCache(String name,
+                         Cache<String, Object> local,
+                         org.springframework.cache.Cache remote,
+                         BiConsumer<String, String> invalidationPublisher,
+                         MeterRegistry meterRegistry) {
+        super(false);
+        this.name = name;
+        this.local = local;
+        this.remote = remote;
+        this.invalidationPublisher = invalidationPublisher;
+        this.localHits = requestCounter(meterRegistry, name, "l1", "hit");
+        this.remoteHits = requestCounter(meterRegistry, name, "l2", "hit");
+        this.misses = requestCounter(meterRegistry, name, "none", "miss");
+        Gauge.builder("cache.tier.local.size", local, Cache::estimatedSize)
+                .description("本地缓存条目数")
+                .tag("cache", name)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return this;
+    }
+
+    @Override
+    protected Object lookup(Object key) {
+        String localKey = localKey(key);
+        Object value = local.getIfPresent(localKey);
+        if (value != null) {
+            localHits.increment();
+            return value;
+        }
+
+        ValueWrapper stored;
+        try {
+            stored = remote.get(key);
+        } catch (RuntimeException e) {
+            log.warn("L2 cache read failed for {}::{}: {}", name, key, e.getMessage());
+            stored = null;
+        }
+        if (stored != null && stored.get() != null) {
+            value = fromRemote(stored.get());
+            local.put(localKey, value);
+            remoteHits.increment();
+            return value;
+        }
+
+        misses.increment();
+        return null;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        Object value = lookup(key);
+        if (value != null) {
+            return (T) value;
+        }
+        T loaded;
+        try {
+            loaded = valueLoader.call();
+        } catch (Exception e) {
+            throw new ValueRetrievalException(key, valueLoader, e);
+        }
+        put(key, loaded);
+        return loaded;
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        if (value == null) {
+            return;
+        }
+        try {
+            remote.put(key, toRemote(value));
+        } catch (RuntimeException e) {
+            log.warn("L2 cache write failed for {}::{}: {}", name, key, e.getMessage());
+        }
+        local.put(localKey(key), value);
+    }
+
+    @Override
+    public void evict(Object key) {
+        String localKey = localKey(key);
+        remote.evict(key);
+        local.invalidate(localKey);
+        invalidationPublisher.accept(name, localKey);
+    }
+
+    @Override
+    public void clear() {
+        remote.clear();
+        local.invalidateAll();
+        invalidationPublisher.accept(name, null);
+    }
+
+    /**
+     * 处理其他节点的失效消息，仅清理本地L1
+     */
+    void invalidateLocal(String localKey) {
+        if (localKey == null) {
+            local.invalidateAll();
+        } else {
+            local.invalidate(localKey);
+        }
+    }
+
+    private static String localKey(Object key) {
+        return String.valueOf(key);
+    }
+
+    private static Object toRemote(Object value) {
+        return value instanceof Page<?> page ? CachedPage.from(page) : value;
+    }
+
+    private static Object fromRemote(Object value) {
+        return value instanceof CachedPage<?> page ? page.toPage() : value;
+    }
+
+    private static Counter requestCounter(MeterRegistry meterRegistry, String cache, String tier, String result) {
+        return Counter.builder("cache.tier.requests")
+                .description("二级缓存按层级统计的查询次数")
+                .tags("cache", cache, "tier", tier, "result", result)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,113 @@
+package com.news.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.transaction.AbstractTransactionSupportingCacheManager;
+import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 二级缓存管理器
+ * 每个缓存由本地Caffeine（L1，容量有界）和Redis（L2）组成，TTL按缓存名配置；
+ * 本地缓存的存活时间不超过localMaxTtl。删除和清空通过Redis发布订阅通知其他节点清理L1
+ */
+@Slf4j
+public class TwoLevelCacheManager extends AbstractTransactionSupportingCacheManager {
+
+    private static final String CHANNEL = "cache:invalidate";
+    private static final String CLEAR_ALL = "*";
+    private static final String KEY_MARKER = "=";
+
+    private final RedisCacheManager remoteCacheManager;
+    private final Map<String, Duration> ttls;
+    private final Duration defaultTtl;
+    private final Duration localMaxTtl;
+    private final long localMaxSize;
+    private final StringRedisTemplate redisTemplate;
+    private final MeterRegistry meterRegistry;
+
+    // 用于忽略本节点发出的失效消息
+    private final String nodeId = UUID.randomUUID().toString();
+    private final Map<String, TwoLevelCache> twoLevelCaches = new ConcurrentHashMap<>();
+
+    public TwoLevelCacheManager(RedisCacheManager remoteCacheManager,
+                                Map<String, Duration> ttls,
+                                Duration defaultTtl,
+                                Duration localMaxTtl,
+                                long localMaxSize,
+                                StringRedisTemplate redisTemplate,
+                                RedisMessageListenerContainer listenerContainer,
+                                MeterRegistry meterRegistry) {
+        this.remoteCacheManager = remoteCacheManager;
+        this.ttls = Map.copyOf(ttls);
+        this.defaultTtl = defaultTtl;
+        this.localMaxTtl = localMaxTtl;
+        this.localMaxSize = localMaxSize;
+        this.redisTemplate = redisTemplate;
+        this.meterRegistry = meterRegistry;
+        listenerContainer.addMessageListener((message, pattern) -> onInvalidation(message),
+                new ChannelTopic(CHANNEL));
+    }
+
+    @Override
+    protected Collection<? extends org.springframework.cache.Cache> loadCaches() {
+        return ttls.keySet().stream().map(this::createCache).toList();
+    }
+
+    @Override
+    protected org.springframework.cache.Cache getMissingCache(String name) {
+        return createCache(name);
+    }
+
+    private TwoLevelCache createCache(String name) {
+        Duration ttl = ttls.getOrDefault(name, defaultTtl);
+        Duration localTtl = ttl.compareTo(localMaxTtl) < 0 ? ttl : localMaxTtl;
+        Cache<String, Object> local = Caffeine.newBuilder()
+                .maximumSize(localMaxSize)
+                .expireAfterWrite(localTtl)
+                .build();
+        TwoLevelCache cache = new TwoLevelCache(name, local, remoteCacheManager.getCache(name),
+                this::publishInvalidation, meterRegistry);
+        twoLevelCaches.put(name, cache);
+        log.info("Two-level cache '{}' initialized: ttl={}, localTtl={}, localMaxSize={}",
+                name, ttl, localTtl, localMaxSize);
+        return cache;
+    }
+
+    /**
+     * 广播失效消息，格式：节点ID \n 缓存名 \n（* 或 =键）
+     */
+    private void publishInvalidation(String cacheName, String key) {
+        String target = key == null ? CLEAR_ALL : KEY_MARKER + key;
+        try {
+            redisTemplate.convertAndSend(CHANNEL, nodeId + "\n" + cacheName + "\n" + target);
+        } catch (Exception e) {
+            // 其他节点的L1将在本地TTL到期后自然失效
+            log.warn("Failed to publish cache invalidation for {}: {}", cacheName, e.getMessage());
+        }
+    }
+
+    private void onInvalidation(Message message) {
+        String[] parts = new String(message.getBody(), StandardCharsets.UTF_8).split("\n", 3);
+        if (parts.length < 3 || nodeId.equals(parts[0])) {
+            return;
+        }
+        TwoLevelCache cache = twoLevelCaches.get(parts[1]);
+        if (cache == null) {
+            return;
+        }
+        cache.invalidateLocal(parts[2].startsWith(KEY_MARKER) ? parts[2].substring(KEY_MARKER.length()) : null);
+    }
+}
@@ -5,7 +5,9 @@ import com.news.model.dto.LoginResponse;
 import com.news.model.entity.User;
 import com.news.security.CustomUserDetailsService;
 import com.news.security.JwtTokenProvider;
+import com.news.security.TokenRevocationStore;
 import com.news.service.UserService;
+import io.jsonwebtoken.Claims;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -14,6 +16,7 @@ import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.util.StringUtils;
 import org.springframework.web.bind.annotation.*;
 
 /**
@@ -29,6 +32,9 @@ public class AuthController {
     private final AuthenticationManager authenticationManager;
     private final JwtTokenProvider jwtTokenProvider;
     private final UserService userService;
+    private final TokenRevocationStore revocationStore;
+
+    private static final String BEARER_PREFIX = "Bearer ";
 
     /**
      * 用户注册
@@ -135,11 +141,31 @@ public class AuthController {
 
     /**
      * 用户登出
+     * 吊销当前访问Token；请求体携带刷新Token时一并吊销
      */
     @PostMapping("/logout")
-    public ResponseEntity<Void> logout() {
+    public ResponseEntity<Void> logout(
+            @RequestHeader(value = "Authorization", required = false) String authorization,
+            @RequestBody(required = false) LogoutRequest request) {
         Authentication authentication = SecurityContextHolder.getContext()
             .getAuthentication();
+
+        String accessToken = StringUtils.hasText(authorization) && authorization.startsWith(BEARER_PREFIX)
+                ? authorization.substring(BEARER_PREFIX.length())
+                : null;
+        Claims accessClaims = accessToken != null ? jwtTokenProvider.parseClaims(accessToken) : null;
+        if (accessClaims != null) {
+            revocationStore.revoke(accessClaims.getId(), accessClaims.getExpiration());
+        }
+
+        if (request != null && StringUtils.hasText(request.refreshToken())) {
+            Claims refreshClaims = jwtTokenProvider.parseClaims(request.refreshToken());
+            // 只吊销属于当前用户的刷新Token
+            if (refreshClaims != null && jwtTokenProvider.isRefreshToken(refreshClaims)
+                    && (accessClaims == null || accessClaims.getSubject().equals(refreshClaims.getSubject()))) {
+                revocationStore.revoke(refreshClaims.getId(), refreshClaims.getExpiration());
+            }
+        }
         
         if (authentication != null) {
             String username = authentication.getName();
@@ -178,6 +204,7 @@ public class AuthController {
 
     /**
      * 刷新Token
+     * 刷新Token仅可使用一次：使用后即被吊销并签发新的刷新Token，重放或并发使用的请求将被拒绝
      */
     @PostMapping("/refresh")
     public ResponseEntity<TokenRefreshResponse> refreshToken(
@@ -186,17 +213,25 @@ public class AuthController {
         String refreshToken = request.refreshToken();
         
         try {
-            // 验证刷新Token
-            if (!jwtTokenProvider.isValidTokenFormat(refreshToken)) {
+            // 验证刷新Token（签名、有效期和类型）
+            Claims claims = StringUtils.hasText(refreshToken) ? jwtTokenProvider.parseClaims(refreshToken) : null;
+            if (claims == null || !jwtTokenProvider.isRefreshToken(claims)) {
                 return ResponseEntity.status(401).build();
             }
 
-            String username = jwtTokenProvider.extractUsername(refreshToken);
+            // 轮换：原子地吊销旧刷新Token，已使用过的Token吊销失败
+            if (!revocationStore.revokeIfAbsent(claims.getId(), claims.getExpiration())) {
+                log.warn("Rejected reused or revoked refresh token for user: {}", claims.getSubject());
+                return ResponseEntity.status(401).build();
+            }
+
+            User user = userService.findByUsername(claims.getSubject());
             
-            // 生成新的访问Token
-            String newToken = jwtTokenProvider.generateToken(username);
+            // 生成新的访问Token和刷新Token
+            String newToken = jwtTokenProvider.generateToken(user.getId(), user.getUsername(), user.getRole());
+            String newRefreshToken = jwtTokenProvider.generateRefreshToken(user.getUsername());
             
-            TokenRefreshResponse response = new TokenRefreshResponse(newToken);
+            TokenRefreshResponse response = new TokenRefreshResponse(newToken, newRefreshToken);
             return ResponseEntity.ok(response);
             
         } catch (Exception e) {
@@ -223,6 +258,11 @@ public class AuthController {
     /**
      * Token刷新响应DTO
      */
-    public record TokenRefreshResponse(String token) {}
+    public record TokenRefreshResponse(String token, String refreshToken) {}
+
+    /**
+     * 登出请求DTO
+     */
+    public record LogoutRequest(String refreshToken) {}
 }
 
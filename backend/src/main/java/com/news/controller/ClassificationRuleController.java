@@ -1,11 +1,13 @@
 package com.news.controller;
 
+import com.news.event.ClassificationRulesChangedEvent;
 import com.news.model.entity.ClassificationRule;
 import com.news.repository.ClassificationRuleRepository;
 import com.news.exception.ResourceNotFoundException;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -24,6 +26,7 @@ import java.util.List;
 public class ClassificationRuleController {
 
     private final ClassificationRuleRepository ruleRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * 创建分类规则
@@ -34,6 +37,7 @@ public class ClassificationRuleController {
                 rule.getRuleType(), rule.getTargetCategoryId());
         
         ClassificationRule created = ruleRepository.save(rule);
+        eventPublisher.publishEvent(new ClassificationRulesChangedEvent(created.getId()));
         return ResponseEntity.status(HttpStatus.CREATED).body(created);
     }
 
@@ -57,6 +61,7 @@ public class ClassificationRuleController {
         existing.setIsEnabled(rule.getIsEnabled());
         
         ClassificationRule updated = ruleRepository.save(existing);
+        eventPublisher.publishEvent(new ClassificationRulesChangedEvent(id));
         return ResponseEntity.ok(updated);
     }
 
@@ -72,6 +77,7 @@ public class ClassificationRuleController {
         }
         
         ruleRepository.deleteById(id);
+        eventPublisher.publishEvent(new ClassificationRulesChangedEvent(id));
         return ResponseEntity.noContent().build();
     }
 
@@ -1,5 +1,6 @@
 package com.news.controller;
 
+import com.news.model.dto.CursorSlice;
 import com.news.model.entity.Comment;
 import com.news.security.CustomUserDetailsService;
 import com.news.service.CommentService;
@@ -15,7 +16,6 @@ import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
 
 /**
@@ -51,11 +51,15 @@ public class CommentController {
     }
 
     /**
-     * 获取新闻的评论列表（公开）
+     * 游标分页获取新闻的评论列表（公开）
+     * 首页不传cursor，之后传上一页返回的nextCursor
      */
     @GetMapping("/news/{newsId}")
-    public ResponseEntity<List<Comment>> getNewsComments(@PathVariable Long newsId) {
-        List<Comment> comments = commentService.getNewsComments(newsId);
+    public ResponseEntity<CursorSlice<Comment>> getNewsComments(
+            @PathVariable Long newsId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        CursorSlice<Comment> comments = commentService.getNewsComments(newsId, cursor, size);
         return ResponseEntity.ok(comments);
     }
 
@@ -1,12 +1,16 @@
 package com.news.controller;
 
+import com.news.model.dto.CrawlProgress;
 import com.news.model.entity.CrawlTask;
+import com.news.service.CrawlJobRegistry;
 import com.news.service.CrawlerService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.HashMap;
 import java.util.List;
@@ -23,58 +27,74 @@ import java.util.Map;
 public class CrawlerController {
 
     private final CrawlerService crawlerService;
+    private final CrawlJobRegistry crawlJobRegistry;
 
     /**
-     * 手动触发爬虫（指定来源）
+     * 手动触发爬虫（指定来源），立即返回任务ID
      */
     @PostMapping("/trigger/{source}")
-    public ResponseEntity<Map<String, String>> triggerCrawler(
+    public ResponseEntity<Map<String, Object>> triggerCrawler(
             @PathVariable String source,
             @RequestParam(defaultValue = "10") int maxCount) {
         
         log.info("Manual trigger crawler for source: {}, maxCount: {}", source, maxCount);
         
-        try {
-            crawlerService.executeCrawlTask(source, maxCount);
-            
-            Map<String, String> response = new HashMap<>();
-            response.put("status", "success");
-            response.put("message", "Crawler task started for " + source);
-            response.put("source", source);
-            response.put("maxCount", String.valueOf(maxCount));
-            
-            return ResponseEntity.ok(response);
-            
-        } catch (Exception e) {
-            log.error("Failed to trigger crawler: {}", e.getMessage());
-            
-            Map<String, String> response = new HashMap<>();
-            response.put("status", "error");
-            response.put("message", e.getMessage());
-            
-            return ResponseEntity.badRequest().body(response);
-        }
+        CrawlProgress task = crawlerService.executeCrawlTask(source, maxCount);
+        
+        Map<String, Object> response = new HashMap<>();
+        response.put("status", "success");
+        response.put("message", "Crawler task started for " + source);
+        response.put("taskId", task.getTaskId());
+        response.put("source", source);
+        response.put("maxCount", maxCount);
+        
+        return ResponseEntity.ok(response);
     }
 
     /**
-     * 触发所有爬虫
+     * 触发所有爬虫（各来源并发执行），立即返回任务列表
      */
     @PostMapping("/trigger/all")
-    public ResponseEntity<Map<String, String>> triggerAllCrawlers(
+    public ResponseEntity<Map<String, Object>> triggerAllCrawlers(
             @RequestParam(defaultValue = "10") int maxCount) {
         
         log.info("Manual trigger all crawlers, maxCount: {}", maxCount);
         
-        crawlerService.executeAllCrawlers(maxCount);
+        List<CrawlProgress> tasks = crawlerService.executeAllCrawlers(maxCount);
         
-        Map<String, String> response = new HashMap<>();
+        Map<String, Object> response = new HashMap<>();
         response.put("status", "success");
-        response.put("message", "All crawler tasks started");
-        response.put("maxCount", String.valueOf(maxCount));
+        response.put("message", tasks.size() + " crawler tasks started");
+        response.put("tasks", tasks);
+        response.put("maxCount", maxCount);
         
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * 获取未结束任务的进度
+     */
+    @GetMapping("/tasks/active")
+    public ResponseEntity<List<CrawlProgress>> getActiveTasks() {
+        return ResponseEntity.ok(crawlJobRegistry.getActiveJobs());
+    }
+
+    /**
+     * 取消爬取任务
+     */
+    @PostMapping("/tasks/{taskId}/cancel")
+    public ResponseEntity<CrawlProgress> cancelTask(@PathVariable Long taskId) {
+        return ResponseEntity.ok(crawlJobRegistry.cancel(taskId));
+    }
+
+    /**
+     * 订阅爬取任务进度（SSE，事件名progress）
+     */
+    @GetMapping(value = "/tasks/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamProgress() {
+        return crawlJobRegistry.subscribe();
+    }
+
     /**
      * 获取所有可用的爬虫来源
      */
@@ -10,7 +10,10 @@ import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * 点赞管理Controller
@@ -24,38 +27,42 @@ public class LikeController {
     private final LikeService likeService;
 
     /**
-     * 点赞新闻（需要登录）
+     * 点赞新闻（需要登录，重复点赞时changed为false）
      */
     @PostMapping("/news/{newsId}")
     @PreAuthorize("isAuthenticated()")
-    public ResponseEntity<Map<String, String>> likeNews(
+    public ResponseEntity<Map<String, Object>> likeNews(
             @PathVariable Long newsId,
             Authentication authentication) {
         log.info("Like news request: {}", newsId);
 
         Long userId = getUserIdFromAuth(authentication);
-        likeService.likeNews(newsId, userId);
+        boolean changed = likeService.likeNews(newsId, userId);
 
-        Map<String, String> response = new HashMap<>();
-        response.put("message", "点赞成功");
+        Map<String, Object> response = new HashMap<>();
+        response.put("message", changed ? "点赞成功" : "已点赞");
+        response.put("liked", true);
+        response.put("changed", changed);
         return ResponseEntity.ok(response);
     }
 
     /**
-     * 取消点赞（需要登录）
+     * 取消点赞（需要登录，未点赞时changed为false）
      */
     @DeleteMapping("/news/{newsId}")
     @PreAuthorize("isAuthenticated()")
-    public ResponseEntity<Map<String, String>> unlikeNews(
+    public ResponseEntity<Map<String, Object>> unlikeNews(
             @PathVariable Long newsId,
             Authentication authentication) {
         log.info("Unlike news request: {}", newsId);
 
         Long userId = getUserIdFromAuth(authentication);
-        likeService.unlikeNews(newsId, userId);
+        boolean changed = likeService.unlikeNews(newsId, userId);
 
-        Map<String, String> response = new HashMap<>();
-        response.put("message", "已取消点赞");
+        Map<String, Object> response = new HashMap<>();
+        response.put("message", changed ? "已取消点赞" : "未点赞");
+        response.put("liked", false);
+        response.put("changed", changed);
         return ResponseEntity.ok(response);
     }
 
@@ -75,6 +82,23 @@ public class LikeController {
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * 批量检查当前用户对一组新闻的点赞状态（需要登录）
+     * 返回其中已点赞的新闻ID，列表页每页只需一次请求
+     */
+    @GetMapping("/news/status")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<Map<String, Set<Long>>> checkLikeStatuses(
+            @RequestParam List<Long> ids,
+            Authentication authentication) {
+        Long userId = getUserIdFromAuth(authentication);
+        Set<Long> liked = likeService.getLikedNewsIds(userId, new LinkedHashSet<>(ids));
+
+        Map<String, Set<Long>> response = new HashMap<>();
+        response.put("liked", liked);
+        return ResponseEntity.ok(response);
+    }
+
     /**
      * 获取新闻点赞数（公开）
      */
@@ -1,7 +1,10 @@
 package com.news.controller;
 
+import com.news.model.dto.CursorSlice;
 import com.news.model.dto.NewsCreateRequest;
+import com.news.model.dto.NewsFeedItem;
 import com.news.model.entity.News;
+import com.news.service.NewsFeedService;
 import com.news.service.NewsService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -30,6 +33,7 @@ import java.util.Map;
 public class NewsController {
 
     private final NewsService newsService;
+    private final NewsFeedService newsFeedService;
 
     /**
      * 创建新闻（仅管理员）
@@ -101,13 +105,13 @@ public class NewsController {
      * 获取新闻列表（智能排序，公开）
      */
     @GetMapping
-    public ResponseEntity<Page<News>> getNewsList(
+    public ResponseEntity<Page<NewsFeedItem>> getNewsList(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "20") int size,
             @RequestParam(required = false) Long categoryId) {
         
         Pageable pageable = PageRequest.of(page, size);
-        Page<News> newsPage;
+        Page<NewsFeedItem> newsPage;
 
         if (categoryId != null) {
             newsPage = newsService.getNewsByCategoryWithSmartSort(categoryId, pageable);
@@ -137,12 +141,13 @@ public class NewsController {
      * 获取热门新闻（公开）
      */
     @GetMapping("/hot")
-    public ResponseEntity<Page<News>> getHotNews(
+    public ResponseEntity<Page<NewsFeedItem>> getHotNews(
+            @RequestParam(required = false) Long categoryId,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size) {
         
         Pageable pageable = PageRequest.of(page, size);
-        Page<News> newsPage = newsService.getHotNews(pageable);
+        Page<NewsFeedItem> newsPage = newsService.getHotNews(categoryId, pageable);
         return ResponseEntity.ok(newsPage);
     }
 
@@ -150,12 +155,12 @@ public class NewsController {
      * 获取最新新闻（公开）
      */
     @GetMapping("/latest")
-    public ResponseEntity<Page<News>> getLatestNews(
+    public ResponseEntity<Page<NewsFeedItem>> getLatestNews(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size) {
         
         Pageable pageable = PageRequest.of(page, size);
-        Page<News> newsPage = newsService.getLatestNews(pageable);
+        Page<NewsFeedItem> newsPage = newsService.getLatestNews(pageable);
         return ResponseEntity.ok(newsPage);
     }
 
@@ -163,13 +168,13 @@ public class NewsController {
      * 根据来源获取新闻（公开）
      */
     @GetMapping("/source/{sourceWebsite}")
-    public ResponseEntity<Page<News>> getNewsBySource(
+    public ResponseEntity<Page<NewsFeedItem>> getNewsBySource(
             @PathVariable String sourceWebsite,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "20") int size) {
         
         Pageable pageable = PageRequest.of(page, size, Sort.by("publishTime").descending());
-        Page<News> newsPage = newsService.getNewsBySource(sourceWebsite, pageable);
+        Page<NewsFeedItem> newsPage = newsService.getNewsBySource(sourceWebsite, pageable);
         return ResponseEntity.ok(newsPage);
     }
 
@@ -177,17 +182,73 @@ public class NewsController {
      * 根据时间范围获取新闻（公开）
      */
     @GetMapping("/range")
-    public ResponseEntity<Page<News>> getNewsByTimeRange(
+    public ResponseEntity<Page<NewsFeedItem>> getNewsByTimeRange(
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startTime,
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endTime,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "20") int size) {
         
         Pageable pageable = PageRequest.of(page, size);
-        Page<News> newsPage = newsService.getNewsByTimeRange(startTime, endTime, pageable);
+        Page<NewsFeedItem> newsPage = newsService.getNewsByTimeRange(startTime, endTime, pageable);
         return ResponseEntity.ok(newsPage);
     }
 
+    /**
+     * 最新新闻游标分页（公开）
+     * 首次请求不传cursor，之后传入上次响应的nextCursor
+     */
+    @GetMapping("/feed/latest")
+    public ResponseEntity<CursorSlice<NewsFeedItem>> getLatestFeed(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(newsFeedService.getLatest(cursor, size));
+    }
+
+    /**
+     * 智能排序游标分页（公开）
+     */
+    @GetMapping("/feed/smart")
+    public ResponseEntity<CursorSlice<NewsFeedItem>> getSmartFeed(
+            @RequestParam(required = false) Long categoryId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(newsFeedService.getSmart(categoryId, cursor, size));
+    }
+
+    /**
+     * 分类最新新闻游标分页（公开）
+     */
+    @GetMapping("/feed/category/{categoryId}")
+    public ResponseEntity<CursorSlice<NewsFeedItem>> getCategoryFeed(
+            @PathVariable Long categoryId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(newsFeedService.getByCategory(categoryId, cursor, size));
+    }
+
+    /**
+     * 来源最新新闻游标分页（公开）
+     */
+    @GetMapping("/feed/source/{sourceWebsite}")
+    public ResponseEntity<CursorSlice<NewsFeedItem>> getSourceFeed(
+            @PathVariable String sourceWebsite,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(newsFeedService.getBySource(sourceWebsite, cursor, size));
+    }
+
+    /**
+     * 时间范围游标分页（公开）
+     */
+    @GetMapping("/feed/range")
+    public ResponseEntity<CursorSlice<NewsFeedItem>> getRangeFeed(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startTime,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endTime,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(newsFeedService.getByTimeRange(startTime, endTime, cursor, size));
+    }
+
     /**
      * 发布新闻（仅管理员）
      */
@@ -1,6 +1,8 @@
 package com.news.controller;
 
 import com.news.model.entity.Summary;
+import com.news.model.entity.SummaryBatchJob;
+import com.news.service.SummaryBatchService;
 import com.news.service.SummaryService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -10,6 +12,7 @@ import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -22,6 +25,7 @@ import java.util.Map;
 public class SummaryController {
 
     private final SummaryService summaryService;
+    private final SummaryBatchService summaryBatchService;
 
     /**
      * 为指定新闻生成摘要（管理员）
@@ -60,14 +64,15 @@ public class SummaryController {
      */
     @PostMapping("/generate/batch")
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<Map<String, String>> generateBatchSummaries(
+    public ResponseEntity<Map<String, Object>> generateBatchSummaries(
             @RequestParam(defaultValue = "false") boolean forceRegenerate) {
         log.info("Batch summary generation request, forceRegenerate: {}", forceRegenerate);
         
-        summaryService.generateSummariesForAllNews(forceRegenerate);
+        SummaryBatchJob job = summaryBatchService.startJob(forceRegenerate);
         
-        Map<String, String> response = new HashMap<>();
+        Map<String, Object> response = new HashMap<>();
         response.put("status", "started");
+        response.put("jobId", job.getId());
         response.put("message", forceRegenerate ? 
                 "批量摘要生成已启动（包括已有摘要，异步执行）" : 
                 "批量摘要生成已启动（仅生成缺失摘要，异步执行）");
@@ -75,6 +80,54 @@ public class SummaryController {
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * 获取最近的批量摘要任务（管理员）
+     */
+    @GetMapping("/batch-jobs")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<List<SummaryBatchJob>> getBatchJobs(@RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(summaryBatchService.getRecentJobs(limit));
+    }
+
+    /**
+     * 获取批量摘要任务进度（管理员）
+     */
+    @GetMapping("/batch-jobs/{jobId}")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<SummaryBatchJob> getBatchJob(@PathVariable Long jobId) {
+        return ResponseEntity.ok(summaryBatchService.getJob(jobId));
+    }
+
+    /**
+     * 暂停批量摘要任务（管理员）
+     */
+    @PostMapping("/batch-jobs/{jobId}/pause")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<SummaryBatchJob> pauseBatchJob(@PathVariable Long jobId) {
+        log.info("Pause summary batch job request: {}", jobId);
+        return ResponseEntity.ok(summaryBatchService.pauseJob(jobId));
+    }
+
+    /**
+     * 恢复批量摘要任务（管理员）
+     */
+    @PostMapping("/batch-jobs/{jobId}/resume")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<SummaryBatchJob> resumeBatchJob(@PathVariable Long jobId) {
+        log.info("Resume summary batch job request: {}", jobId);
+        return ResponseEntity.ok(summaryBatchService.resumeJob(jobId));
+    }
+
+    /**
+     * 取消批量摘要任务（管理员）
+     */
+    @PostMapping("/batch-jobs/{jobId}/cancel")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<SummaryBatchJob> cancelBatchJob(@PathVariable Long jobId) {
+        log.info("Cancel summary batch job request: {}", jobId);
+        return ResponseEntity.ok(summaryBatchService.cancelJob(jobId));
+    }
+
     /**
      * 检查AI服务状态（公开）
      */
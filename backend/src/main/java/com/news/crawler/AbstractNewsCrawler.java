@@ -4,6 +4,7 @@ import com.news.model.entity.News;
 import lombok.extern.slf4j.Slf4j;
 import org.jsoup.Jsoup;
 import org.jsoup.nodes.Document;
+import org.springframework.beans.factory.annotation.Autowired;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
@@ -19,6 +20,16 @@ public abstract class AbstractNewsCrawler implements NewsCrawler {
     protected static final int TIMEOUT = 10000; // 10秒超时
     protected static final String USER_AGENT = "Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36";
 
+    private CrawlFetchEngine fetchEngine;
+
+    /**
+     * 注入抓取引擎（未注入时退化为顺序抓取）
+     */
+    @Autowired(required = false)
+    public void setFetchEngine(CrawlFetchEngine fetchEngine) {
+        this.fetchEngine = fetchEngine;
+    }
+
     /**
      * 获取列表页URL
      */
@@ -37,15 +48,39 @@ public abstract class AbstractNewsCrawler implements NewsCrawler {
     @Override
     public List<News> crawlNews(int maxCount) {
         List<News> newsList = new ArrayList<>();
-        
+        try {
+            crawlNews(maxCount, new CrawlListener() {
+                @Override
+                public void onNews(News news) {
+                    newsList.add(news);
+                }
+
+                @Override
+                public void onFailure(String url) {
+                }
+
+                @Override
+                public boolean isCancelled() {
+                    return false;
+                }
+            });
+        } catch (Exception e) {
+            log.error("Crawl error from {}: {}", getSourceName(), e.getMessage(), e);
+        }
+        return newsList;
+    }
+
+    @Override
+    public void crawlNews(int maxCount, CrawlListener listener) {
+        int crawled = 0;
+
         try {
             log.info("Starting crawl from {}, max count: {}", getSourceName(), maxCount);
             
             // 1. 获取列表页
             Document listPage = fetchDocument(getListPageUrl());
             if (listPage == null) {
-                log.error("Failed to fetch list page from {}", getSourceName());
-                return newsList;
+                throw new IllegalStateException("Failed to fetch list page from " + getSourceName());
             }
 
             // 2. 提取新闻链接
@@ -53,35 +88,61 @@ public abstract class AbstractNewsCrawler implements NewsCrawler {
             log.info("Found {} news links from {}", newsLinks.size(), getSourceName());
 
             // 3. 爬取每篇新闻详情
-            for (String link : newsLinks) {
-                try {
-                    News news = parseNewsDetail(link);
+            if (fetchEngine != null) {
+                crawled = fetchEngine.fetchAll(newsLinks, this::crawlDetail, maxCount,
+                        (link, news) -> report(listener, link, news), listener::isCancelled).size();
+            } else {
+                for (String link : newsLinks) {
+                    if (listener.isCancelled()) {
+                        break;
+                    }
+                    News news = crawlDetail(link);
+                    report(listener, link, news);
                     if (news != null) {
-                        news.setSourceWebsite(getSourceName());
-                        news.setCrawlTime(LocalDateTime.now());
-                        news.setClassificationMethod("AUTO");
-                        newsList.add(news);
-                        
+                        crawled++;
                         // 避免请求过快
                         Thread.sleep(1000);
                     }
-                } catch (Exception e) {
-                    log.error("Failed to parse news from {}: {}", link, e.getMessage());
-                }
-                
-                // 达到最大数量则停止
-                if (newsList.size() >= maxCount) {
-                    break;
+
+                    // 达到最大数量则停止
+                    if (crawled >= maxCount) {
+                        break;
+                    }
                 }
             }
 
-            log.info("Successfully crawled {} news from {}", newsList.size(), getSourceName());
+            log.info("Successfully crawled {} news from {}", crawled, getSourceName());
             
-        } catch (Exception e) {
-            log.error("Crawl error from {}: {}", getSourceName(), e.getMessage(), e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn("Crawl from {} interrupted after {} news", getSourceName(), crawled);
         }
+    }
 
-        return newsList;
+    private void report(CrawlListener listener, String link, News news) {
+        if (news != null) {
+            listener.onNews(news);
+        } else {
+            listener.onFailure(link);
+        }
+    }
+
+    /**
+     * 抓取并解析单篇新闻，失败时返回null
+     */
+    private News crawlDetail(String link) {
+        try {
+            News news = parseNewsDetail(link);
+            if (news != null) {
+                news.setSourceWebsite(getSourceName());
+                news.setCrawlTime(LocalDateTime.now());
+                news.setClassificationMethod("AUTO");
+            }
+            return news;
+        } catch (Exception e) {
+            log.error("Failed to parse news from {}: {}", link, e.getMessage());
+            return null;
+        }
     }
 
     @Override
@@ -100,6 +161,9 @@ public abstract class AbstractNewsCrawler implements NewsCrawler {
      */
     protected Document fetchDocument(String url) {
         try {
+            if (fetchEngine != null) {
+                return fetchEngine.fetch(url, USER_AGENT, TIMEOUT);
+            }
             return Jsoup.connect(url)
                     .userAgent(USER_AGENT)
                     .timeout(TIMEOUT)
@@ -0,0 +1,168 @@
+package com.news.crawler;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Document;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
+import java.util.function.BooleanSupplier;
+import java.util.function.Function;
+
+/**
+ * 爬虫抓取引擎
+ * 详情页在工作线程池中并行抓取，按主机限制并发数并用令牌桶控制请求速率；
+ * 主机许可只在网络请求期间持有，页面解析在许可释放后进行，与后续抓取形成流水线
+ */
+@Component
+@Slf4j
+public class CrawlFetchEngine {
+
+    private final ConcurrentHashMap<String, HostGate> hostGates = new ConcurrentHashMap<>();
+    private final ExecutorService workers;
+
+    @Value("${crawler.fetch.per-host-concurrency:2}")
+    private int perHostConcurrency;
+
+    @Value("${crawler.fetch.requests-per-second:2.0}")
+    private double requestsPerSecond;
+
+    @Value("${crawler.fetch.burst:4}")
+    private int burst;
+
+    public CrawlFetchEngine(@Value("${crawler.fetch.worker-threads:8}") int workerThreads,
+                            MeterRegistry meterRegistry) {
+        AtomicInteger counter = new AtomicInteger();
+        this.workers = Executors.newFixedThreadPool(workerThreads, runnable -> {
+            Thread thread = new Thread(runnable, "Crawl-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        new ExecutorServiceMetrics(workers, "crawlFetch", Tags.empty()).bindTo(meterRegistry);
+        log.info("Crawl fetch engine initialized with {} worker threads", workerThreads);
+    }
+
+    /**
+     * 遵守主机并发和速率限制获取网页
+     */
+    public Document fetch(String url, String userAgent, int timeoutMillis) throws IOException {
+        HostGate gate = hostGates.computeIfAbsent(hostOf(url),
+                host -> new HostGate(perHostConcurrency, requestsPerSecond, burst));
+        try {
+            gate.permits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting for host permit: " + url, e);
+        }
+        try {
+            gate.rateLimiter.acquire();
+            return Jsoup.connect(url)
+                    .userAgent(userAgent)
+                    .timeout(timeoutMillis)
+                    .get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting for rate limiter: " + url, e);
+        } finally {
+            gate.permits.release();
+        }
+    }
+
+    /**
+     * 并行处理一组URL，按输入顺序收集非空结果，达到最大数量后取消剩余任务
+     *
+     * @param urls       待处理URL
+     * @param task       单个URL的抓取+解析逻辑，返回null表示跳过
+     * @param maxResults 最大结果数
+     */
+    public <T> List<T> fetchAll(List<String> urls, Function<String, T> task, int maxResults) {
+        return fetchAll(urls, task, maxResults, (url, result) -> { }, () -> false);
+    }
+
+    /**
+     * 并行处理一组URL，每个URL完成后按输入顺序在调用线程上回调，取消后放弃剩余任务
+     *
+     * @param onResult  单个URL的结果回调，结果为null表示失败或跳过
+     * @param cancelled 取消信号
+     */
+    public <T> List<T> fetchAll(List<String> urls, Function<String, T> task, int maxResults,
+                                BiConsumer<String, T> onResult, BooleanSupplier cancelled) {
+        List<CompletableFuture<T>> futures = new ArrayList<>(urls.size());
+        for (String url : urls) {
+            futures.add(CompletableFuture.supplyAsync(
+                    () -> cancelled.getAsBoolean() ? null : task.apply(url), workers));
+        }
+
+        List<T> results = new ArrayList<>();
+        for (int i = 0; i < futures.size(); i++) {
+            if (results.size() >= maxResults || cancelled.getAsBoolean()) {
+                futures.subList(i, futures.size()).forEach(future -> future.cancel(true));
+                break;
+            }
+            T result = null;
+            try {
+                result = futures.get(i).get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                futures.forEach(future -> future.cancel(true));
+                break;
+            } catch (ExecutionException e) {
+                log.error("Failed to process {}: {}", urls.get(i), e.getCause().getMessage());
+            }
+            // 取消后跳过的任务不计入结果
+            if (cancelled.getAsBoolean()) {
+                futures.subList(i + 1, futures.size()).forEach(future -> future.cancel(true));
+                break;
+            }
+            if (result != null) {
+                results.add(result);
+            }
+            onResult.accept(urls.get(i), result);
+        }
+        return results;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        workers.shutdownNow();
+    }
+
+    private String hostOf(String url) {
+        try {
+            String host = URI.create(url).getHost();
+            return host != null ? host.toLowerCase(Locale.ROOT) : url;
+        } catch (IllegalArgumentException e) {
+            return url;
+        }
+    }
+
+    /**
+     * 单个主机的并发许可与令牌桶
+     */
+    private static final class HostGate {
+        private final Semaphore permits;
+        private final TokenBucket rateLimiter;
+
+        private HostGate(int concurrency, double ratePerSecond, int burst) {
+            this.permits = new Semaphore(Math.max(1, concurrency), true);
+            this.rateLimiter = new TokenBucket(ratePerSecond, burst);
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.news.crawler;
+
+import com.news.model.entity.News;
+
+/**
+ * 爬取过程监听器
+ * 逐条接收详情页的抓取结果并提供取消信号，回调均在发起爬取的线程上执行
+ */
+public interface CrawlListener {
+
+    /**
+     * 成功解析一篇新闻
+     */
+    void onNews(News news);
+
+    /**
+     * 详情页抓取或解析失败
+     */
+    void onFailure(String url);
+
+    /**
+     * 是否已请求取消，取消后不再抓取剩余的详情页
+     */
+    boolean isCancelled();
+}
@@ -21,6 +21,18 @@ public interface NewsCrawler {
      */
     List<News> crawlNews(int maxCount);
 
+    /**
+     * 爬取新闻，每条结果通过监听器回调
+     * @param maxCount 最大爬取数量
+     * @param listener 接收结果和取消信号
+     * @throws IllegalStateException 列表页无法获取，由调用方决定是否重试
+     */
+    default void crawlNews(int maxCount, CrawlListener listener) {
+        if (!listener.isCancelled()) {
+            crawlNews(maxCount).forEach(listener::onNews);
+        }
+    }
+
     /**
      * 测试爬虫是否可用
      */
@@ -0,0 +1,53 @@
+package com.news.crawler;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 令牌桶限流器
+ * 按固定速率补充令牌，允许不超过桶容量的突发请求；令牌不足时预留令牌并在锁外等待
+ */
+public class TokenBucket {
+
+    private final double permitsPerSecond;
+    private final double capacity;
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private double tokens;
+    private long lastRefillNanos;
+
+    public TokenBucket(double permitsPerSecond, int burst) {
+        if (permitsPerSecond <= 0) {
+            throw new IllegalArgumentException("permitsPerSecond must be positive");
+        }
+        this.permitsPerSecond = permitsPerSecond;
+        this.capacity = Math.max(1, burst);
+        this.tokens = this.capacity;
+        this.lastRefillNanos = System.nanoTime();
+    }
+
+    /**
+     * 获取一个令牌，必要时阻塞等待
+     */
+    public void acquire() throws InterruptedException {
+        long waitNanos;
+        lock.lock();
+        try {
+            refill();
+            tokens -= 1;
+            waitNanos = tokens >= 0 ? 0 : (long) (-tokens / permitsPerSecond * TimeUnit.SECONDS.toNanos(1));
+        } finally {
+            lock.unlock();
+        }
+        if (waitNanos > 0) {
+            TimeUnit.NANOSECONDS.sleep(waitNanos);
+        }
+    }
+
+    private void refill() {
+        long now = System.nanoTime();
+        double elapsedSeconds = (now - lastRefillNanos) / (double) TimeUnit.SECONDS.toNanos(1);
+        tokens = Math.min(capacity, tokens + elapsedSeconds * permitsPerSecond);
+        lastRefillNanos = now;
+    }
+}
@@ -0,0 +1,10 @@
+package com.news.event;
+
+/**
+ * 分类变更事件
+ * 分类创建、更新或删除后发布，依赖分类名称和ID的缓存据此刷新
+ *
+ * @param categoryId 变更的分类ID
+ */
+public record CategoryChangedEvent(Long categoryId) {
+}
@@ -0,0 +1,10 @@
+package com.news.event;
+
+/**
+ * 分类规则变更事件
+ * 规则创建、更新或删除后发布，分类服务据此重建规则快照
+ *
+ * @param ruleId 变更的规则ID
+ */
+public record ClassificationRulesChangedEvent(Long ruleId) {
+}
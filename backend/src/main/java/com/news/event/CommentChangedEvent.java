@@ -0,0 +1,35 @@
+package com.news.event;
+
+import com.news.model.entity.Comment;
+
+/**
+ * 评论变更事件
+ * 评论创建、删除或审核状态变化后发布，评论列表缓存据此追加或失效
+ *
+ * @param newsId  所属新闻ID
+ * @param type    变更类型
+ * @param comment 新创建的评论（其他类型为null）
+ */
+public record CommentChangedEvent(Long newsId, ChangeType type, Comment comment) {
+
+    /**
+     * 变更类型
+     */
+    public enum ChangeType {
+        CREATED,
+        UPDATED,
+        DELETED
+    }
+
+    public static CommentChangedEvent created(Comment comment) {
+        return new CommentChangedEvent(comment.getNewsId(), ChangeType.CREATED, comment);
+    }
+
+    public static CommentChangedEvent updated(Long newsId) {
+        return new CommentChangedEvent(newsId, ChangeType.UPDATED, null);
+    }
+
+    public static CommentChangedEvent deleted(Long newsId) {
+        return new CommentChangedEvent(newsId, ChangeType.DELETED, null);
+    }
+}
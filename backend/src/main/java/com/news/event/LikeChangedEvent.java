@@ -0,0 +1,12 @@
+package com.news.event;
+
+/**
+ * 点赞变更事件
+ * 点赞或取消点赞实际改变了状态后发布，用户点赞状态缓存据此失效
+ *
+ * @param newsId 新闻ID
+ * @param userId 用户ID
+ * @param liked  变更后是否已点赞
+ */
+public record LikeChangedEvent(Long newsId, Long userId, boolean liked) {
+}
@@ -0,0 +1,14 @@
+package com.news.event;
+
+import com.news.model.entity.News;
+
+import java.util.List;
+
+/**
+ * 新闻批量创建事件
+ * 爬虫批量入库后每批只发布一次，派生数据按批增量更新，避免逐条事件各自查询
+ *
+ * @param news 本批新写入的新闻（已回填ID）
+ */
+public record NewsBatchCreatedEvent(List<News> news) {
+}
@@ -0,0 +1,35 @@
+package com.news.event;
+
+import com.news.model.entity.News;
+
+/**
+ * 新闻变更事件
+ * 新闻创建、更新、删除或状态变化后发布，由搜索索引等派生数据监听并增量更新
+ *
+ * @param newsId 新闻ID
+ * @param type   变更类型
+ * @param news   变更后的新闻（删除时为null）
+ */
+public record NewsChangedEvent(Long newsId, ChangeType type, News news) {
+
+    /**
+     * 变更类型
+     */
+    public enum ChangeType {
+        CREATED,
+        UPDATED,
+        DELETED
+    }
+
+    public static NewsChangedEvent created(News news) {
+        return new NewsChangedEvent(news.getId(), ChangeType.CREATED, news);
+    }
+
+    public static NewsChangedEvent updated(News news) {
+        return new NewsChangedEvent(news.getId(), ChangeType.UPDATED, news);
+    }
+
+    public static NewsChangedEvent deleted(Long newsId) {
+        return new NewsChangedEvent(newsId, ChangeType.DELETED, null);
+    }
+}
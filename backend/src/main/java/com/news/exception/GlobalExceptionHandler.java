@@ -1,6 +1,10 @@
 package com.news.exception;
 
+import com.news.ai.ZhipuAIRateLimitException;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.AccessDeniedException;
@@ -24,6 +28,9 @@ import java.util.Map;
 @RestControllerAdvice
 public class GlobalExceptionHandler {
 
+    @Value("${async.retry-after:5}")
+    private long busyRetryAfterSeconds;
+
     /**
      * 处理验证异常
      */
@@ -146,6 +153,50 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
     }
 
+    /**
+     * 处理AI接口限流异常
+     */
+    @ExceptionHandler(ZhipuAIRateLimitException.class)
+    public ResponseEntity<ErrorResponse> handleRateLimitException(
+            ZhipuAIRateLimitException ex, WebRequest request) {
+
+        ErrorResponse errorResponse = ErrorResponse.builder()
+                .timestamp(LocalDateTime.now())
+                .status(HttpStatus.TOO_MANY_REQUESTS.value())
+                .error("Too Many Requests")
+                .message(ex.getMessage())
+                .path(request.getDescription(false).replace("uri=", ""))
+                .build();
+
+        log.warn("AI rate limited: {}", ex.getMessage());
+        HttpHeaders headers = new HttpHeaders();
+        if (ex.getRetryAfterMillis() > 0) {
+            headers.set(HttpHeaders.RETRY_AFTER, String.valueOf((ex.getRetryAfterMillis() + 999) / 1000));
+        }
+        return new ResponseEntity<>(errorResponse, headers, HttpStatus.TOO_MANY_REQUESTS);
+    }
+
+    /**
+     * 处理后台线程池已满的异常
+     */
+    @ExceptionHandler(TaskRejectedException.class)
+    public ResponseEntity<ErrorResponse> handleTaskRejectedException(
+            TaskRejectedException ex, WebRequest request) {
+
+        ErrorResponse errorResponse = ErrorResponse.builder()
+                .timestamp(LocalDateTime.now())
+                .status(HttpStatus.SERVICE_UNAVAILABLE.value())
+                .error("Service Busy")
+                .message("后台任务繁忙，请稍后重试")
+                .path(request.getDescription(false).replace("uri=", ""))
+                .build();
+
+        log.warn("Async task rejected: {}", ex.getMessage());
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.RETRY_AFTER, String.valueOf(busyRetryAfterSeconds));
+        return new ResponseEntity<>(errorResponse, headers, HttpStatus.SERVICE_UNAVAILABLE);
+    }
+
     /**
      * 处理所有未捕获的异常
      */
@@ -0,0 +1,35 @@
+package com.news.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 分页结果的缓存形式
+ * PageImpl无法直接反序列化，写入Redis前转换为此对象，读取后再还原为Page
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CachedPage<T> {
+
+    private List<T> content;
+    private int pageNumber;
+    private int pageSize;
+    private long totalElements;
+
+    public static <T> CachedPage<T> from(Page<T> page) {
+        return new CachedPage<>(new ArrayList<>(page.getContent()),
+                page.getNumber(), page.getSize(), page.getTotalElements());
+    }
+
+    public Page<T> toPage() {
+        return new PageImpl<>(content, PageRequest.of(pageNumber, Math.max(pageSize, 1)), totalElements);
+    }
+}
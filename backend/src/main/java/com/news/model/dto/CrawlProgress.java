@@ -0,0 +1,38 @@
+package com.news.model.dto;
+
+import com.news.model.entity.CrawlTask;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 爬取任务进度DTO
+ * fetched为已抓取并解析的详情页数，successCount/failCount为已入库和失败的条数
+ */
+@Data
+@Builder(toBuilder = true)
+@NoArgsConstructor
+@AllArgsConstructor
+public class CrawlProgress {
+
+    private Long taskId;
+    private String source;
+    private String status;
+    private int maxCount;
+    private int fetched;
+    private int successCount;
+    private int failCount;
+    private boolean cancelRequested;
+    private LocalDateTime startTime;
+    private LocalDateTime endTime;
+    private String errorMessage;
+
+    public static CrawlProgress of(CrawlTask task, int maxCount, int fetched, boolean cancelRequested) {
+        return new CrawlProgress(task.getId(), task.getTargetSource(), task.getStatus(), maxCount, fetched,
+                task.getSuccessCount(), task.getFailCount(), cancelRequested,
+                task.getStartTime(), task.getEndTime(), task.getErrorMessage());
+    }
+}
@@ -0,0 +1,21 @@
+package com.news.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 游标分页结果
+ * 不包含总数；nextCursor为null表示没有更多数据
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorSlice<T> {
+
+    private List<T> content;
+    private String nextCursor;
+    private boolean hasNext;
+}
@@ -0,0 +1,78 @@
+package com.news.model.dto;
+
+import com.news.exception.BusinessException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+/**
+ * 列表游标
+ * 记录上一页最后一条的排序键（时间或热度分值）和ID，对客户端不透明（Base64编码）；
+ * 新闻列表和评论列表共用
+ *
+ * @param sortKey 排序键的字符串形式
+ * @param id      记录ID，排序键相同时的次序
+ */
+public record FeedCursor(String sortKey, long id) {
+
+    private static final String VERSION = "1";
+    private static final String SEPARATOR = "|";
+
+    /** 按时间排序的首页游标 */
+    public static final FeedCursor FIRST_BY_TIME = byTime(LocalDateTime.of(9999, 12, 31, 23, 59, 59), Long.MAX_VALUE);
+    /** 按热度排序的首页游标 */
+    public static final FeedCursor FIRST_BY_SCORE = byScore(Double.MAX_VALUE, Long.MAX_VALUE);
+
+    public static FeedCursor byTime(LocalDateTime time, long id) {
+        return new FeedCursor(time.toString(), id);
+    }
+
+    public static FeedCursor byScore(double score, long id) {
+        return new FeedCursor(Double.toString(score), id);
+    }
+
+    public LocalDateTime time() {
+        try {
+            return LocalDateTime.parse(sortKey);
+        } catch (RuntimeException e) {
+            throw new BusinessException("无效的分页游标");
+        }
+    }
+
+    public double score() {
+        try {
+            return Double.parseDouble(sortKey);
+        } catch (RuntimeException e) {
+            throw new BusinessException("无效的分页游标");
+        }
+    }
+
+    public String encode() {
+        String raw = VERSION + SEPARATOR + sortKey + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 解析游标
+     *
+     * @param cursor 客户端传回的游标，为空时返回first
+     * @param first  首页游标
+     * @throws BusinessException 游标格式无效
+     */
+    public static FeedCursor decode(String cursor, FeedCursor first) {
+        if (cursor == null || cursor.isBlank()) {
+            return first;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|", -1);
+            if (parts.length != 3 || !VERSION.equals(parts[0])) {
+                throw new BusinessException("无效的分页游标");
+            }
+            return new FeedCursor(parts[1], Long.parseLong(parts[2]));
+        } catch (IllegalArgumentException e) {
+            throw new BusinessException("无效的分页游标");
+        }
+    }
+}
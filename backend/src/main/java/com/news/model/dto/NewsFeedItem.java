@@ -0,0 +1,35 @@
+package com.news.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 新闻列表项DTO
+ * 列表和卡片视图只需要的字段，正文仅保留开头的摘录；完整内容通过 /news/{id} 获取
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class NewsFeedItem {
+
+    /**
+     * 摘录的最大字符数
+     */
+    public static final int EXCERPT_LENGTH = 150;
+
+    private Long id;
+    private String title;
+    private String sourceWebsite;
+    private Long categoryId;
+    private LocalDateTime publishTime;
+    private String imageUrl;
+    private String status;
+    private Long viewCount;
+    private Integer likeCount;
+    private Integer commentCount;
+    private Double hotScore;
+    private String excerpt;
+}
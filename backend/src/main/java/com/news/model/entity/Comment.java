@@ -7,6 +7,7 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 
 /**
  * 评论实体
@@ -43,8 +44,9 @@ public class Comment {
 
     @PrePersist
     protected void onCreate() {
-        createdAt = LocalDateTime.now();
-        updatedAt = LocalDateTime.now();
+        // 与created_at列的秒级精度一致，保存后的实体可直接用作游标和缓存
+        createdAt = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+        updatedAt = createdAt;
     }
 
     @PreUpdate
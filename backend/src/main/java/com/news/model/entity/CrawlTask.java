@@ -30,11 +30,17 @@ public class CrawlTask {
     private String targetSource;
 
     /**
-     * 任务状态：PENDING-等待中, RUNNING-运行中, SUCCESS-成功, FAILED-失败
+     * 任务状态：PENDING-等待中, RUNNING-运行中, SUCCESS-成功, FAILED-失败, CANCELLED-已取消
      */
     @Column(name = "status", nullable = false, length = 20)
     private String status;
 
+    /**
+     * 执行任务的节点
+     */
+    @Column(name = "node_id", length = 100)
+    private String nodeId;
+
     /**
      * 开始时间
      */
@@ -110,6 +116,21 @@ public class CrawlTask {
         this.errorMessage = errorMessage;
     }
 
+    /**
+     * 标记任务已取消
+     */
+    public void markAsCancelled() {
+        this.status = "CANCELLED";
+        this.endTime = LocalDateTime.now();
+    }
+
+    /**
+     * 是否已结束
+     */
+    public boolean isFinished() {
+        return !"PENDING".equals(status) && !"RUNNING".equals(status);
+    }
+
     /**
      * 增加成功计数
      */
@@ -117,11 +138,25 @@ public class CrawlTask {
         this.successCount++;
     }
 
+    /**
+     * 增加成功计数
+     */
+    public void incrementSuccess(int count) {
+        this.successCount += count;
+    }
+
     /**
      * 增加失败计数
      */
     public void incrementFail() {
         this.failCount++;
     }
+
+    /**
+     * 增加失败计数
+     */
+    public void incrementFail(int count) {
+        this.failCount += count;
+    }
 }
 
@@ -96,17 +96,23 @@ public class News {
     private Long viewCount;
 
     /**
-     * 点赞数
+     * 点赞数（只通过NewsRepository的原子UPDATE维护，实体保存时不写回）
      */
-    @Column(name = "like_count")
+    @Column(name = "like_count", updatable = false)
     private Integer likeCount;
 
     /**
-     * 评论数
+     * 评论数（只通过NewsRepository的原子UPDATE维护，实体保存时不写回）
      */
-    @Column(name = "comment_count")
+    @Column(name = "comment_count", updatable = false)
     private Integer commentCount;
 
+    /**
+     * 热度分值（浏览量按发布时间衰减，由定时任务预计算）
+     */
+    @Column(name = "hot_score", nullable = false)
+    private Double hotScore;
+
     /**
      * 更新时间
      */
@@ -133,6 +139,9 @@ public class News {
         if (commentCount == null) {
             commentCount = 0;
         }
+        if (hotScore == null) {
+            hotScore = 0.0;
+        }
         updatedAt = LocalDateTime.now();
     }
 
@@ -53,6 +53,12 @@ public class Summary {
     @Column(name = "status", length = 20)
     private String status;
 
+    /**
+     * 生成时使用的提示词哈希（模型+规范化提示词），用于判断内容是否变化
+     */
+    @Column(name = "prompt_hash", length = 64)
+    private String promptHash;
+
     @PrePersist
     protected void onCreate() {
         if (generatedAt == null) {
@@ -0,0 +1,145 @@
+package com.news.model.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 批量摘要任务实体
+ */
+@Entity
+@Table(name = "summary_batch_jobs")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SummaryBatchJob {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /**
+     * 任务状态：RUNNING-运行中, PAUSED-已暂停, CANCELLED-已取消, COMPLETED-已完成, FAILED-失败
+     */
+    @Column(name = "status", nullable = false, length = 20)
+    private String status;
+
+    /**
+     * 是否强制重新生成已有摘要
+     */
+    @Column(name = "force_regenerate", nullable = false)
+    private Boolean forceRegenerate;
+
+    /**
+     * 断点：已处理完的最大新闻ID（按ID升序处理）
+     */
+    @Column(name = "last_news_id", nullable = false)
+    private Long lastNewsId;
+
+    /**
+     * 任务开始时待处理的新闻总数
+     */
+    @Column(name = "total_count", nullable = false)
+    private Integer totalCount;
+
+    /**
+     * 已处理数量
+     */
+    @Column(name = "processed_count", nullable = false)
+    private Integer processedCount;
+
+    /**
+     * 生成成功数量
+     */
+    @Column(name = "success_count", nullable = false)
+    private Integer successCount;
+
+    /**
+     * 跳过数量（已有摘要）
+     */
+    @Column(name = "skip_count", nullable = false)
+    private Integer skipCount;
+
+    /**
+     * 失败数量
+     */
+    @Column(name = "fail_count", nullable = false)
+    private Integer failCount;
+
+    /**
+     * 错误信息
+     */
+    @Column(name = "error_message", columnDefinition = "TEXT")
+    private String errorMessage;
+
+    /**
+     * 开始时间
+     */
+    @Column(name = "started_at")
+    private LocalDateTime startedAt;
+
+    /**
+     * 结束时间
+     */
+    @Column(name = "finished_at")
+    private LocalDateTime finishedAt;
+
+    /**
+     * 创建时间
+     */
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    /**
+     * 更新时间
+     */
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+        updatedAt = createdAt;
+        if (status == null) {
+            status = "RUNNING";
+        }
+        if (forceRegenerate == null) {
+            forceRegenerate = false;
+        }
+        if (lastNewsId == null) {
+            lastNewsId = 0L;
+        }
+        if (totalCount == null) {
+            totalCount = 0;
+        }
+        if (processedCount == null) {
+            processedCount = 0;
+        }
+        if (successCount == null) {
+            successCount = 0;
+        }
+        if (skipCount == null) {
+            skipCount = 0;
+        }
+        if (failCount == null) {
+            failCount = 0;
+        }
+    }
+
+    @PreUpdate
+    protected void onUpdate() {
+        updatedAt = LocalDateTime.now();
+    }
+
+    /**
+     * 是否已结束（不可再恢复）
+     */
+    public boolean isFinished() {
+        return "CANCELLED".equals(status) || "COMPLETED".equals(status) || "FAILED".equals(status);
+    }
+}
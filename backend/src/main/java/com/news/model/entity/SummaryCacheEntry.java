@@ -0,0 +1,53 @@
+package com.news.model.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 摘要缓存实体
+ */
+@Entity
+@Table(name = "summary_cache")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SummaryCacheEntry {
+
+    /**
+     * 模型+规范化提示词的SHA-256
+     */
+    @Id
+    @Column(name = "prompt_hash", length = 64)
+    private String promptHash;
+
+    /**
+     * AI模型版本
+     */
+    @Column(name = "model_version", nullable = false, length = 50)
+    private String modelVersion;
+
+    /**
+     * 摘要内容
+     */
+    @Column(name = "summary_content", nullable = false, columnDefinition = "TEXT")
+    private String summaryContent;
+
+    /**
+     * 创建时间
+     */
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @PrePersist
+    protected void onCreate() {
+        if (createdAt == null) {
+            createdAt = LocalDateTime.now();
+        }
+    }
+}
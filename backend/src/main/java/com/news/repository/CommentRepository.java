@@ -8,6 +8,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 /**
@@ -22,9 +23,17 @@ public interface CommentRepository extends JpaRepository<Comment, Long> {
     Page<Comment> findByNewsIdAndStatus(Long newsId, String status, Pageable pageable);
 
     /**
-     * 根据新闻ID查询所有评论
+     * 评论游标分页：按 (创建时间, id) 倒序取游标之后的一页
      */
-    List<Comment> findByNewsIdAndStatusOrderByCreatedAtDesc(Long newsId, String status);
+    @Query("SELECT c FROM Comment c WHERE c.newsId = :newsId AND c.status = :status " +
+           "AND (c.createdAt < :createdAt OR (c.createdAt = :createdAt AND c.id < :afterId)) " +
+           "ORDER BY c.createdAt DESC, c.id DESC")
+    List<Comment> findPageAfter(
+            @Param("newsId") Long newsId,
+            @Param("status") String status,
+            @Param("createdAt") LocalDateTime createdAt,
+            @Param("afterId") Long afterId,
+            Pageable pageable);
 
     /**
      * 根据用户ID查询评论
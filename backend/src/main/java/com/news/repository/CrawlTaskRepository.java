@@ -4,10 +4,14 @@ import com.news.model.entity.CrawlTask;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -26,6 +30,22 @@ public interface CrawlTaskRepository extends JpaRepository<CrawlTask, Long> {
      */
     Page<CrawlTask> findByStatus(String status, Pageable pageable);
 
+    /**
+     * 查询节点的指定状态任务（包括升级前未记录节点的任务）
+     */
+    @Query("SELECT t FROM CrawlTask t WHERE t.status IN :statuses AND (t.nodeId = :nodeId OR t.nodeId IS NULL)")
+    List<CrawlTask> findByStatusInOwnedBy(@Param("statuses") Collection<String> statuses,
+                                          @Param("nodeId") String nodeId);
+
+    /**
+     * 累加任务的成功、失败计数（单条UPDATE，不读取实体）
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE CrawlTask t SET t.successCount = t.successCount + :success, " +
+           "t.failCount = t.failCount + :fail WHERE t.id = :id")
+    int incrementCounts(@Param("id") Long id, @Param("success") int success, @Param("fail") int fail);
+
     /**
      * 根据来源查询
      */
@@ -1,9 +1,15 @@
 package com.news.repository;
 
 import com.news.model.entity.Like;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -22,15 +28,38 @@ public interface LikeRepository extends JpaRepository<Like, Long> {
      */
     boolean existsByNewsIdAndUserId(Long newsId, Long userId);
 
+    /**
+     * 在给定新闻中查找用户已点赞的新闻ID（走uk_news_user索引）
+     */
+    @Query("SELECT l.newsId FROM Like l WHERE l.userId = :userId AND l.newsId IN :newsIds")
+    List<Long> findLikedNewsIds(@Param("userId") Long userId, @Param("newsIds") Collection<Long> newsIds);
+
+    /**
+     * 用户最近点赞的新闻ID（填充点赞状态缓存）
+     */
+    @Query("SELECT l.newsId FROM Like l WHERE l.userId = :userId ORDER BY l.id DESC")
+    List<Long> findRecentLikedNewsIds(@Param("userId") Long userId, Pageable pageable);
+
     /**
      * 统计新闻的点赞数
      */
     long countByNewsId(Long newsId);
 
     /**
-     * 删除点赞
+     * 新增点赞，已存在时忽略，返回插入的行数
+     * 新闻和用户的存在性由外键约束校验
+     */
+    @Modifying
+    @Query(value = "INSERT IGNORE INTO likes (news_id, user_id) VALUES (:newsId, :userId)",
+           nativeQuery = true)
+    int insertIfAbsent(@Param("newsId") Long newsId, @Param("userId") Long userId);
+
+    /**
+     * 删除点赞，返回删除的行数
      */
-    void deleteByNewsIdAndUserId(Long newsId, Long userId);
+    @Modifying
+    @Query("DELETE FROM Like l WHERE l.newsId = :newsId AND l.userId = :userId")
+    int deleteByNewsIdAndUserId(@Param("newsId") Long newsId, @Param("userId") Long userId);
 
     /**
      * 删除新闻的所有点赞
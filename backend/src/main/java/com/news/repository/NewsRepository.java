@@ -1,5 +1,6 @@
 package com.news.repository;
 
+import com.news.model.dto.NewsFeedItem;
 import com.news.model.entity.News;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -8,17 +9,32 @@ import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 /**
  * 新闻Repository
+ * 列表查询返回NewsFeedItem投影（正文只截取摘录），避免读取和传输完整正文
  */
 @Repository
 public interface NewsRepository extends JpaRepository<News, Long> {
 
+    /**
+     * 列表投影的SELECT子句
+     */
+    String FEED_SELECT = "SELECT new com.news.model.dto.NewsFeedItem(n.id, n.title, n.sourceWebsite, n.categoryId, " +
+            "n.publishTime, n.imageUrl, n.status, n.viewCount, n.likeCount, n.commentCount, n.hotScore, " +
+            "SUBSTRING(n.content, 1, " + NewsFeedItem.EXCERPT_LENGTH + ")) ";
+
+    /**
+     * 热度分值表达式：浏览量按发布后的天数衰减（未来发布时间按0计，除数不小于1）
+     */
+    String HOT_SCORE_EXPR = "COALESCE(view_count, 0) / (1 + GREATEST(TIMESTAMPDIFF(HOUR, publish_time, NOW()), 0) / 24)";
+
     /**
      * 根据标题查找新闻
      */
@@ -50,33 +66,140 @@ public interface NewsRepository extends JpaRepository<News, Long> {
     Page<News> findByStatus(String status, Pageable pageable);
 
     /**
-     * 根据来源分页查询新闻
+     * 按ID顺序批量读取指定状态的新闻（游标分批，不做count查询）
      */
-    Page<News> findBySourceWebsite(String sourceWebsite, Pageable pageable);
+    List<News> findByStatusAndIdGreaterThanOrderByIdAsc(String status, Long id, Pageable pageable);
+
+    /**
+     * 按ID顺序读取指定状态的新闻ID（游标分批）
+     */
+    @Query("SELECT n.id FROM News n WHERE n.status = :status AND n.id > :afterId ORDER BY n.id ASC")
+    List<Long> findIdsByStatusAfter(@Param("status") String status, @Param("afterId") Long afterId, Pageable pageable);
+
+    /**
+     * 统计游标之后指定状态的新闻数量
+     */
+    long countByStatusAndIdGreaterThan(String status, Long id);
+
+    /**
+     * 根据来源分页查询新闻（列表投影）
+     */
+    @Query(value = FEED_SELECT + "FROM News n WHERE n.sourceWebsite = :sourceWebsite",
+           countQuery = "SELECT COUNT(n) FROM News n WHERE n.sourceWebsite = :sourceWebsite")
+    Page<NewsFeedItem> findFeedBySourceWebsite(@Param("sourceWebsite") String sourceWebsite, Pageable pageable);
 
     /**
      * 智能排序查询（时间衰减 + 浏览量）
-     * 使用自定义SQL实现智能排序
+     * 按预计算的hot_score排序，走idx_status_hot_score_id索引
      */
-    @Query(value = "SELECT * FROM news WHERE status = :status " +
-           "ORDER BY (view_count / (1 + TIMESTAMPDIFF(HOUR, publish_time, NOW()) / 24)) DESC, " +
-           "publish_time DESC",
-           nativeQuery = true)
-    Page<News> findByStatusWithSmartSort(@Param("status") String status, Pageable pageable);
+    @Query(value = FEED_SELECT + "FROM News n WHERE n.status = :status " +
+           "ORDER BY n.hotScore DESC, n.id DESC",
+           countQuery = "SELECT COUNT(n) FROM News n WHERE n.status = :status")
+    Page<NewsFeedItem> findFeedByStatusWithSmartSort(@Param("status") String status, Pageable pageable);
 
     /**
      * 根据分类智能排序查询
+     * 按预计算的hot_score排序，走idx_category_status_hot_score_id索引
      */
-    @Query(value = "SELECT * FROM news WHERE category_id = :categoryId AND status = :status " +
-           "ORDER BY (view_count / (1 + TIMESTAMPDIFF(HOUR, publish_time, NOW()) / 24)) DESC, " +
-           "publish_time DESC",
-           nativeQuery = true)
-    Page<News> findByCategoryIdAndStatusWithSmartSort(
+    @Query(value = FEED_SELECT + "FROM News n WHERE n.categoryId = :categoryId AND n.status = :status " +
+           "ORDER BY n.hotScore DESC, n.id DESC",
+           countQuery = "SELECT COUNT(n) FROM News n WHERE n.categoryId = :categoryId AND n.status = :status")
+    Page<NewsFeedItem> findFeedByCategoryIdAndStatusWithSmartSort(
             @Param("categoryId") Long categoryId,
             @Param("status") String status,
             Pageable pageable
     );
 
+    /**
+     * 指定时间之后发布的已发布新闻的ID范围（走idx_status_publish_view索引），返回[最小ID, 最大ID]
+     */
+    @Query("SELECT MIN(n.id), MAX(n.id) FROM News n WHERE n.status = 'PUBLISHED' AND n.publishTime >= :since")
+    List<Object[]> findPublishedIdRangeSince(@Param("since") LocalDateTime since);
+
+    /**
+     * 重新计算ID区间内热度分值（仅限指定时间之后发布的新闻），返回更新的行数
+     * 只写入分值发生变化的行（浏览量变化或衰减跨过整点）；发布时间晚于当前时按0小时计算，
+     * 显式保留updated_at，避免ON UPDATE CURRENT_TIMESTAMP被触发
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "UPDATE news " +
+           "SET hot_score = " + HOT_SCORE_EXPR + ", updated_at = updated_at " +
+           "WHERE id BETWEEN :fromId AND :toId AND status = 'PUBLISHED' AND publish_time >= :since " +
+           "AND hot_score <> " + HOT_SCORE_EXPR,
+           nativeQuery = true)
+    int refreshHotScores(@Param("fromId") Long fromId,
+                         @Param("toId") Long toId,
+                         @Param("since") LocalDateTime since);
+
+    // ==================== 点赞数、评论数（反范式计数） ====================
+    // 计数只通过以下单条UPDATE原子修改，与点赞/评论的写入处于同一事务；显式保留updated_at。
+    // 不做下限截断，保证先调整再补偿时结果精确；读取时按0截断，偏差由校正任务修复
+
+    /**
+     * 调整点赞数，返回受影响行数（新闻不存在时为0）
+     */
+    @Modifying
+    @Query(value = "UPDATE news SET like_count = COALESCE(like_count, 0) + :delta, " +
+           "updated_at = updated_at WHERE id = :newsId",
+           nativeQuery = true)
+    int adjustLikeCount(@Param("newsId") Long newsId, @Param("delta") int delta);
+
+    /**
+     * 调整评论数，返回受影响行数（新闻不存在时为0）
+     */
+    @Modifying
+    @Query(value = "UPDATE news SET comment_count = COALESCE(comment_count, 0) + :delta, " +
+           "updated_at = updated_at WHERE id = :newsId",
+           nativeQuery = true)
+    int adjustCommentCount(@Param("newsId") Long newsId, @Param("delta") int delta);
+
+    /**
+     * 读取点赞数
+     */
+    @Query("SELECT n.likeCount FROM News n WHERE n.id = :newsId")
+    Optional<Integer> findLikeCountById(@Param("newsId") Long newsId);
+
+    /**
+     * 读取评论数
+     */
+    @Query("SELECT n.commentCount FROM News n WHERE n.id = :newsId")
+    Optional<Integer> findCommentCountById(@Param("newsId") Long newsId);
+
+    /**
+     * 最大新闻ID（计数校正按ID区间分批）
+     */
+    @Query("SELECT MAX(n.id) FROM News n")
+    Long findMaxId();
+
+    /**
+     * 按likes表校正ID区间内的点赞数，只更新不一致的行，返回校正的行数
+     * 每个区间单独提交，缩短行锁持有时间
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "UPDATE news n " +
+           "LEFT JOIN (SELECT news_id, COUNT(*) AS cnt FROM likes " +
+           "WHERE news_id BETWEEN :fromId AND :toId GROUP BY news_id) l ON l.news_id = n.id " +
+           "SET n.like_count = COALESCE(l.cnt, 0), n.updated_at = n.updated_at " +
+           "WHERE n.id BETWEEN :fromId AND :toId AND NOT (n.like_count <=> COALESCE(l.cnt, 0))",
+           nativeQuery = true)
+    int reconcileLikeCounts(@Param("fromId") Long fromId, @Param("toId") Long toId);
+
+    /**
+     * 按comments表（已审核）校正ID区间内的评论数，只更新不一致的行，返回校正的行数
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "UPDATE news n " +
+           "LEFT JOIN (SELECT news_id, COUNT(*) AS cnt FROM comments " +
+           "WHERE news_id BETWEEN :fromId AND :toId AND status = 'APPROVED' GROUP BY news_id) c " +
+           "ON c.news_id = n.id " +
+           "SET n.comment_count = COALESCE(c.cnt, 0), n.updated_at = n.updated_at " +
+           "WHERE n.id BETWEEN :fromId AND :toId AND NOT (n.comment_count <=> COALESCE(c.cnt, 0))",
+           nativeQuery = true)
+    int reconcileCommentCounts(@Param("fromId") Long fromId, @Param("toId") Long toId);
+
     /**
      * 全文搜索（标题和内容）
      */
@@ -91,41 +214,118 @@ public interface NewsRepository extends JpaRepository<News, Long> {
     );
 
     /**
-     * 增加浏览次数
+     * 获取热门新闻（指定时间之后发布的浏览量最多）
      */
-    @Modifying
-    @Query("UPDATE News n SET n.viewCount = n.viewCount + 1 WHERE n.id = :newsId")
-    void incrementViewCount(@Param("newsId") Long newsId);
+    @Query(value = FEED_SELECT + "FROM News n WHERE n.status = 'PUBLISHED' AND n.publishTime >= :since " +
+           "ORDER BY n.viewCount DESC",
+           countQuery = "SELECT COUNT(n) FROM News n WHERE n.status = 'PUBLISHED' AND n.publishTime >= :since")
+    Page<NewsFeedItem> findHotFeed(@Param("since") LocalDateTime since, Pageable pageable);
 
     /**
-     * 获取热门新闻（最近7天浏览量最多）
+     * 按ID批量获取已发布新闻的列表投影（热门排行榜回表）
      */
-    @Query(value = "SELECT * FROM news WHERE status = 'PUBLISHED' " +
-           "AND publish_time >= DATE_SUB(NOW(), INTERVAL 7 DAY) " +
-           "ORDER BY view_count DESC",
-           nativeQuery = true)
-    Page<News> findHotNews(Pageable pageable);
+    @Query(FEED_SELECT + "FROM News n WHERE n.id IN :ids AND n.status = 'PUBLISHED'")
+    List<NewsFeedItem> findFeedByIds(@Param("ids") Collection<Long> ids);
 
     /**
      * 获取最新新闻
      */
-    @Query("SELECT n FROM News n WHERE n.status = 'PUBLISHED' " +
-           "ORDER BY n.publishTime DESC")
-    Page<News> findLatestNews(Pageable pageable);
+    @Query(value = FEED_SELECT + "FROM News n WHERE n.status = 'PUBLISHED' " +
+           "ORDER BY n.publishTime DESC",
+           countQuery = "SELECT COUNT(n) FROM News n WHERE n.status = 'PUBLISHED'")
+    Page<NewsFeedItem> findLatestFeed(Pageable pageable);
 
     /**
      * 根据时间范围查询
      */
-    @Query("SELECT n FROM News n WHERE n.publishTime BETWEEN :startTime AND :endTime " +
+    @Query(value = FEED_SELECT + "FROM News n WHERE n.publishTime BETWEEN :startTime AND :endTime " +
            "AND n.status = :status " +
-           "ORDER BY n.publishTime DESC")
-    Page<News> findByTimeRange(
+           "ORDER BY n.publishTime DESC",
+           countQuery = "SELECT COUNT(n) FROM News n WHERE n.publishTime BETWEEN :startTime AND :endTime " +
+           "AND n.status = :status")
+    Page<NewsFeedItem> findFeedByTimeRange(
             @Param("startTime") LocalDateTime startTime,
             @Param("endTime") LocalDateTime endTime,
             @Param("status") String status,
             Pageable pageable
     );
 
+    // ==================== 游标分页（keyset，无count查询） ====================
+    // 条件 (排序键, id) < (游标) 展开为 排序键 < :key OR (排序键 = :key AND id < :afterId)，
+    // 分页参数只用于限制行数（不带偏移）
+
+    /**
+     * 最新新闻游标分页，走idx_status_publish_id
+     */
+    @Query(FEED_SELECT + "FROM News n WHERE n.status = 'PUBLISHED' " +
+           "AND (n.publishTime < :publishTime OR (n.publishTime = :publishTime AND n.id < :afterId)) " +
+           "ORDER BY n.publishTime DESC, n.id DESC")
+    List<NewsFeedItem> findLatestFeedAfter(
+            @Param("publishTime") LocalDateTime publishTime,
+            @Param("afterId") Long afterId,
+            Pageable pageable);
+
+    /**
+     * 分类最新新闻游标分页，走idx_category_status_publish_id
+     */
+    @Query(FEED_SELECT + "FROM News n WHERE n.categoryId = :categoryId AND n.status = 'PUBLISHED' " +
+           "AND (n.publishTime < :publishTime OR (n.publishTime = :publishTime AND n.id < :afterId)) " +
+           "ORDER BY n.publishTime DESC, n.id DESC")
+    List<NewsFeedItem> findCategoryFeedAfter(
+            @Param("categoryId") Long categoryId,
+            @Param("publishTime") LocalDateTime publishTime,
+            @Param("afterId") Long afterId,
+            Pageable pageable);
+
+    /**
+     * 来源最新新闻游标分页，走idx_source_status_publish_id
+     */
+    @Query(FEED_SELECT + "FROM News n WHERE n.sourceWebsite = :sourceWebsite AND n.status = 'PUBLISHED' " +
+           "AND (n.publishTime < :publishTime OR (n.publishTime = :publishTime AND n.id < :afterId)) " +
+           "ORDER BY n.publishTime DESC, n.id DESC")
+    List<NewsFeedItem> findSourceFeedAfter(
+            @Param("sourceWebsite") String sourceWebsite,
+            @Param("publishTime") LocalDateTime publishTime,
+            @Param("afterId") Long afterId,
+            Pageable pageable);
+
+    /**
+     * 时间范围游标分页，走idx_status_publish_id
+     */
+    @Query(FEED_SELECT + "FROM News n WHERE n.status = 'PUBLISHED' " +
+           "AND n.publishTime BETWEEN :startTime AND :endTime " +
+           "AND (n.publishTime < :publishTime OR (n.publishTime = :publishTime AND n.id < :afterId)) " +
+           "ORDER BY n.publishTime DESC, n.id DESC")
+    List<NewsFeedItem> findRangeFeedAfter(
+            @Param("startTime") LocalDateTime startTime,
+            @Param("endTime") LocalDateTime endTime,
+            @Param("publishTime") LocalDateTime publishTime,
+            @Param("afterId") Long afterId,
+            Pageable pageable);
+
+    /**
+     * 智能排序游标分页，走idx_status_hot_score_id
+     */
+    @Query(FEED_SELECT + "FROM News n WHERE n.status = 'PUBLISHED' " +
+           "AND (n.hotScore < :score OR (n.hotScore = :score AND n.id < :afterId)) " +
+           "ORDER BY n.hotScore DESC, n.id DESC")
+    List<NewsFeedItem> findSmartFeedAfter(
+            @Param("score") Double score,
+            @Param("afterId") Long afterId,
+            Pageable pageable);
+
+    /**
+     * 分类智能排序游标分页，走idx_category_status_hot_score_id
+     */
+    @Query(FEED_SELECT + "FROM News n WHERE n.categoryId = :categoryId AND n.status = 'PUBLISHED' " +
+           "AND (n.hotScore < :score OR (n.hotScore = :score AND n.id < :afterId)) " +
+           "ORDER BY n.hotScore DESC, n.id DESC")
+    List<NewsFeedItem> findCategorySmartFeedAfter(
+            @Param("categoryId") Long categoryId,
+            @Param("score") Double score,
+            @Param("afterId") Long afterId,
+            Pageable pageable);
+
     /**
      * 统计分类下的新闻数量
      */
@@ -0,0 +1,33 @@
+package com.news.repository;
+
+import com.news.model.entity.SummaryBatchJob;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * 批量摘要任务Repository
+ */
+@Repository
+public interface SummaryBatchJobRepository extends JpaRepository<SummaryBatchJob, Long> {
+
+    /**
+     * 根据状态查询
+     */
+    List<SummaryBatchJob> findByStatus(String status);
+
+    /**
+     * 是否存在指定状态的任务
+     */
+    boolean existsByStatusIn(Collection<String> statuses);
+
+    /**
+     * 查询最近的任务
+     */
+    @Query("SELECT j FROM SummaryBatchJob j ORDER BY j.createdAt DESC")
+    List<SummaryBatchJob> findLatestJobs(Pageable pageable);
+}
@@ -0,0 +1,28 @@
+package com.news.repository;
+
+import com.news.model.entity.SummaryCacheEntry;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+/**
+ * 摘要缓存Repository
+ */
+@Repository
+public interface SummaryCacheRepository extends JpaRepository<SummaryCacheEntry, String> {
+
+    /**
+     * 写入缓存，已存在时覆盖
+     */
+    @Modifying
+    @Query(value = "INSERT INTO summary_cache (prompt_hash, model_version, summary_content, created_at) " +
+                   "VALUES (:promptHash, :modelVersion, :summaryContent, NOW()) " +
+                   "ON DUPLICATE KEY UPDATE model_version = VALUES(model_version), " +
+                   "summary_content = VALUES(summary_content)",
+           nativeQuery = true)
+    int upsert(@Param("promptHash") String promptHash,
+               @Param("modelVersion") String modelVersion,
+               @Param("summaryContent") String summaryContent);
+}
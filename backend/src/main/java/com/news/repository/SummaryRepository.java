@@ -2,8 +2,12 @@ package com.news.repository;
 
 import com.news.model.entity.Summary;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -17,6 +21,17 @@ public interface SummaryRepository extends JpaRepository<Summary, Long> {
      */
     Optional<Summary> findByNewsId(Long newsId);
 
+    /**
+     * 批量查找摘要
+     */
+    List<Summary> findByNewsIdIn(Collection<Long> newsIds);
+
+    /**
+     * 查询一批新闻中已有摘要的新闻ID
+     */
+    @Query("SELECT s.newsId FROM Summary s WHERE s.newsId IN :newsIds")
+    List<Long> findNewsIdsWithSummary(@Param("newsIds") Collection<Long> newsIds);
+
     /**
      * 检查新闻是否已有摘要
      */
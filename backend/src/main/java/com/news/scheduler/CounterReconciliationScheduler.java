@@ -0,0 +1,27 @@
+package com.news.scheduler;
+
+import com.news.service.NewsCounterService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * 点赞数、评论数校正定时任务
+ * 按明细表重新统计并修复news表中的反范式计数
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class CounterReconciliationScheduler {
+
+    private final NewsCounterService newsCounterService;
+
+    @Scheduled(cron = "${counters.reconcile.cron:0 15 4 * * ?}")
+    public void reconcileCounters() {
+        long start = System.currentTimeMillis();
+        int repaired = newsCounterService.reconcile();
+        log.info("Counter reconciliation finished: {} rows repaired in {} ms",
+                repaired, System.currentTimeMillis() - start);
+    }
+}
@@ -4,6 +4,7 @@ import com.news.service.CrawlerService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
@@ -35,8 +36,13 @@ public class NewsCrawlerScheduler {
         }
 
         log.info("=== Scheduled crawl task started ===");
-        crawlerService.executeAllCrawlers(maxCountPerSource);
-        log.info("=== Scheduled crawl task completed ===");
+        try {
+            crawlerService.executeAllCrawlers(maxCountPerSource);
+        } catch (TaskRejectedException e) {
+            log.warn("Crawl executor saturated, scheduled crawl skipped");
+            return;
+        }
+        log.info("=== Scheduled crawl tasks submitted ===");
     }
 
     /**
@@ -49,8 +55,13 @@ public class NewsCrawlerScheduler {
         }
 
         log.info("=== Daily full crawl started ===");
-        crawlerService.executeAllCrawlers(50); // 每日任务爬取更多
-        log.info("=== Daily full crawl completed ===");
+        try {
+            crawlerService.executeAllCrawlers(50); // 每日任务爬取更多
+        } catch (TaskRejectedException e) {
+            log.warn("Crawl executor saturated, daily full crawl skipped");
+            return;
+        }
+        log.info("=== Daily full crawl tasks submitted ===");
     }
 }
 
@@ -0,0 +1,46 @@
+package com.news.scheduler;
+
+import com.news.service.NewsService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+
+/**
+ * 新闻热度排序定时任务
+ * 定期重新计算hot_score，使智能排序查询可以直接走索引
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class NewsRankingScheduler {
+
+    private final NewsService newsService;
+
+    @Value("${ranking.hot-score.active-window-days:30}")
+    private int activeWindowDays;
+
+    /**
+     * 增量刷新：只重新计算活跃窗口内发布的新闻，且只写入分值变化的行
+     * 较早的新闻衰减变化很小，交给每日全量刷新处理
+     */
+    @Scheduled(cron = "${ranking.hot-score.refresh-cron:0 */5 * * * ?}")
+    public void refreshActiveHotScores() {
+        LocalDateTime since = LocalDateTime.now().minusDays(activeWindowDays);
+        int updated = newsService.refreshHotScores(since);
+        log.info("Hot score refreshed for {} changed active news", updated);
+    }
+
+    /**
+     * 全量刷新：每天凌晨重新计算所有已发布新闻
+     */
+    @Scheduled(cron = "${ranking.hot-score.full-refresh-cron:0 30 3 * * ?}")
+    public void refreshAllHotScores() {
+        log.info("=== Full hot score refresh started ===");
+        int updated = newsService.refreshHotScores(null);
+        log.info("=== Full hot score refresh completed: {} news ===", updated);
+    }
+}
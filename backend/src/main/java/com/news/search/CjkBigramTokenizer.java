@@ -0,0 +1,110 @@
+package com.news.search;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 中日韩二元分词器
+ * 连续的CJK字符输出单字和相邻二元组，字母数字串小写后输出三元组（不足三个字符时输出整串），
+ * 其余字符作为分隔符。字母数字按三元组索引，查询"iphone"能命中"iPhone15"，与LIKE的子串匹配一致
+ */
+public final class CjkBigramTokenizer {
+
+    /** 字母数字串的切分长度 */
+    static final int LATIN_GRAM = 3;
+
+    private CjkBigramTokenizer() {
+    }
+
+    /**
+     * 索引分词：CJK串同时输出单字和二元组，保证单字查询也能命中
+     */
+    public static List<String> tokenizeForIndex(String text) {
+        return tokenize(text, true);
+    }
+
+    /**
+     * 查询分词：长度不小于2的CJK串只输出二元组，以二元组的交集近似短语匹配
+     */
+    public static List<String> tokenizeForQuery(String text) {
+        return tokenize(text, false);
+    }
+
+    private static List<String> tokenize(String text, boolean withUnigrams) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null || text.isEmpty()) {
+            return tokens;
+        }
+
+        int length = text.length();
+        int i = 0;
+        while (i < length) {
+            char c = text.charAt(i);
+            if (isCjk(c)) {
+                int start = i;
+                while (i < length && isCjk(text.charAt(i))) {
+                    i++;
+                }
+                emitCjkRun(text, start, i, withUnigrams, tokens);
+            } else if (Character.isLetterOrDigit(c)) {
+                int start = i;
+                while (i < length && Character.isLetterOrDigit(text.charAt(i)) && !isCjk(text.charAt(i))) {
+                    i++;
+                }
+                emitLatinRun(text.substring(start, i).toLowerCase(), tokens);
+            } else {
+                i++;
+            }
+        }
+        return tokens;
+    }
+
+    private static void emitCjkRun(String text, int start, int end, boolean withUnigrams, List<String> tokens) {
+        if (end - start == 1) {
+            tokens.add(text.substring(start, end));
+            return;
+        }
+        for (int j = start; j < end; j++) {
+            if (withUnigrams) {
+                tokens.add(text.substring(j, j + 1));
+            }
+            if (j + 1 < end) {
+                tokens.add(text.substring(j, j + 2));
+            }
+        }
+    }
+
+    private static void emitLatinRun(String run, List<String> tokens) {
+        if (run.length() < LATIN_GRAM) {
+            tokens.add(run);
+            return;
+        }
+        for (int j = 0; j + LATIN_GRAM <= run.length(); j++) {
+            tokens.add(run.substring(j, j + LATIN_GRAM));
+        }
+    }
+
+    /**
+     * 是否为字母数字词（而非CJK词）
+     */
+    static boolean isLatin(String term) {
+        return !isCjk(term.charAt(0));
+    }
+
+    /**
+     * 是否为短于三元组的字母数字查询词，这类词需要在词典中按子串展开
+     */
+    static boolean isShortLatin(String term) {
+        return term.length() < LATIN_GRAM && isLatin(term);
+    }
+
+    private static boolean isCjk(char c) {
+        Character.UnicodeBlock block = Character.UnicodeBlock.of(c);
+        return block == Character.UnicodeBlock.CJK_UNIFIED_IDEOGRAPHS
+                || block == Character.UnicodeBlock.CJK_UNIFIED_IDEOGRAPHS_EXTENSION_A
+                || block == Character.UnicodeBlock.CJK_COMPATIBILITY_IDEOGRAPHS
+                || block == Character.UnicodeBlock.HIRAGANA
+                || block == Character.UnicodeBlock.KATAKANA
+                || block == Character.UnicodeBlock.HANGUL_SYLLABLES;
+    }
+}
@@ -0,0 +1,211 @@
+package com.news.search;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 新闻内存倒排索引
+ * 标题、摘要、正文按不同权重计入词频（BM25F简化形式），检索时要求包含全部查询词并按BM25打分。
+ * 短于三元组的字母数字查询词在词典中展开为所有包含它的词，合并后的倒排表作为该查询词的命中
+ */
+public class NewsSearchIndex {
+
+    private static final int TITLE_WEIGHT = 3;
+    private static final int SUMMARY_WEIGHT = 2;
+    private static final int CONTENT_WEIGHT = 1;
+
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+
+    // 词 -> (新闻ID -> 加权词频)
+    private final Map<String, Map<Long, Integer>> postings = new HashMap<>();
+    private final Map<Long, IndexedDoc> docs = new HashMap<>();
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private long totalLength;
+
+    /**
+     * 添加或替换文档
+     */
+    public void upsert(Long newsId, String title, String summary, String content, LocalDateTime publishTime) {
+        Map<String, Integer> termFreqs = new HashMap<>();
+        int length = addTerms(termFreqs, title, TITLE_WEIGHT)
+                + addTerms(termFreqs, summary, SUMMARY_WEIGHT)
+                + addTerms(termFreqs, content, CONTENT_WEIGHT);
+
+        lock.writeLock().lock();
+        try {
+            removeInternal(newsId);
+            termFreqs.forEach((term, tf) ->
+                    postings.computeIfAbsent(term, t -> new HashMap<>()).put(newsId, tf));
+            docs.put(newsId, new IndexedDoc(termFreqs.keySet().toArray(new String[0]), length, publishTime));
+            totalLength += length;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 删除文档
+     */
+    public void remove(Long newsId) {
+        lock.writeLock().lock();
+        try {
+            removeInternal(newsId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 清空索引
+     */
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            docs.clear();
+            totalLength = 0;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 已索引文档数
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return docs.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 检索
+     *
+     * @param query  查询文本
+     * @param offset 结果偏移
+     * @param limit  返回数量
+     * @return 命中总数和当前页的新闻ID（按相关度降序，同分按发布时间降序）
+     */
+    public SearchHits search(String query, int offset, int limit) {
+        Set<String> terms = new LinkedHashSet<>(CjkBigramTokenizer.tokenizeForQuery(query));
+        if (terms.isEmpty()) {
+            return new SearchHits(0, List.of());
+        }
+
+        lock.readLock().lock();
+        try {
+            List<Map<Long, Integer>> termPostings = new ArrayList<>(terms.size());
+            for (String term : terms) {
+                Map<Long, Integer> list = CjkBigramTokenizer.isShortLatin(term) ? expand(term) : postings.get(term);
+                if (list == null || list.isEmpty()) {
+                    return new SearchHits(0, List.of());
+                }
+                termPostings.add(list);
+            }
+            // 从最短的倒排表开始求交集
+            termPostings.sort(Comparator.comparingInt(Map::size));
+
+            int docCount = docs.size();
+            double avgLength = docCount == 0 ? 1.0 : Math.max(1.0, (double) totalLength / docCount);
+
+            List<ScoredDoc> matched = new ArrayList<>();
+            for (Long newsId : termPostings.get(0).keySet()) {
+                IndexedDoc doc = docs.get(newsId);
+                double score = 0;
+                boolean allMatched = true;
+                for (Map<Long, Integer> list : termPostings) {
+                    Integer tf = list.get(newsId);
+                    if (tf == null) {
+                        allMatched = false;
+                        break;
+                    }
+                    score += bm25(tf, list.size(), docCount, doc.length(), avgLength);
+                }
+                if (allMatched) {
+                    matched.add(new ScoredDoc(newsId, score, doc.publishTime()));
+                }
+            }
+
+            matched.sort(Comparator.comparingDouble(ScoredDoc::score).reversed()
+                    .thenComparing(ScoredDoc::publishTime, Comparator.nullsLast(Comparator.reverseOrder())));
+
+            List<Long> page = new ArrayList<>();
+            for (int i = offset; i < matched.size() && page.size() < limit; i++) {
+                page.add(matched.get(i).newsId());
+            }
+            return new SearchHits(matched.size(), page);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 合并词典中所有包含该子串的字母数字词的倒排表（调用方持有读锁）
+     */
+    private Map<Long, Integer> expand(String fragment) {
+        Map<Long, Integer> merged = new HashMap<>();
+        postings.forEach((term, list) -> {
+            if (term.contains(fragment) && CjkBigramTokenizer.isLatin(term)) {
+                list.forEach((newsId, tf) -> merged.merge(newsId, tf, Integer::sum));
+            }
+        });
+        return merged;
+    }
+
+    private double bm25(int tf, int df, int docCount, int docLength, double avgLength) {
+        double idf = Math.log(1 + (docCount - df + 0.5) / (df + 0.5));
+        double norm = tf + K1 * (1 - B + B * docLength / avgLength);
+        return idf * tf * (K1 + 1) / norm;
+    }
+
+    private int addTerms(Map<String, Integer> termFreqs, String text, int weight) {
+        List<String> tokens = CjkBigramTokenizer.tokenizeForIndex(text);
+        for (String token : tokens) {
+            termFreqs.merge(token, weight, Integer::sum);
+        }
+        return tokens.size() * weight;
+    }
+
+    private void removeInternal(Long newsId) {
+        IndexedDoc existing = docs.remove(newsId);
+        if (existing == null) {
+            return;
+        }
+        for (String term : existing.terms()) {
+            Map<Long, Integer> list = postings.get(term);
+            if (list != null) {
+                list.remove(newsId);
+                if (list.isEmpty()) {
+                    postings.remove(term);
+                }
+            }
+        }
+        totalLength -= existing.length();
+    }
+
+    /**
+     * 检索结果
+     *
+     * @param total   命中总数
+     * @param newsIds 当前页新闻ID
+     */
+    public record SearchHits(long total, List<Long> newsIds) {
+    }
+
+    private record IndexedDoc(String[] terms, int length, LocalDateTime publishTime) {
+    }
+
+    private record ScoredDoc(Long newsId, double score, LocalDateTime publishTime) {
+    }
+}
@@ -0,0 +1,172 @@
+package com.news.search;
+
+import com.news.event.NewsBatchCreatedEvent;
+import com.news.event.NewsChangedEvent;
+import com.news.model.entity.News;
+import com.news.model.entity.Summary;
+import com.news.repository.NewsRepository;
+import com.news.repository.SummaryRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 新闻全文检索服务
+ * 启动时从数据库构建内存倒排索引，之后随新闻变更事件增量更新
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class NewsSearchService {
+
+    private static final String PUBLISHED = "PUBLISHED";
+
+    private final NewsRepository newsRepository;
+    private final SummaryRepository summaryRepository;
+    private final NewsSearchIndex index = new NewsSearchIndex();
+
+    @Value("${search.enabled:true}")
+    private boolean enabled;
+
+    @Value("${search.index.batch-size:500}")
+    private int batchSize;
+
+    private volatile boolean ready;
+
+    /**
+     * 索引是否已构建完成并可用
+     */
+    public boolean isReady() {
+        return enabled && ready;
+    }
+
+    /**
+     * 启动后异步构建索引
+     */
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        if (!enabled) {
+            log.info("Search index disabled, falling back to database LIKE search");
+            return;
+        }
+
+        long start = System.currentTimeMillis();
+        log.info("Building news search index...");
+        index.clear();
+
+        long lastId = 0L;
+        while (true) {
+            List<News> batch = newsRepository.findByStatusAndIdGreaterThanOrderByIdAsc(
+                    PUBLISHED, lastId, PageRequest.of(0, batchSize));
+            if (batch.isEmpty()) {
+                break;
+            }
+
+            Map<Long, String> summaries = loadSummaries(batch.stream().map(News::getId).toList());
+            for (News news : batch) {
+                index.upsert(news.getId(), news.getTitle(), summaries.get(news.getId()),
+                        news.getContent(), news.getPublishTime());
+            }
+            lastId = batch.get(batch.size() - 1).getId();
+        }
+
+        ready = true;
+        log.info("News search index built: {} documents in {} ms",
+                index.size(), System.currentTimeMillis() - start);
+    }
+
+    /**
+     * 新闻变更后（事务提交后）增量更新索引
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onNewsChanged(NewsChangedEvent event) {
+        if (!enabled) {
+            return;
+        }
+        News news = event.news();
+        if (event.type() == NewsChangedEvent.ChangeType.DELETED
+                || news == null
+                || !PUBLISHED.equals(news.getStatus())) {
+            index.remove(event.newsId());
+            return;
+        }
+        String summary = loadSummaries(List.of(news.getId())).get(news.getId());
+        index.upsert(news.getId(), news.getTitle(), summary, news.getContent(), news.getPublishTime());
+        log.debug("Search index updated for news: {}", news.getId());
+    }
+
+    /**
+     * 批量入库后（事务提交后）整批加入索引
+     * 新写入的新闻还没有摘要，无需查询；摘要生成后经reindex补入
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onNewsBatchCreated(NewsBatchCreatedEvent event) {
+        if (!enabled) {
+            return;
+        }
+        for (News news : event.news()) {
+            if (PUBLISHED.equals(news.getStatus())) {
+                index.upsert(news.getId(), news.getTitle(), null, news.getContent(), news.getPublishTime());
+            }
+        }
+        log.debug("Search index updated for {} new news", event.news().size());
+    }
+
+    /**
+     * 重新索引单篇新闻（摘要更新后调用）
+     */
+    public void reindex(Long newsId) {
+        if (!enabled) {
+            return;
+        }
+        newsRepository.findById(newsId).ifPresentOrElse(
+                news -> onNewsChanged(NewsChangedEvent.updated(news)),
+                () -> index.remove(newsId));
+    }
+
+    /**
+     * 检索已发布新闻
+     */
+    public Page<News> search(String keyword, Pageable pageable) {
+        NewsSearchIndex.SearchHits hits = index.search(
+                keyword, (int) pageable.getOffset(), pageable.getPageSize());
+        if (hits.newsIds().isEmpty()) {
+            return new PageImpl<>(List.of(), pageable, hits.total());
+        }
+
+        Map<Long, News> loaded = newsRepository.findAllById(hits.newsIds()).stream()
+                .collect(Collectors.toMap(News::getId, Function.identity()));
+
+        // 按相关度顺序返回
+        List<News> content = new ArrayList<>(hits.newsIds().size());
+        for (Long id : hits.newsIds()) {
+            News news = loaded.get(id);
+            if (news != null) {
+                content.add(news);
+            }
+        }
+        return new PageImpl<>(content, pageable, hits.total());
+    }
+
+    private Map<Long, String> loadSummaries(List<Long> newsIds) {
+        return summaryRepository.findByNewsIdIn(newsIds).stream()
+                .filter(summary -> "SUCCESS".equals(summary.getStatus()))
+                .collect(Collectors.toMap(Summary::getNewsId, Summary::getSummaryContent, (a, b) -> a));
+    }
+}
@@ -47,6 +47,17 @@ public class CustomUserDetailsService implements UserDetailsService {
             this.user = user;
         }
 
+        /**
+         * 由Token声明构建（不查询数据库，不含密码等其他字段）
+         */
+        public static CustomUserDetails fromClaims(Long userId, String username, String role) {
+            return new CustomUserDetails(User.builder()
+                    .id(userId)
+                    .username(username)
+                    .role(role)
+                    .build());
+        }
+
         @Override
         public Collection<? extends GrantedAuthority> getAuthorities() {
             // 角色需要加ROLE_前缀
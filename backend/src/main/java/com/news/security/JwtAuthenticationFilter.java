@@ -1,5 +1,6 @@
 package com.news.security;
 
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -19,7 +20,7 @@ import java.io.IOException;
 
 /**
  * JWT认证过滤器
- * 拦截每个请求，验证JWT Token并设置认证信息
+ * 拦截每个请求，验证JWT Token并设置认证信息；已吊销的Token不予认证
  */
 @Slf4j
 @Component
@@ -28,6 +29,8 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtTokenProvider jwtTokenProvider;
     private final UserDetailsService userDetailsService;
+    private final PrincipalCache principalCache;
+    private final TokenRevocationStore revocationStore;
 
     private static final String AUTHORIZATION_HEADER = "Authorization";
     private static final String BEARER_PREFIX = "Bearer ";
@@ -42,43 +45,36 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             // 从请求中提取JWT Token
             String jwt = extractJwtFromRequest(request);
 
-            // 验证Token并设置认证信息
-            if (StringUtils.hasText(jwt) 
-                    && jwtTokenProvider.isValidTokenFormat(jwt)) {
+            // 一次解析完成签名和有效期校验
+            Claims claims = StringUtils.hasText(jwt) ? jwtTokenProvider.parseClaims(jwt) : null;
+
+            if (claims != null
+                    && !jwtTokenProvider.isRefreshToken(claims)
+                    && !revocationStore.isRevoked(claims.getId())
+                    && SecurityContextHolder.getContext()
+                        .getAuthentication() == null) {
+
+                UserDetails userDetails = resolvePrincipal(claims);
+
+                // 创建认证对象
+                UsernamePasswordAuthenticationToken authentication = 
+                    new UsernamePasswordAuthenticationToken(
+                        userDetails,
+                        null,
+                        userDetails.getAuthorities()
+                    );
                 
-                String username = jwtTokenProvider.extractUsername(jwt);
-
-                if (username != null 
-                        && SecurityContextHolder.getContext()
-                            .getAuthentication() == null) {
-                    
-                    // 加载用户详情
-                    UserDetails userDetails = 
-                        userDetailsService.loadUserByUsername(username);
-
-                    // 验证Token
-                    if (jwtTokenProvider.validateToken(jwt, userDetails)) {
-                        // 创建认证对象
-                        UsernamePasswordAuthenticationToken authentication = 
-                            new UsernamePasswordAuthenticationToken(
-                                userDetails,
-                                null,
-                                userDetails.getAuthorities()
-                            );
-                        
-                        authentication.setDetails(
-                            new WebAuthenticationDetailsSource()
-                                .buildDetails(request)
-                        );
-
-                        // 设置到SecurityContext
-                        SecurityContextHolder.getContext()
-                            .setAuthentication(authentication);
-                        
-                        log.debug("JWT authentication successful for user: {}", 
-                                username);
-                    }
-                }
+                authentication.setDetails(
+                    new WebAuthenticationDetailsSource()
+                        .buildDetails(request)
+                );
+
+                // 设置到SecurityContext
+                SecurityContextHolder.getContext()
+                    .setAuthentication(authentication);
+                
+                log.debug("JWT authentication successful for user: {}", 
+                        claims.getSubject());
             }
         } catch (Exception ex) {
             log.error("Could not set user authentication in security context", 
@@ -88,6 +84,30 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, response);
     }
 
+    /**
+     * 解析认证主体
+     * Token携带用户ID和角色时直接构建；启用主体缓存或旧版Token时从数据库加载
+     */
+    private UserDetails resolvePrincipal(Claims claims) {
+        String username = claims.getSubject();
+        Long userId = claims.get(JwtTokenProvider.CLAIM_USER_ID, Long.class);
+        String role = claims.get(JwtTokenProvider.CLAIM_ROLE, String.class);
+
+        if (!principalCache.isEnabled() && userId != null && role != null) {
+            return CustomUserDetailsService.CustomUserDetails.fromClaims(userId, username, role);
+        }
+
+        UserDetails cached = principalCache.isEnabled() ? principalCache.get(username) : null;
+        if (cached != null) {
+            return cached;
+        }
+        UserDetails loaded = userDetailsService.loadUserByUsername(username);
+        if (principalCache.isEnabled()) {
+            principalCache.put(username, loaded);
+        }
+        return loaded;
+    }
+
     /**
      * 从请求头中提取JWT Token
      */
@@ -1,8 +1,8 @@
 package com.news.security;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.Authentication;
@@ -14,33 +14,59 @@ import java.nio.charset.StandardCharsets;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.UUID;
 
 /**
  * JWT Token提供者
  * 负责生成、验证和解析JWT Token
+ * 签名密钥和解析器在启动时构建一次；访问Token携带用户ID和角色，认证时无需查询数据库
+ * 每个Token带有唯一ID（jti），用于吊销
  */
 @Component
 public class JwtTokenProvider {
 
-    @Value("${jwt.secret}")
-    private String jwtSecret;
-
-    @Value("${jwt.expiration}")
-    private long jwtExpiration;
-
-    @Value("${jwt.refresh-expiration}")
-    private long refreshExpiration;
+    public static final String CLAIM_USER_ID = "uid";
+    public static final String CLAIM_ROLE = "role";
+    public static final String CLAIM_TYPE = "type";
+    public static final String TYPE_REFRESH = "refresh";
+
+    private final long jwtExpiration;
+    private final long refreshExpiration;
+    private final SecretKey signingKey;
+    private final JwtParser parser;
+
+    public JwtTokenProvider(@Value("${jwt.secret}") String jwtSecret,
+                            @Value("${jwt.expiration}") long jwtExpiration,
+                            @Value("${jwt.refresh-expiration}") long refreshExpiration) {
+        this.jwtExpiration = jwtExpiration;
+        this.refreshExpiration = refreshExpiration;
+        this.signingKey = Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
+        this.parser = Jwts.parser().verifyWith(signingKey).build();
+    }
 
     /**
      * 从认证信息生成JWT Token
      */
     public String generateToken(Authentication authentication) {
         UserDetails userDetails = (UserDetails) authentication.getPrincipal();
+        if (userDetails instanceof CustomUserDetailsService.CustomUserDetails details) {
+            return generateToken(details.getUserId(), details.getUsername(), details.getRole());
+        }
         return generateToken(userDetails.getUsername());
     }
 
     /**
-     * 从用户名生成JWT Token
+     * 生成携带用户ID和角色的访问Token
+     */
+    public String generateToken(Long userId, String username, String role) {
+        Map<String, Object> claims = new HashMap<>();
+        claims.put(CLAIM_USER_ID, userId);
+        claims.put(CLAIM_ROLE, role);
+        return createToken(claims, username, jwtExpiration);
+    }
+
+    /**
+     * 从用户名生成JWT Token（不含用户ID和角色，认证时需查询数据库）
      */
     public String generateToken(String username) {
         Map<String, Object> claims = new HashMap<>();
@@ -52,27 +78,48 @@ public class JwtTokenProvider {
      */
     public String generateRefreshToken(String username) {
         Map<String, Object> claims = new HashMap<>();
-        claims.put("type", "refresh");
+        claims.put(CLAIM_TYPE, TYPE_REFRESH);
         return createToken(claims, username, refreshExpiration);
     }
 
     /**
      * 创建Token
      */
-    private String createToken(Map<String, Object> claims, String subject, 
+    private String createToken(Map<String, Object> claims, String subject,
                                long expiration) {
         Date now = new Date();
         Date expiryDate = new Date(now.getTime() + expiration);
 
         return Jwts.builder()
-                .setClaims(claims)
-                .setSubject(subject)
-                .setIssuedAt(now)
-                .setExpiration(expiryDate)
-                .signWith(getSigningKey(), SignatureAlgorithm.HS256)
+                .claims(claims)
+                .id(UUID.randomUUID().toString())
+                .subject(subject)
+                .issuedAt(now)
+                .expiration(expiryDate)
+                .signWith(signingKey, Jwts.SIG.HS256)
                 .compact();
     }
 
+    /**
+     * 验证签名和有效期并返回声明（只解析一次）
+     *
+     * @return 声明，Token无效或已过期时返回null
+     */
+    public Claims parseClaims(String token) {
+        try {
+            return parser.parseSignedClaims(token).getPayload();
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    /**
+     * 是否为刷新Token
+     */
+    public boolean isRefreshToken(Claims claims) {
+        return TYPE_REFRESH.equals(claims.get(CLAIM_TYPE, String.class));
+    }
+
     /**
      * 从Token中获取用户名
      */
@@ -93,62 +140,29 @@ public class JwtTokenProvider {
      * 获取Token的所有声明
      */
     private Claims getAllClaimsFromToken(String token) {
-        return Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+        return parser.parseSignedClaims(token).getPayload();
     }
 
     /**
      * 验证Token是否有效
      */
     public boolean validateToken(String token, UserDetails userDetails) {
-        final String username = getUsernameFromToken(token);
-        return (username.equals(userDetails.getUsername()) 
-                && !isTokenExpired(token));
-    }
-
-    /**
-     * 检查Token是否过期
-     */
-    private boolean isTokenExpired(String token) {
-        Date expiration = getExpirationDateFromToken(token);
-        return expiration.before(new Date());
-    }
-
-    /**
-     * 获取签名密钥
-     */
-    private SecretKey getSigningKey() {
-        byte[] keyBytes = jwtSecret.getBytes(StandardCharsets.UTF_8);
-        return Keys.hmacShaKeyFor(keyBytes);
+        Claims claims = parseClaims(token);
+        return claims != null && userDetails.getUsername().equals(claims.getSubject());
     }
 
     /**
      * 从Token中提取用户名（不验证）
      */
     public String extractUsername(String token) {
-        try {
-            return getUsernameFromToken(token);
-        } catch (Exception e) {
-            return null;
-        }
+        Claims claims = parseClaims(token);
+        return claims != null ? claims.getSubject() : null;
     }
 
     /**
      * 验证Token格式
      */
     public boolean isValidTokenFormat(String token) {
-        try {
-            Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token);
-            return true;
-        } catch (Exception e) {
-            return false;
-        }
+        return parseClaims(token) != null;
     }
 }
-
@@ -0,0 +1,71 @@
+package com.news.security;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 认证主体缓存
+ * 启用后按用户名缓存从数据库加载的用户详情，过期后重新加载，
+ * 使删除用户或变更角色在TTL内生效；未启用时直接信任Token中的声明
+ */
+@Component
+public class PrincipalCache {
+
+    private final ConcurrentHashMap<String, Entry> entries = new ConcurrentHashMap<>();
+
+    @Value("${jwt.principal-cache.enabled:false}")
+    private boolean enabled;
+
+    @Value("${jwt.principal-cache.ttl:60000}")
+    private long ttlMillis;
+
+    @Value("${jwt.principal-cache.max-size:10000}")
+    private int maxSize;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * 获取未过期的缓存主体
+     */
+    public UserDetails get(String username) {
+        Entry entry = entries.get(username);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.expiresAtNanos - System.nanoTime() <= 0) {
+            entries.remove(username, entry);
+            return null;
+        }
+        return entry.userDetails;
+    }
+
+    /**
+     * 缓存主体；达到容量上限时先清理过期条目，仍已满则不缓存
+     */
+    public void put(String username, UserDetails userDetails) {
+        if (entries.size() >= maxSize) {
+            long now = System.nanoTime();
+            entries.values().removeIf(entry -> entry.expiresAtNanos - now <= 0);
+            if (entries.size() >= maxSize) {
+                return;
+            }
+        }
+        entries.put(username, new Entry(userDetails, System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(ttlMillis)));
+    }
+
+    /**
+     * 使指定用户的缓存失效
+     */
+    public void evict(String username) {
+        entries.remove(username);
+    }
+
+    private record Entry(UserDetails userDetails, long expiresAtNanos) {
+    }
+}
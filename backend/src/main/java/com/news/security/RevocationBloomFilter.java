@@ -0,0 +1,79 @@
+package com.news.security;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 已吊销Token ID的布隆过滤器
+ * 无锁并发写入；判定不存在时一定未吊销，判定存在时需回查Redis
+ */
+class RevocationBloomFilter {
+
+    private final AtomicLongArray bits;
+    private final long bitCount;
+    private final int hashCount;
+
+    /**
+     * @param expectedInsertions 预期元素数
+     * @param falsePositiveRate 期望误判率
+     */
+    RevocationBloomFilter(long expectedInsertions, double falsePositiveRate) {
+        long n = Math.max(1, expectedInsertions);
+        double p = Math.min(Math.max(falsePositiveRate, 1e-9), 0.5);
+        long m = (long) Math.ceil(-n * Math.log(p) / (Math.log(2) * Math.log(2)));
+        int words = (int) Math.min(Integer.MAX_VALUE, (m + 63) / 64);
+        this.bits = new AtomicLongArray(words);
+        this.bitCount = (long) words * 64;
+        this.hashCount = Math.max(1, (int) Math.round((double) bitCount / n * Math.log(2)));
+    }
+
+    void put(String value) {
+        long[] hashes = hash(value);
+        for (int i = 0; i < hashCount; i++) {
+            long index = bitIndex(hashes, i);
+            int word = (int) (index >>> 6);
+            long mask = 1L << index;
+            long current;
+            do {
+                current = bits.get(word);
+                if ((current & mask) != 0) {
+                    break;
+                }
+            } while (!bits.compareAndSet(word, current, current | mask));
+        }
+    }
+
+    boolean mightContain(String value) {
+        long[] hashes = hash(value);
+        for (int i = 0; i < hashCount; i++) {
+            long index = bitIndex(hashes, i);
+            if ((bits.get((int) (index >>> 6)) & (1L << index)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private long bitIndex(long[] hashes, int i) {
+        // 双重哈希：h1 + i*h2
+        return Math.floorMod(hashes[0] + i * hashes[1], bitCount);
+    }
+
+    /**
+     * 64位FNV-1a后分别经两种混合函数得到两个独立哈希
+     */
+    private static long[] hash(String value) {
+        long h = 0xcbf29ce484222325L;
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            h ^= b;
+            h *= 0x100000001b3L;
+        }
+        return new long[]{mix(h), mix(h ^ 0x9e3779b97f4a7c15L) | 1};
+    }
+
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,155 @@
+package com.news.security;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Date;
+
+/**
+ * Token吊销存储
+ * 以Token的jti为键记录在Redis中，过期时间与Token剩余有效期一致；
+ * 本地布隆过滤器作为前置判断，未命中时无需访问Redis。
+ * 其他节点的吊销通过发布订阅同步到本地过滤器，并定期从Redis全量重建以弥补丢失的消息
+ */
+@Slf4j
+@Component
+public class TokenRevocationStore {
+
+    private static final String KEY_PREFIX = "auth:revoked:";
+    private static final String CHANNEL = "auth:revoked";
+
+    private final StringRedisTemplate redisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+    private final long expectedInsertions;
+    private final double falsePositiveRate;
+
+    private volatile RevocationBloomFilter filter;
+    // 重建期间的新过滤器，吊销同时写入，避免重建过程中丢失
+    private volatile RevocationBloomFilter building;
+
+    public TokenRevocationStore(StringRedisTemplate redisTemplate,
+                                RedisMessageListenerContainer listenerContainer,
+                                @Value("${jwt.revocation.bloom.expected-insertions:100000}") long expectedInsertions,
+                                @Value("${jwt.revocation.bloom.false-positive-rate:0.001}") double falsePositiveRate) {
+        this.redisTemplate = redisTemplate;
+        this.listenerContainer = listenerContainer;
+        this.expectedInsertions = expectedInsertions;
+        this.falsePositiveRate = falsePositiveRate;
+        this.filter = new RevocationBloomFilter(expectedInsertions, falsePositiveRate);
+    }
+
+    @PostConstruct
+    public void subscribe() {
+        listenerContainer.addMessageListener(
+                (message, pattern) -> addLocal(new String(message.getBody(), StandardCharsets.UTF_8)),
+                new ChannelTopic(CHANNEL));
+    }
+
+    /**
+     * 吊销Token
+     *
+     * @param jti Token ID
+     * @param expiresAt Token过期时间，吊销记录在此之后自动删除
+     */
+    public void revoke(String jti, Date expiresAt) {
+        Duration ttl = remaining(expiresAt);
+        if (jti == null || ttl == null) {
+            return;
+        }
+        redisTemplate.opsForValue().set(KEY_PREFIX + jti, "1", ttl);
+        announce(jti);
+    }
+
+    /**
+     * 仅在尚未吊销时吊销Token（原子操作），用于刷新Token的一次性使用
+     *
+     * @return 本次调用完成吊销时返回true；已被吊销或已过期时返回false
+     */
+    public boolean revokeIfAbsent(String jti, Date expiresAt) {
+        Duration ttl = remaining(expiresAt);
+        if (jti == null || ttl == null) {
+            return false;
+        }
+        Boolean created = redisTemplate.opsForValue().setIfAbsent(KEY_PREFIX + jti, "1", ttl);
+        if (!Boolean.TRUE.equals(created)) {
+            return false;
+        }
+        announce(jti);
+        return true;
+    }
+
+    /**
+     * Token是否已吊销
+     * 本地过滤器未命中直接返回false；命中时回查Redis，Redis不可用时按已吊销处理
+     */
+    public boolean isRevoked(String jti) {
+        if (jti == null || !filter.mightContain(jti)) {
+            return false;
+        }
+        try {
+            return Boolean.TRUE.equals(redisTemplate.hasKey(KEY_PREFIX + jti));
+        } catch (Exception e) {
+            log.warn("Revocation lookup failed for jti {}, rejecting token: {}", jti, e.getMessage());
+            return true;
+        }
+    }
+
+    /**
+     * 从Redis重建本地过滤器，过期的吊销记录随之清除
+     */
+    @Scheduled(fixedDelayString = "${jwt.revocation.rebuild-interval:300000}")
+    public void rebuild() {
+        RevocationBloomFilter rebuilt = new RevocationBloomFilter(expectedInsertions, falsePositiveRate);
+        building = rebuilt;
+        int count = 0;
+        try (Cursor<String> keys = redisTemplate.scan(
+                ScanOptions.scanOptions().match(KEY_PREFIX + "*").count(1000).build())) {
+            while (keys.hasNext()) {
+                rebuilt.put(keys.next().substring(KEY_PREFIX.length()));
+                count++;
+            }
+            filter = rebuilt;
+            log.debug("Revocation filter rebuilt with {} entries", count);
+        } catch (Exception e) {
+            log.warn("Failed to rebuild revocation filter, keeping current one: {}", e.getMessage());
+        } finally {
+            building = null;
+        }
+    }
+
+    private void announce(String jti) {
+        addLocal(jti);
+        try {
+            redisTemplate.convertAndSend(CHANNEL, jti);
+        } catch (Exception e) {
+            // 其他节点将在下次重建时同步
+            log.warn("Failed to publish revocation of jti {}: {}", jti, e.getMessage());
+        }
+    }
+
+    private void addLocal(String jti) {
+        filter.put(jti);
+        RevocationBloomFilter pending = building;
+        if (pending != null) {
+            pending.put(jti);
+        }
+    }
+
+    private static Duration remaining(Date expiresAt) {
+        if (expiresAt == null) {
+            return null;
+        }
+        long millis = expiresAt.getTime() - System.currentTimeMillis();
+        return millis > 0 ? Duration.ofMillis(millis) : null;
+    }
+}
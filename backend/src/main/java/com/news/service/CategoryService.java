@@ -1,11 +1,16 @@
 package com.news.service;
 
+import com.news.config.CacheNames;
+import com.news.event.CategoryChangedEvent;
 import com.news.exception.BusinessException;
 import com.news.exception.ResourceNotFoundException;
 import com.news.model.entity.Category;
 import com.news.repository.CategoryRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -20,10 +25,12 @@ import java.util.List;
 public class CategoryService {
 
     private final CategoryRepository categoryRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * 创建分类
      */
+    @CacheEvict(cacheNames = CacheNames.CATEGORIES, allEntries = true)
     @Transactional
     public Category createCategory(Category category) {
         log.info("Creating category: {}", category.getName());
@@ -34,6 +41,7 @@ public class CategoryService {
         }
 
         Category saved = categoryRepository.save(category);
+        eventPublisher.publishEvent(new CategoryChangedEvent(saved.getId()));
         log.info("Category created successfully with ID: {}", saved.getId());
         return saved;
     }
@@ -41,6 +49,7 @@ public class CategoryService {
     /**
      * 更新分类
      */
+    @CacheEvict(cacheNames = CacheNames.CATEGORIES, allEntries = true)
     @Transactional
     public Category updateCategory(Long id, Category category) {
         log.info("Updating category with ID: {}", id);
@@ -59,6 +68,7 @@ public class CategoryService {
         existing.setDescription(category.getDescription());
 
         Category updated = categoryRepository.save(existing);
+        eventPublisher.publishEvent(new CategoryChangedEvent(id));
         log.info("Category updated successfully: {}", id);
         return updated;
     }
@@ -66,6 +76,7 @@ public class CategoryService {
     /**
      * 删除分类
      */
+    @CacheEvict(cacheNames = CacheNames.CATEGORIES, allEntries = true)
     @Transactional
     public void deleteCategory(Long id) {
         log.info("Deleting category with ID: {}", id);
@@ -76,6 +87,7 @@ public class CategoryService {
 
         // 注意：实际应用中应检查该分类下是否有新闻，有则不允许删除
         categoryRepository.deleteById(id);
+        eventPublisher.publishEvent(new CategoryChangedEvent(id));
         log.info("Category deleted successfully: {}", id);
     }
 
@@ -98,6 +110,7 @@ public class CategoryService {
     /**
      * 获取所有分类
      */
+    @Cacheable(cacheNames = CacheNames.CATEGORIES, key = "'all'")
     public List<Category> getAllCategories() {
         return categoryRepository.findAll();
     }
@@ -1,36 +1,49 @@
 package com.news.service;
 
-import com.news.model.entity.ClassificationRule;
+import com.news.classification.ClassificationSnapshot;
+import com.news.event.CategoryChangedEvent;
+import com.news.event.ClassificationRulesChangedEvent;
 import com.news.model.entity.News;
 import com.news.repository.CategoryRepository;
 import com.news.repository.ClassificationRuleRepository;
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
 
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
 
 /**
  * 自动分类服务
  * 实现来源规则 + 关键词匹配的混合分类策略
+ * 分类和规则加载为不可变快照，分类过程不访问数据库；分类或规则变更后重建快照
  */
 @Service
-@RequiredArgsConstructor
 @Slf4j
 public class ClassificationService {
 
     private final ClassificationRuleRepository ruleRepository;
     private final CategoryRepository categoryRepository;
 
-    // 来源预设规则映射：来源 -> 默认分类名称
-    private static final Map<String, String> SOURCE_DEFAULT_CATEGORY = new HashMap<>();
-    
-    static {
-        SOURCE_DEFAULT_CATEGORY.put("SINA", "社会");
-        SOURCE_DEFAULT_CATEGORY.put("CCTV", "政治");
-        SOURCE_DEFAULT_CATEGORY.put("NETEASE", "科技");
+    private final Counter sourceCounter;
+    private final Counter keywordCounter;
+    private final Counter defaultCounter;
+
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+    private final AtomicLong versionSequence = new AtomicLong();
+    private volatile ClassificationSnapshot snapshot;
+
+    public ClassificationService(ClassificationRuleRepository ruleRepository,
+                                 CategoryRepository categoryRepository,
+                                 MeterRegistry meterRegistry) {
+        this.ruleRepository = ruleRepository;
+        this.categoryRepository = categoryRepository;
+        this.sourceCounter = classificationCounter(meterRegistry, "source");
+        this.keywordCounter = classificationCounter(meterRegistry, "keyword");
+        this.defaultCounter = classificationCounter(meterRegistry, "default");
     }
 
     /**
@@ -38,83 +51,102 @@ public class ClassificationService {
      * 策略：1. 优先使用来源预设规则  2. 使用关键词匹配  3. 默认分类
      */
     public Long classifyNews(News news) {
+        return classify(snapshot(), news);
+    }
+
+    /**
+     * 批量分类新闻
+     * 整批使用同一份规则快照
+     */
+    public void classifyNewsBatch(List<News> newsList) {
+        ClassificationSnapshot current = snapshot();
+        for (News news : newsList) {
+            if (news.getCategoryId() == null) {
+                news.setCategoryId(classify(current, news));
+            }
+        }
+        log.info("Batch classified {} news with rule snapshot v{}", newsList.size(), current.getVersion());
+    }
+
+    private Long classify(ClassificationSnapshot current, News news) {
         log.info("Auto-classifying news: {}", news.getTitle());
 
         // 策略1：来源预设规则
-        Long categoryId = classifyBySource(news.getSourceWebsite());
+        Long categoryId = current.classifyBySource(news.getSourceWebsite());
         if (categoryId != null) {
+            sourceCounter.increment();
             log.info("Classified by source rule: {} -> categoryId {}", news.getSourceWebsite(), categoryId);
             return categoryId;
         }
 
         // 策略2：关键词匹配规则
-        categoryId = classifyByKeywords(news.getTitle(), news.getContent());
+        categoryId = current.classifyByKeywords(news.getTitle(), news.getContent());
         if (categoryId != null) {
+            keywordCounter.increment();
             log.info("Classified by keyword rule: {} -> categoryId {}", news.getTitle(), categoryId);
             return categoryId;
         }
 
         // 策略3：默认分类（社会）
-        Long defaultCategoryId = categoryRepository.findByName("社会")
-                .map(cat -> cat.getId())
-                .orElse(1L); // 如果找不到"社会"分类，使用ID=1
-        
-        log.info("Using default category: {}", defaultCategoryId);
-        return defaultCategoryId;
+        defaultCounter.increment();
+        log.info("Using default category: {}", current.getDefaultCategoryId());
+        return current.getDefaultCategoryId();
     }
 
     /**
-     * 根据来源分类
+     * 规则变更后重建快照
      */
-    private Long classifyBySource(String sourceWebsite) {
-        String defaultCategoryName = SOURCE_DEFAULT_CATEGORY.get(sourceWebsite);
-        if (defaultCategoryName != null) {
-            return categoryRepository.findByName(defaultCategoryName)
-                    .map(cat -> cat.getId())
-                    .orElse(null);
-        }
-        return null;
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRulesChanged(ClassificationRulesChangedEvent event) {
+        log.info("Classification rules changed (ruleId={}), rebuilding snapshot", event.ruleId());
+        rebuildSnapshot();
     }
 
     /**
-     * 根据关键词匹配分类
+     * 分类变更后重建快照（来源规则和默认分类依赖分类ID）
      */
-    private Long classifyByKeywords(String title, String content) {
-        // 获取所有启用的关键词规则，按优先级排序
-        List<ClassificationRule> rules = ruleRepository
-                .findByRuleTypeAndIsEnabledOrderByPriorityAsc("KEYWORD", true);
-
-        String text = (title + " " + content).toLowerCase();
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCategoryChanged(CategoryChangedEvent event) {
+        log.info("Category changed (categoryId={}), rebuilding classification snapshot", event.categoryId());
+        rebuildSnapshot();
+    }
 
-        for (ClassificationRule rule : rules) {
-            // rule.keywords 格式：关键词1,关键词2,关键词3
-            if (rule.getKeywords() == null || rule.getKeywords().isEmpty()) {
-                continue;
-            }
-            
-            String[] keywordArray = rule.getKeywords().split(",");
-            
-            for (String keyword : keywordArray) {
-                if (text.contains(keyword.trim().toLowerCase())) {
-                    log.info("Matched keyword '{}' for categoryId {}", keyword.trim(), rule.getTargetCategoryId());
-                    return rule.getTargetCategoryId();
-                }
-            }
-        }
+    /**
+     * 当前快照版本号
+     */
+    public long getSnapshotVersion() {
+        return snapshot().getVersion();
+    }
 
-        return null;
+    private ClassificationSnapshot snapshot() {
+        ClassificationSnapshot current = snapshot;
+        return current != null ? current : rebuildSnapshot();
     }
 
     /**
-     * 批量分类新闻
+     * 加载分类和启用的规则并构建快照，构建完成后整体替换
      */
-    public void classifyNewsBatch(List<News> newsList) {
-        for (News news : newsList) {
-            if (news.getCategoryId() == null) {
-                Long categoryId = classifyNews(news);
-                news.setCategoryId(categoryId);
-            }
+    private ClassificationSnapshot rebuildSnapshot() {
+        rebuildLock.lock();
+        try {
+            ClassificationSnapshot rebuilt = ClassificationSnapshot.build(
+                    versionSequence.incrementAndGet(),
+                    categoryRepository.findAll(),
+                    ruleRepository.findAllEnabledRulesOrderByPriority());
+            snapshot = rebuilt;
+            log.info("Classification snapshot v{} loaded: {} source rules, {} keywords, default categoryId {}",
+                    rebuilt.getVersion(), rebuilt.getSourceRuleCount(), rebuilt.getKeywordCount(),
+                    rebuilt.getDefaultCategoryId());
+            return rebuilt;
+        } finally {
+            rebuildLock.unlock();
         }
     }
-}
 
+    private static Counter classificationCounter(MeterRegistry meterRegistry, String strategy) {
+        return Counter.builder("news.classification")
+                .description("按策略统计的自动分类次数")
+                .tag("strategy", strategy)
+                .register(meterRegistry);
+    }
+}
@@ -1,19 +1,26 @@
 package com.news.service;
 
+import com.news.event.CommentChangedEvent;
 import com.news.exception.ResourceNotFoundException;
+import com.news.model.dto.CursorSlice;
+import com.news.model.dto.FeedCursor;
 import com.news.model.entity.Comment;
-import com.news.model.entity.User;
 import com.news.repository.CommentRepository;
-import com.news.repository.NewsRepository;
 import com.news.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.IntFunction;
+import java.util.stream.Collectors;
 
 /**
  * 评论服务
@@ -23,9 +30,16 @@ import java.util.List;
 @Slf4j
 public class CommentService {
 
+    private static final String APPROVED = "APPROVED";
+    private static final int MAX_PAGE_SIZE = 100;
+
     private final CommentRepository commentRepository;
-    private final NewsRepository newsRepository;
     private final UserRepository userRepository;
+    private final NewsCounterService newsCounterService;
+    private final HotNewsLeaderboard hotNewsLeaderboard;
+    private final UserNameCache userNameCache;
+    private final CommentThreadCache commentThreadCache;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * 创建评论
@@ -34,50 +48,68 @@ public class CommentService {
     public Comment createComment(Long newsId, Long userId, String content) {
         log.info("Creating comment for news: {}, user: {}", newsId, userId);
 
-        // 验证新闻是否存在
-        if (!newsRepository.existsById(newsId)) {
-            throw new ResourceNotFoundException("新闻不存在，ID: " + newsId);
-        }
-
         // 验证用户是否存在
         if (!userRepository.existsById(userId)) {
             throw new ResourceNotFoundException("用户不存在，ID: " + userId);
         }
 
+        // 原子增加评论数，同时校验新闻存在
+        newsCounterService.adjustComments(newsId, 1);
+
         Comment comment = Comment.builder()
                 .newsId(newsId)
                 .userId(userId)
                 .content(content)
-                .status("APPROVED") // 默认审核通过
+                .status(APPROVED) // 默认审核通过
                 .build();
 
         Comment saved = commentRepository.save(comment);
+        hotNewsLeaderboard.recordComment(newsId, 1);
+        fillUsernames(List.of(saved));
+        eventPublisher.publishEvent(CommentChangedEvent.created(saved));
         log.info("Comment created successfully: {}", saved.getId());
         
         return saved;
     }
 
     /**
-     * 获取新闻的评论列表（带用户信息）
+     * 游标分页获取新闻的评论（带用户名，按时间倒序）
+     * 首页经CommentThreadCache缓存；作者用户名经UserNameCache批量解析，每页最多一次IN查询
+     *
+     * @param cursor 上一页返回的nextCursor，首页为空
      */
-    public List<Comment> getNewsComments(Long newsId) {
-        List<Comment> comments = commentRepository.findByNewsIdAndStatusOrderByCreatedAtDesc(
-                newsId, "APPROVED");
-        
-        // 填充用户名
-        comments.forEach(comment -> {
-            userRepository.findById(comment.getUserId())
-                    .ifPresent(user -> comment.setUsername(user.getUsername()));
-        });
-        
-        return comments;
+    public CursorSlice<Comment> getNewsComments(Long newsId, String cursor, int size) {
+        FeedCursor after = FeedCursor.decode(cursor, FeedCursor.FIRST_BY_TIME);
+        int limit = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        IntFunction<List<Comment>> query = count -> commentRepository.findPageAfter(
+                newsId, APPROVED, after.time(), after.id(), PageRequest.of(0, count));
+
+        // 首页优先读取文章评论缓存，更早的分页直接走游标查询
+        List<Comment> rows = null;
+        if (cursor == null || cursor.isBlank()) {
+            rows = commentThreadCache.newest(newsId, limit + 1, query);
+        }
+        if (rows == null) {
+            rows = query.apply(limit + 1);
+        }
+
+        boolean hasNext = rows.size() > limit;
+        List<Comment> comments = hasNext ? rows.subList(0, limit) : rows;
+        fillUsernames(comments);
+
+        String nextCursor = null;
+        if (hasNext) {
+            Comment last = comments.get(comments.size() - 1);
+            nextCursor = FeedCursor.byTime(last.getCreatedAt(), last.getId()).encode();
+        }
+        return new CursorSlice<>(comments, nextCursor, hasNext);
     }
 
     /**
      * 分页获取新闻评论
      */
     public Page<Comment> getNewsCommentsPaged(Long newsId, Pageable pageable) {
-        return commentRepository.findByNewsIdAndStatus(newsId, "APPROVED", pageable);
+        return commentRepository.findByNewsIdAndStatus(newsId, APPROVED, pageable);
     }
 
     /**
@@ -101,14 +133,19 @@ public class CommentService {
         }
 
         commentRepository.delete(comment);
+        if (APPROVED.equals(comment.getStatus())) {
+            newsCounterService.adjustComments(comment.getNewsId(), -1);
+            hotNewsLeaderboard.recordComment(comment.getNewsId(), -1);
+        }
+        eventPublisher.publishEvent(CommentChangedEvent.deleted(comment.getNewsId()));
         log.info("Comment deleted: {}", commentId);
     }
 
     /**
-     * 统计新闻评论数
+     * 统计新闻评论数（读取news表的反范式计数）
      */
     public long countNewsComments(Long newsId) {
-        return commentRepository.countByNewsIdAndStatus(newsId, "APPROVED");
+        return newsCounterService.getCommentCount(newsId);
     }
 
     /**
@@ -119,8 +156,25 @@ public class CommentService {
         Comment comment = commentRepository.findById(commentId)
                 .orElseThrow(() -> new ResourceNotFoundException("评论不存在，ID: " + commentId));
 
+        // 只统计已审核评论，状态进出APPROVED时同步调整计数
+        int delta = (APPROVED.equals(status) ? 1 : 0) - (APPROVED.equals(comment.getStatus()) ? 1 : 0);
+        if (delta != 0) {
+            newsCounterService.adjustComments(comment.getNewsId(), delta);
+            hotNewsLeaderboard.recordComment(comment.getNewsId(), delta);
+        }
+
         comment.setStatus(status);
-        return commentRepository.save(comment);
+        Comment saved = commentRepository.save(comment);
+        eventPublisher.publishEvent(CommentChangedEvent.updated(comment.getNewsId()));
+        return saved;
     }
-}
 
+    private void fillUsernames(List<Comment> comments) {
+        if (comments.isEmpty()) {
+            return;
+        }
+        Set<Long> userIds = comments.stream().map(Comment::getUserId).collect(Collectors.toSet());
+        Map<Long, String> usernames = userNameCache.getUsernames(userIds);
+        comments.forEach(comment -> comment.setUsername(usernames.get(comment.getUserId())));
+    }
+}
@@ -0,0 +1,201 @@
+package com.news.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.news.event.CommentChangedEvent;
+import com.news.model.entity.Comment;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.IntFunction;
+
+/**
+ * 文章评论缓存
+ * 每篇文章最新N条已审核评论以JSON存入Redis列表（首元素为占位标记，空列表也可缓存），供评论首页直接读取，
+ * 更早的分页走数据库游标查询。新评论提交后写穿插入到按(created_at, id)倒序的位置并截断为N条，
+ * 事务提交顺序与时间顺序不一致时列表仍保持有序；删除和审核变更使列表失效。
+ * 列表元素为定长排序键加JSON，插入时只比较排序键。
+ * 每次写入都递增文章的版本号，回填缓存时版本号已变化则放弃写入，避免用旧数据覆盖并发的新评论
+ */
+@Component
+@Slf4j
+public class CommentThreadCache {
+
+    private static final String KEY_PREFIX = "comments:thread:";
+    private static final String VERSION_SUFFIX = ":ver";
+    private static final String HEAD = "#";
+    private static final String SORT_KEY_FORMAT = "%012d%019d|";
+    private static final int SORT_KEY_LENGTH = 32;
+
+    /** 版本号未变化时重建列表：ARGV = 期望版本, TTL, 占位标记, 评论... */
+    private static final RedisScript<Long> FILL = new DefaultRedisScript<>(
+            "if (redis.call('GET', KEYS[2]) or '') ~= ARGV[1] then return 0 end " +
+            "redis.call('DEL', KEYS[1]) " +
+            "redis.call('RPUSH', KEYS[1], unpack(ARGV, 3)) " +
+            "redis.call('EXPIRE', KEYS[1], ARGV[2]) " +
+            "return 1", Long.class);
+
+    /**
+     * 递增版本并在列表存在时插入到第一条更早的评论之前（没有则追加到末尾）：
+     * ARGV = 评论, 保留的最大下标, TTL, 排序键
+     */
+    private static final RedisScript<Long> APPEND = new DefaultRedisScript<>(
+            "redis.call('INCR', KEYS[2]) " +
+            "redis.call('EXPIRE', KEYS[2], ARGV[3]) " +
+            "if redis.call('EXISTS', KEYS[1]) == 0 then return 0 end " +
+            "local pivot = nil " +
+            "for _, item in ipairs(redis.call('LRANGE', KEYS[1], 1, -1)) do " +
+            "  if string.sub(item, 1, #ARGV[4]) < ARGV[4] then pivot = item break end " +
+            "end " +
+            "if pivot then redis.call('LINSERT', KEYS[1], 'BEFORE', pivot, ARGV[1]) " +
+            "else redis.call('RPUSH', KEYS[1], ARGV[1]) end " +
+            "redis.call('LTRIM', KEYS[1], 0, ARGV[2]) " +
+            "return 1", Long.class);
+
+    /** 递增版本并删除列表：ARGV = TTL */
+    private static final RedisScript<Long> INVALIDATE = new DefaultRedisScript<>(
+            "redis.call('INCR', KEYS[2]) " +
+            "redis.call('EXPIRE', KEYS[2], ARGV[1]) " +
+            "return redis.call('DEL', KEYS[1])", Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final Counter hits;
+    private final Counter misses;
+
+    @Value("${comments.thread-cache.enabled:true}")
+    private boolean enabled;
+
+    @Value("${comments.thread-cache.size:50}")
+    private int size;
+
+    @Value("${comments.thread-cache.ttl:300}")
+    private long ttlSeconds;
+
+    public CommentThreadCache(StringRedisTemplate redisTemplate,
+                              ObjectMapper objectMapper,
+                              MeterRegistry meterRegistry) {
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+        this.hits = Counter.builder("comments.thread.cache.requests")
+                .description("评论首页缓存查询次数")
+                .tag("result", "hit")
+                .register(meterRegistry);
+        this.misses = Counter.builder("comments.thread.cache.requests")
+                .description("评论首页缓存查询次数")
+                .tag("result", "miss")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 获取文章最新的count条评论
+     * 未命中时用loader读取最新N条回填缓存
+     *
+     * @param loader 按条数读取最新评论
+     * @return 缓存未启用或count超出缓存容量时为null，由调用方直接查询数据库
+     */
+    public List<Comment> newest(Long newsId, int count, IntFunction<List<Comment>> loader) {
+        // count不小于N时无法仅凭缓存判断是否还有更早的评论
+        if (!enabled || count >= size) {
+            return null;
+        }
+
+        String key = key(newsId);
+        String version;
+        try {
+            List<String> cached = redisTemplate.opsForList().range(key, 0, count);
+            if (cached != null && !cached.isEmpty()) {
+                hits.increment();
+                return decode(cached.subList(1, cached.size()));
+            }
+            version = redisTemplate.opsForValue().get(versionKey(newsId));
+        } catch (Exception e) {
+            log.warn("Comment cache read failed for news {}: {}", newsId, e.getMessage());
+            return loader.apply(count);
+        }
+
+        misses.increment();
+        List<Comment> newest = loader.apply(size);
+        fill(newsId, version, newest);
+        return newest.size() > count ? newest.subList(0, count) : newest;
+    }
+
+    /**
+     * 评论变更（事务提交后）：新的已审核评论写穿追加，其余变更使缓存失效
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCommentChanged(CommentChangedEvent event) {
+        if (!enabled) {
+            return;
+        }
+        List<String> keys = List.of(key(event.newsId()), versionKey(event.newsId()));
+        String ttl = Long.toString(ttlSeconds);
+        try {
+            Comment comment = event.comment();
+            if (event.type() == CommentChangedEvent.ChangeType.CREATED && "APPROVED".equals(comment.getStatus())) {
+                String element = encode(comment);
+                redisTemplate.execute(APPEND, keys, element, Integer.toString(size), ttl,
+                        element.substring(0, SORT_KEY_LENGTH));
+            } else {
+                redisTemplate.execute(INVALIDATE, keys, ttl);
+            }
+        } catch (Exception e) {
+            // 列表在TTL到期后失效
+            log.warn("Failed to update comment cache for news {}: {}", event.newsId(), e.getMessage());
+        }
+    }
+
+    private void fill(Long newsId, String version, List<Comment> newest) {
+        try {
+            List<String> args = new ArrayList<>(newest.size() + 3);
+            args.add(version != null ? version : "");
+            args.add(Long.toString(ttlSeconds));
+            args.add(HEAD);
+            for (Comment comment : newest) {
+                args.add(encode(comment));
+            }
+            redisTemplate.execute(FILL, List.of(key(newsId), versionKey(newsId)), args.toArray());
+        } catch (Exception e) {
+            log.warn("Comment cache fill failed for news {}: {}", newsId, e.getMessage());
+        }
+    }
+
+    private String encode(Comment comment) throws JsonProcessingException {
+        // 用户名在读取时统一解析，不写入缓存
+        String username = comment.getUsername();
+        comment.setUsername(null);
+        try {
+            String sortKey = String.format(SORT_KEY_FORMAT,
+                    comment.getCreatedAt().toEpochSecond(ZoneOffset.UTC), comment.getId());
+            return sortKey + objectMapper.writeValueAsString(comment);
+        } finally {
+            comment.setUsername(username);
+        }
+    }
+
+    private List<Comment> decode(List<String> values) throws JsonProcessingException {
+        List<Comment> comments = new ArrayList<>(values.size());
+        for (String value : values) {
+            comments.add(objectMapper.readValue(value.substring(SORT_KEY_LENGTH), Comment.class));
+        }
+        return comments;
+    }
+
+    private static String key(Long newsId) {
+        return KEY_PREFIX + newsId;
+    }
+
+    private static String versionKey(Long newsId) {
+        return KEY_PREFIX + newsId + VERSION_SUFFIX;
+    }
+}
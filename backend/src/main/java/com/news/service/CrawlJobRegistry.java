@@ -0,0 +1,395 @@
+package com.news.service;
+
+import com.news.config.AsyncConfig;
+import com.news.crawler.CrawlListener;
+import com.news.crawler.NewsCrawler;
+import com.news.exception.BusinessException;
+import com.news.exception.ResourceNotFoundException;
+import com.news.model.dto.CrawlProgress;
+import com.news.model.entity.CrawlTask;
+import com.news.model.entity.News;
+import com.news.repository.CrawlTaskRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 爬取任务登记表
+ * 每个新闻源的爬取作为独立任务提交到爬虫线程池并立即返回任务ID，不同来源并发执行；
+ * 抓取结果逐条回调，每攒够一批就入库并用单条UPDATE累加任务计数，进度通过SSE推送给订阅者。
+ * 取消请求在当前详情页完成后生效，已入库的新闻保留。
+ * 任务记录所属节点，多节点部署时各节点重启只清理自己遗留的任务；未结束任务的去重仅在节点内生效
+ */
+@Service
+@Slf4j
+public class CrawlJobRegistry {
+
+    private static final List<String> ACTIVE_STATUSES = List.of("PENDING", "RUNNING");
+
+    private final List<NewsCrawler> crawlers;
+    private final CrawlTaskRepository crawlTaskRepository;
+    private final NewsIngestionService newsIngestionService;
+    private final ThreadPoolTaskExecutor crawlExecutor;
+    private final String nodeId;
+
+    // 未结束的任务：任务ID -> 执行状态
+    private final Map<Long, CrawlJob> jobs = new ConcurrentHashMap<>();
+    private final List<SseEmitter> emitters = new CopyOnWriteArrayList<>();
+    private final ReentrantLock startLock = new ReentrantLock();
+
+    @Value("${crawler.progress.ingest-batch-size:5}")
+    private int ingestBatchSize;
+
+    @Value("${crawler.progress.sse-timeout:1800000}")
+    private long sseTimeoutMillis;
+
+    @Value("${crawler.retry.max-attempts:3}")
+    private int maxAttempts;
+
+    @Value("${crawler.retry.backoff:2000}")
+    private long backoffMillis;
+
+    public CrawlJobRegistry(List<NewsCrawler> crawlers,
+                            CrawlTaskRepository crawlTaskRepository,
+                            NewsIngestionService newsIngestionService,
+                            @Qualifier(AsyncConfig.CRAWL_EXECUTOR) ThreadPoolTaskExecutor crawlExecutor,
+                            @Value("${crawler.node-id:}") String nodeId) {
+        this.crawlers = crawlers;
+        this.crawlTaskRepository = crawlTaskRepository;
+        this.newsIngestionService = newsIngestionService;
+        this.crawlExecutor = crawlExecutor;
+        this.nodeId = nodeId.isBlank() ? hostName() : nodeId;
+        log.info("Crawl job registry initialized on node {}", this.nodeId);
+    }
+
+    /**
+     * 启动单个来源的爬取任务
+     *
+     * @throws TaskRejectedException 爬虫线程池已满
+     */
+    public CrawlProgress start(String source, int maxCount) {
+        NewsCrawler crawler = crawlers.stream()
+                .filter(c -> c.getSourceName().equals(source))
+                .findFirst()
+                .orElseThrow(() -> new BusinessException("未知的新闻源: " + source));
+
+        startLock.lock();
+        try {
+            if (isActive(source)) {
+                throw new BusinessException("该新闻源已有未结束的采集任务: " + source);
+            }
+            return submit(crawler, maxCount);
+        } finally {
+            startLock.unlock();
+        }
+    }
+
+    /**
+     * 启动所有来源的爬取任务，已有未结束任务的来源跳过
+     *
+     * @throws TaskRejectedException 爬虫线程池已满，没有任何任务被接受
+     */
+    public List<CrawlProgress> startAll(int maxCount) {
+        List<CrawlProgress> started = new ArrayList<>();
+        TaskRejectedException rejected = null;
+
+        startLock.lock();
+        try {
+            for (NewsCrawler crawler : crawlers) {
+                if (isActive(crawler.getSourceName())) {
+                    log.info("Skipping {}: a crawl task is still active", crawler.getSourceName());
+                    continue;
+                }
+                try {
+                    started.add(submit(crawler, maxCount));
+                } catch (TaskRejectedException e) {
+                    rejected = e;
+                }
+            }
+        } finally {
+            startLock.unlock();
+        }
+
+        if (started.isEmpty() && rejected != null) {
+            throw rejected;
+        }
+        return started;
+    }
+
+    /**
+     * 取消任务，等待中的任务不再执行，运行中的任务在当前详情页完成后停止，等待重试的任务立即停止
+     */
+    public CrawlProgress cancel(Long taskId) {
+        CrawlJob job = jobs.get(taskId);
+        if (job == null) {
+            CrawlTask task = crawlTaskRepository.findById(taskId)
+                    .orElseThrow(() -> new ResourceNotFoundException("爬取任务不存在，ID: " + taskId));
+            throw new BusinessException("任务已结束，状态: " + task.getStatus());
+        }
+        job.cancel();
+        log.info("Cancel requested for crawl task {} ({})", taskId, job.crawler.getSourceName());
+        CrawlProgress progress = job.progress.toBuilder().cancelRequested(true).build();
+        broadcast(progress);
+        return progress;
+    }
+
+    /**
+     * 获取未结束任务的进度
+     */
+    public List<CrawlProgress> getActiveJobs() {
+        return jobs.values().stream().map(job -> job.progress).toList();
+    }
+
+    /**
+     * 订阅所有任务的进度，订阅后先推送当前未结束的任务
+     */
+    public SseEmitter subscribe() {
+        SseEmitter emitter = new SseEmitter(sseTimeoutMillis);
+        emitter.onCompletion(() -> emitters.remove(emitter));
+        emitter.onTimeout(emitter::complete);
+        emitter.onError(e -> emitters.remove(emitter));
+        emitters.add(emitter);
+        for (CrawlJob job : jobs.values()) {
+            send(emitter, job.progress);
+        }
+        return emitter;
+    }
+
+    /**
+     * 启动时将本节点重启前未结束的任务标记为失败，其他节点正在执行的任务不受影响
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void failInterruptedTasks() {
+        for (CrawlTask task : crawlTaskRepository.findByStatusInOwnedBy(ACTIVE_STATUSES, nodeId)) {
+            if (!jobs.containsKey(task.getId())) {
+                task.markAsFailed("服务重启，任务中断");
+                crawlTaskRepository.save(task);
+                log.warn("Crawl task {} ({}) interrupted by restart", task.getId(), task.getTargetSource());
+            }
+        }
+    }
+
+    private boolean isActive(String source) {
+        return jobs.values().stream().anyMatch(job -> job.crawler.getSourceName().equals(source));
+    }
+
+    private CrawlProgress submit(NewsCrawler crawler, int maxCount) {
+        CrawlTask task = crawlTaskRepository.save(CrawlTask.builder()
+                .targetSource(crawler.getSourceName())
+                .nodeId(nodeId)
+                .build());
+        CrawlJob job = new CrawlJob(task, crawler, maxCount);
+        jobs.put(task.getId(), job);
+
+        try {
+            crawlExecutor.execute(() -> run(job));
+        } catch (TaskRejectedException e) {
+            jobs.remove(task.getId());
+            task.markAsFailed("爬虫线程池已满，任务未执行");
+            crawlTaskRepository.save(task);
+            log.warn("Crawl task {} for {} rejected: executor saturated", task.getId(), crawler.getSourceName());
+            throw e;
+        }
+
+        log.info("Crawl task {} submitted for {}, maxCount: {}", task.getId(), crawler.getSourceName(), maxCount);
+        broadcast(job.progress);
+        return job.progress;
+    }
+
+    private void run(CrawlJob job) {
+        String source = job.crawler.getSourceName();
+        try {
+            if (job.cancelled) {
+                job.task.markAsCancelled();
+                job.task = crawlTaskRepository.save(job.task);
+                return;
+            }
+            job.task.markAsRunning();
+            job.task = crawlTaskRepository.save(job.task);
+            job.publish();
+
+            crawlWithRetry(job);
+            job.flush();
+
+            if (job.cancelled) {
+                job.task.markAsCancelled();
+            } else {
+                job.task.markAsSuccess();
+            }
+            job.task = crawlTaskRepository.save(job.task);
+            log.info("Crawl task {} for {} finished with status {}: success={}, fail={}",
+                    job.task.getId(), source, job.task.getStatus(),
+                    job.task.getSuccessCount(), job.task.getFailCount());
+
+        } catch (InterruptedException e) {
+            log.warn("Crawl task {} for {} interrupted", job.task.getId(), source);
+            markAsFailed(job, "任务线程被中断");
+            // 恢复中断标志，交由线程池处理（如关闭时退出）
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            log.error("Crawl task {} for {} failed: {}", job.task.getId(), source, e.getMessage(), e);
+            markAsFailed(job, e.getMessage());
+        } finally {
+            jobs.remove(job.task.getId());
+            job.publish();
+        }
+    }
+
+    private void markAsFailed(CrawlJob job, String message) {
+        job.task.markAsFailed(message);
+        try {
+            job.task = crawlTaskRepository.save(job.task);
+        } catch (Exception saveError) {
+            log.error("Failed to save crawl task {}: {}", job.task.getId(), saveError.getMessage());
+        }
+    }
+
+    /**
+     * 执行抓取，列表页不可用等尚未抓取到任何新闻的失败按递增间隔重试；
+     * 已有新闻入库后失败不再重试，避免重复抓取把已入库的新闻计为失败。
+     * 重试间隔内等待取消信号，取消后立即返回并释放执行线程
+     */
+    private void crawlWithRetry(CrawlJob job) throws InterruptedException {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                job.crawler.crawlNews(job.maxCount, job);
+                return;
+            } catch (RuntimeException e) {
+                if (attempt >= maxAttempts || job.fetched > 0) {
+                    throw e;
+                }
+                if (job.cancelled) {
+                    return;
+                }
+                log.warn("Crawl task {} for {} failed on attempt {}/{}, retrying: {}",
+                        job.task.getId(), job.crawler.getSourceName(), attempt, maxAttempts, e.getMessage());
+                if (job.cancelSignal.await(backoffMillis * attempt, TimeUnit.MILLISECONDS)) {
+                    return;
+                }
+            }
+        }
+    }
+
+    private static String hostName() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException e) {
+            return "localhost";
+        }
+    }
+
+    private void broadcast(CrawlProgress progress) {
+        for (SseEmitter emitter : emitters) {
+            send(emitter, progress);
+        }
+    }
+
+    private void send(SseEmitter emitter, CrawlProgress progress) {
+        try {
+            emitter.send(SseEmitter.event().name("progress").data(progress));
+        } catch (Exception e) {
+            // 客户端已断开
+            emitters.remove(emitter);
+        }
+    }
+
+    /**
+     * 单个爬取任务的执行状态
+     * task、fetched和缓冲区只由执行线程修改，其他线程通过progress快照读取
+     */
+    private final class CrawlJob implements CrawlListener {
+
+        private final NewsCrawler crawler;
+        private final int maxCount;
+        private final List<News> buffer = new ArrayList<>();
+        private final CountDownLatch cancelSignal = new CountDownLatch(1);
+        private CrawlTask task;
+        private int fetched;
+        private int unflushedFailures;
+        private volatile boolean cancelled;
+        private volatile CrawlProgress progress;
+
+        private CrawlJob(CrawlTask task, NewsCrawler crawler, int maxCount) {
+            this.task = task;
+            this.crawler = crawler;
+            this.maxCount = maxCount;
+            this.progress = CrawlProgress.of(task, maxCount, 0, false);
+        }
+
+        @Override
+        public void onNews(News news) {
+            fetched++;
+            buffer.add(news);
+            if (buffer.size() + unflushedFailures >= ingestBatchSize) {
+                flush();
+            }
+            publish();
+        }
+
+        @Override
+        public void onFailure(String url) {
+            task.incrementFail();
+            unflushedFailures++;
+            if (buffer.size() + unflushedFailures >= ingestBatchSize) {
+                flush();
+            }
+            publish();
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return cancelled;
+        }
+
+        /**
+         * 标记取消并唤醒等待重试的执行线程
+         */
+        private void cancel() {
+            cancelled = true;
+            cancelSignal.countDown();
+        }
+
+        /**
+         * 入库缓冲的新闻并把本批计数累加到任务记录
+         */
+        private void flush() {
+            int success = 0;
+            int fail = unflushedFailures;
+            if (!buffer.isEmpty()) {
+                NewsIngestionService.IngestResult result = newsIngestionService.ingest(List.copyOf(buffer));
+                buffer.clear();
+                success = result.inserted() + result.imageUpdated();
+                int rejected = result.duplicates() + result.invalid();
+                task.incrementSuccess(success);
+                task.incrementFail(rejected);
+                fail += rejected;
+            }
+            if (success + fail > 0) {
+                crawlTaskRepository.incrementCounts(task.getId(), success, fail);
+            }
+            unflushedFailures = 0;
+        }
+
+        private void publish() {
+            progress = CrawlProgress.of(task, maxCount, fetched, cancelled);
+            broadcast(progress);
+        }
+    }
+}
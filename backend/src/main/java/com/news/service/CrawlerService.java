@@ -1,19 +1,13 @@
 package com.news.service;
 
 import com.news.crawler.NewsCrawler;
+import com.news.model.dto.CrawlProgress;
 import com.news.model.entity.CrawlTask;
-import com.news.model.entity.News;
 import com.news.repository.CrawlTaskRepository;
-import com.news.repository.NewsRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.retry.annotation.Backoff;
-import org.springframework.retry.annotation.Retryable;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
-import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -21,7 +15,7 @@ import java.util.Map;
 
 /**
  * 爬虫调度服务
- * 负责协调爬虫执行、去重、自动分类等
+ * 负责启动爬取任务、查询可用来源和任务历史；去重和分类在NewsIngestionService中完成
  */
 @Service
 @RequiredArgsConstructor
@@ -29,137 +23,22 @@ import java.util.Map;
 public class CrawlerService {
 
     private final List<NewsCrawler> crawlers; // 自动注入所有NewsCrawler实现
-    private final NewsRepository newsRepository;
     private final CrawlTaskRepository crawlTaskRepository;
-    private final ClassificationService classificationService;
+    private final CrawlJobRegistry crawlJobRegistry;
 
     /**
-     * 执行单个爬虫任务
+     * 启动单个来源的爬取任务，立即返回任务进度
      */
-    @Async
-    @Transactional
-    @Retryable(maxAttempts = 3, backoff = @Backoff(delay = 2000))
-    public void executeCrawlTask(String sourceName, int maxCount) {
-        log.info("Starting crawl task for source: {}, maxCount: {}", sourceName, maxCount);
-
-        // 创建爬取任务记录
-        CrawlTask task = CrawlTask.builder()
-                .targetSource(sourceName)
-                .build();
-        task = crawlTaskRepository.save(task);
-        task.markAsRunning();
-        task = crawlTaskRepository.save(task);
-
-        try {
-            // 查找对应的爬虫
-            NewsCrawler crawler = findCrawler(sourceName);
-            if (crawler == null) {
-                throw new IllegalArgumentException("Unknown source: " + sourceName);
-            }
-
-            // 执行爬取
-            List<News> crawledNews = crawler.crawlNews(maxCount);
-            log.info("Crawled {} news from {}", crawledNews.size(), sourceName);
-
-            // 处理爬取的新闻
-            int successCount = 0;
-            int failCount = 0;
-
-            for (News news : crawledNews) {
-                try {
-                    // 1. 检查是否已存在
-                    News existingNews = newsRepository.findByTitle(news.getTitle()).orElse(null);
-                    
-                    if (existingNews != null) {
-                        // 如果新闻已存在，但没有图片，且新爬取的有图片，则更新图片
-                        if ((existingNews.getImageUrl() == null || existingNews.getImageUrl().isEmpty()) 
-                            && news.getImageUrl() != null && !news.getImageUrl().isEmpty()) {
-                            existingNews.setImageUrl(news.getImageUrl());
-                            newsRepository.save(existingNews);
-                            successCount++;
-                            log.info("Updated image for existing news: {}", news.getTitle());
-                        } else {
-                            log.info("Duplicate news skipped: {}", news.getTitle());
-                            failCount++;
-                        }
-                        continue;
-                    }
-
-                    // 2. 自动分类
-                    if (news.getCategoryId() == null) {
-                        Long categoryId = classificationService.classifyNews(news);
-                        news.setCategoryId(categoryId);
-                    }
-
-                    // 3. 保存新闻
-                    newsRepository.save(news);
-                    successCount++;
-                    log.info("Saved news: {}", news.getTitle());
-
-                } catch (Exception e) {
-                    log.error("Failed to save news {}: {}", news.getTitle(), e.getMessage());
-                    failCount++;
-                }
-            }
-
-            // 更新任务状态
-            task.setSuccessCount(successCount);
-            task.setFailCount(failCount);
-            task.markAsSuccess();
-            crawlTaskRepository.save(task);
-
-            log.info("Crawl task completed for {}: success={}, fail={}", sourceName, successCount, failCount);
-
-        } catch (Exception e) {
-            log.error("Crawl task failed for {}: {}", sourceName, e.getMessage(), e);
-            task.markAsFailed(e.getMessage());
-            crawlTaskRepository.save(task);
-        }
+    public CrawlProgress executeCrawlTask(String sourceName, int maxCount) {
+        return crawlJobRegistry.start(sourceName, maxCount);
     }
 
     /**
-     * 执行所有爬虫任务
+     * 并发启动所有来源的爬取任务，立即返回各任务进度
      */
-    @Async
-    public void executeAllCrawlers(int maxCountPerSource) {
+    public List<CrawlProgress> executeAllCrawlers(int maxCountPerSource) {
         log.info("Starting all crawlers, maxCount per source: {}", maxCountPerSource);
-        
-        for (NewsCrawler crawler : crawlers) {
-            try {
-                executeCrawlTask(crawler.getSourceName(), maxCountPerSource);
-            } catch (Exception e) {
-                log.error("Failed to execute crawler {}: {}", crawler.getSourceName(), e.getMessage());
-            }
-        }
-    }
-
-    /**
-     * 查找指定来源的爬虫
-     */
-    private NewsCrawler findCrawler(String sourceName) {
-        return crawlers.stream()
-                .filter(c -> c.getSourceName().equals(sourceName))
-                .findFirst()
-                .orElse(null);
-    }
-
-    /**
-     * 去重检测
-     * 根据标题完全匹配判断是否重复
-     */
-    private boolean isDuplicate(News news) {
-        // 策略1：检查标题
-        if (newsRepository.existsByTitle(news.getTitle())) {
-            return true;
-        }
-
-        // 策略2：检查原始URL
-        if (news.getOriginalUrl() != null && 
-            newsRepository.existsByOriginalUrl(news.getOriginalUrl())) {
-            return true;
-        }
-
-        return false;
+        return crawlJobRegistry.startAll(maxCountPerSource);
     }
 
     /**
@@ -0,0 +1,455 @@
+package com.news.service;
+
+import com.news.event.NewsChangedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 热门新闻排行榜
+ * 浏览、点赞、评论按权重累加到Redis中按天分桶的有序集合（全站和各分类各一组），
+ * 定时把最近N天的分桶合并成窗口排行榜并只保留前K名，过期的分桶随日期滑出窗口。
+ * 读取为ZREVRANGE，复杂度O(log n + 页大小)；Redis不可用或排行榜尚未就绪时由调用方回退到数据库查询。
+ * 请求线程只做内存累加，增量由定时任务批量写入Redis
+ */
+@Component
+@Slf4j
+public class HotNewsLeaderboard {
+
+    private static final String DAY_KEY_PREFIX = "hot:day:";
+    private static final String WINDOW_KEY = "hot:window";
+    private static final String CATEGORY_INFIX = ":c:";
+    private static final String CATEGORIES_KEY = "hot:categories";
+    private static final String UPDATED_AT_KEY = "hot:window:updated";
+    private static final String REFRESH_LOCK_KEY = "hot:window:lock";
+    private static final String REBUILD_LOCK_KEY = "hot:rebuild:lock";
+    private static final DateTimeFormatter DAY_FORMAT = DateTimeFormatter.BASIC_ISO_DATE;
+
+    private final StringRedisTemplate redisTemplate;
+    private final JdbcTemplate jdbcTemplate;
+    private final Timer refreshTimer;
+    private final Timer rebuildTimer;
+    private final Counter leaderboardReads;
+    private final Counter fallbackReads;
+
+    // 分值增量；归零条目移除时与并发累加之间可能丢失个别计数，排行榜可以容忍
+    private final ConcurrentHashMap<Long, LongAdder> pending = new ConcurrentHashMap<>();
+    private volatile long lastRefreshMillis;
+
+    @Value("${ranking.leaderboard.window-days:7}")
+    private int windowDays;
+
+    @Value("${ranking.leaderboard.top-k:1000}")
+    private int topK;
+
+    @Value("${ranking.leaderboard.refresh-interval:30000}")
+    private long refreshInterval;
+
+    @Value("${ranking.leaderboard.weight.view:1}")
+    private long viewWeight;
+
+    @Value("${ranking.leaderboard.weight.like:3}")
+    private long likeWeight;
+
+    @Value("${ranking.leaderboard.weight.comment:5}")
+    private long commentWeight;
+
+    public HotNewsLeaderboard(StringRedisTemplate redisTemplate,
+                              JdbcTemplate jdbcTemplate,
+                              MeterRegistry meterRegistry) {
+        this.redisTemplate = redisTemplate;
+        this.jdbcTemplate = jdbcTemplate;
+        this.refreshTimer = Timer.builder("news.hot.leaderboard.refresh")
+                .description("排行榜窗口合并耗时")
+                .register(meterRegistry);
+        this.rebuildTimer = Timer.builder("news.hot.leaderboard.rebuild")
+                .description("从数据库重建排行榜耗时")
+                .register(meterRegistry);
+        this.leaderboardReads = Counter.builder("news.hot.leaderboard.reads")
+                .description("热门新闻查询次数（按数据来源）")
+                .tag("source", "leaderboard")
+                .register(meterRegistry);
+        this.fallbackReads = Counter.builder("news.hot.leaderboard.reads")
+                .description("热门新闻查询次数（按数据来源）")
+                .tag("source", "database")
+                .register(meterRegistry);
+        Gauge.builder("news.hot.leaderboard.age", this, HotNewsLeaderboard::ageSeconds)
+                .description("排行榜距上次窗口合并的秒数")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+        Gauge.builder("news.hot.leaderboard.pending", pending, Map::size)
+                .description("有待写入排行榜分值增量的新闻数")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 记录一次浏览
+     */
+    public void recordView(Long newsId) {
+        add(newsId, viewWeight);
+    }
+
+    /**
+     * 记录点赞变化（取消点赞传-1）
+     */
+    public void recordLike(Long newsId, int delta) {
+        add(newsId, likeWeight * delta);
+    }
+
+    /**
+     * 记录评论变化（删除评论传-1）
+     */
+    public void recordComment(Long newsId, int delta) {
+        add(newsId, commentWeight * delta);
+    }
+
+    /**
+     * 按排名分页获取新闻ID
+     *
+     * @param categoryId 分类ID，为null时取全站排行榜
+     * @return 排行榜未就绪或Redis不可用时为空
+     */
+    public Optional<Page<Long>> topIds(Long categoryId, Pageable pageable) {
+        if (lastRefreshMillis == 0L) {
+            fallbackReads.increment();
+            return Optional.empty();
+        }
+        String key = windowKey(categoryId);
+        try {
+            ZSetOperations<String, String> zSet = redisTemplate.opsForZSet();
+            long start = pageable.getOffset();
+            Set<String> members = zSet.reverseRange(key, start, start + pageable.getPageSize() - 1);
+            Long total = zSet.zCard(key);
+            List<Long> ids = members == null ? List.of()
+                    : members.stream().map(Long::valueOf).toList();
+            leaderboardReads.increment();
+            return Optional.of(new PageImpl<>(ids, pageable, total != null ? total : 0L));
+        } catch (Exception e) {
+            log.warn("Failed to read hot news leaderboard {}: {}", key, e.getMessage());
+            fallbackReads.increment();
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * 定时把内存中的分值增量写入当天分桶
+     * 增量按新闻当前分类归入分类分桶，未发布或已删除的新闻直接丢弃
+     */
+    @Scheduled(fixedDelayString = "${ranking.leaderboard.flush-interval:5000}")
+    public void flush() {
+        Map<Long, Long> deltas = drain();
+        if (deltas.isEmpty()) {
+            return;
+        }
+        try {
+            Map<Long, Long> categories = loadPublishedCategories(deltas.keySet());
+            String day = LocalDate.now().format(DAY_FORMAT);
+            long ttl = Duration.ofDays(windowDays + 1L).getSeconds();
+            redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                StringRedisConnection conn = (StringRedisConnection) connection;
+                deltas.forEach((newsId, delta) -> {
+                    if (!categories.containsKey(newsId)) {
+                        return;
+                    }
+                    String member = newsId.toString();
+                    conn.zIncrBy(dayKey(day, null), delta, member);
+                    Long categoryId = categories.get(newsId);
+                    if (categoryId != null) {
+                        conn.zIncrBy(dayKey(day, categoryId), delta, member);
+                        conn.sAdd(CATEGORIES_KEY, categoryId.toString());
+                        conn.expire(dayKey(day, categoryId), ttl);
+                    }
+                });
+                conn.expire(dayKey(day, null), ttl);
+                return null;
+            });
+        } catch (Exception e) {
+            log.warn("Failed to push {} leaderboard deltas, will retry: {}", deltas.size(), e.getMessage());
+            deltas.forEach(this::add);
+        }
+    }
+
+    /**
+     * 定时合并窗口排行榜，多节点部署时同一周期只有一个节点执行
+     */
+    @Scheduled(fixedDelayString = "${ranking.leaderboard.refresh-interval:30000}",
+            initialDelayString = "${ranking.leaderboard.refresh-interval:30000}")
+    public void refresh() {
+        try {
+            Boolean acquired = redisTemplate.opsForValue()
+                    .setIfAbsent(REFRESH_LOCK_KEY, "1", Duration.ofMillis(refreshInterval));
+            if (Boolean.TRUE.equals(acquired)) {
+                refreshTimer.record(this::mergeWindows);
+            } else {
+                syncRefreshTime();
+            }
+        } catch (Exception e) {
+            log.warn("Hot news leaderboard refresh skipped: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 启动后检查排行榜，Redis中不存在时从数据库重建
+     */
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildIfMissing() {
+        try {
+            if (syncRefreshTime()) {
+                log.info("Hot news leaderboard found in Redis, skipping rebuild");
+                return;
+            }
+            Boolean acquired = redisTemplate.opsForValue()
+                    .setIfAbsent(REBUILD_LOCK_KEY, "1", Duration.ofMinutes(10));
+            if (!Boolean.TRUE.equals(acquired)) {
+                log.info("Hot news leaderboard is being rebuilt by another node");
+                return;
+            }
+            try {
+                rebuildTimer.record(this::rebuild);
+            } finally {
+                redisTemplate.delete(REBUILD_LOCK_KEY);
+            }
+        } catch (Exception e) {
+            log.error("Failed to rebuild hot news leaderboard, hot news will be served from database: {}",
+                    e.getMessage());
+        }
+    }
+
+    /**
+     * 新闻删除或下线后（事务提交后）从排行榜移除
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onNewsChanged(NewsChangedEvent event) {
+        boolean removed = event.type() == NewsChangedEvent.ChangeType.DELETED
+                || event.news() == null
+                || !"PUBLISHED".equals(event.news().getStatus());
+        if (!removed) {
+            return;
+        }
+        pending.remove(event.newsId());
+        String member = event.newsId().toString();
+        try {
+            List<Long> categoryIds = categoryIds();
+            List<String> days = windowDays();
+            redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                StringRedisConnection conn = (StringRedisConnection) connection;
+                conn.zRem(windowKey(null), member);
+                days.forEach(day -> conn.zRem(dayKey(day, null), member));
+                for (Long categoryId : categoryIds) {
+                    conn.zRem(windowKey(categoryId), member);
+                    days.forEach(day -> conn.zRem(dayKey(day, categoryId), member));
+                }
+                return null;
+            });
+        } catch (Exception e) {
+            // 查询时会按发布状态过滤，这里失败只会让页面暂时少一条
+            log.warn("Failed to remove news {} from leaderboard: {}", event.newsId(), e.getMessage());
+        }
+    }
+
+    /**
+     * 从数据库重建窗口内的分桶
+     * 没有按天的浏览明细，窗口内发布新闻的累计浏览量记到发布当天；点赞、评论按创建日期归入分桶
+     */
+    private void rebuild() {
+        log.info("Rebuilding hot news leaderboard from database...");
+        LocalDate firstDay = LocalDate.now().minusDays(windowDays - 1L);
+        Map<String, Map<String, Double>> buckets = new HashMap<>();
+        Set<String> categories = new HashSet<>();
+
+        jdbcTemplate.query(
+                "SELECT id, category_id, view_count, DATE(publish_time) AS day FROM news " +
+                "WHERE status = 'PUBLISHED' AND publish_time >= ?",
+                rs -> {
+                    addToBuckets(buckets, categories, rs.getDate("day").toLocalDate(), rs.getLong("id"),
+                            rs.getObject("category_id", Long.class), viewWeight * rs.getLong("view_count"));
+                },
+                firstDay.atStartOfDay());
+        jdbcTemplate.query(
+                "SELECT l.news_id, n.category_id, DATE(l.created_at) AS day, COUNT(*) AS cnt " +
+                "FROM likes l JOIN news n ON n.id = l.news_id " +
+                "WHERE n.status = 'PUBLISHED' AND l.created_at >= ? " +
+                "GROUP BY l.news_id, n.category_id, DATE(l.created_at)",
+                rs -> {
+                    addToBuckets(buckets, categories, rs.getDate("day").toLocalDate(), rs.getLong("news_id"),
+                            rs.getObject("category_id", Long.class), likeWeight * rs.getLong("cnt"));
+                },
+                firstDay.atStartOfDay());
+        jdbcTemplate.query(
+                "SELECT c.news_id, n.category_id, DATE(c.created_at) AS day, COUNT(*) AS cnt " +
+                "FROM comments c JOIN news n ON n.id = c.news_id " +
+                "WHERE n.status = 'PUBLISHED' AND c.status = 'APPROVED' AND c.created_at >= ? " +
+                "GROUP BY c.news_id, n.category_id, DATE(c.created_at)",
+                rs -> {
+                    addToBuckets(buckets, categories, rs.getDate("day").toLocalDate(), rs.getLong("news_id"),
+                            rs.getObject("category_id", Long.class), commentWeight * rs.getLong("cnt"));
+                },
+                firstDay.atStartOfDay());
+
+        long ttl = Duration.ofDays(windowDays + 1L).getSeconds();
+        redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            StringRedisConnection conn = (StringRedisConnection) connection;
+            categories.forEach(categoryId -> conn.sAdd(CATEGORIES_KEY, categoryId));
+            buckets.forEach((key, scores) -> {
+                conn.del(key);
+                scores.forEach((member, score) -> conn.zIncrBy(key, score, member));
+                conn.expire(key, ttl);
+            });
+            return null;
+        });
+        mergeWindows();
+        log.info("Hot news leaderboard rebuilt: {} day buckets", buckets.size());
+    }
+
+    private void addToBuckets(Map<String, Map<String, Double>> buckets, Set<String> categories,
+                              LocalDate date, long newsId, Long categoryId, long score) {
+        if (score == 0) {
+            return;
+        }
+        String day = date.format(DAY_FORMAT);
+        String member = Long.toString(newsId);
+        buckets.computeIfAbsent(dayKey(day, null), k -> new HashMap<>()).merge(member, (double) score, Double::sum);
+        if (categoryId != null) {
+            categories.add(categoryId.toString());
+            buckets.computeIfAbsent(dayKey(day, categoryId), k -> new HashMap<>())
+                    .merge(member, (double) score, Double::sum);
+        }
+    }
+
+    /**
+     * 合并最近N天分桶为窗口排行榜，只保留前K名
+     */
+    private void mergeWindows() {
+        List<String> days = windowDays();
+        mergeWindow(null, days);
+        for (Long categoryId : categoryIds()) {
+            if (!mergeWindow(categoryId, days)) {
+                // 窗口内没有任何互动的分类不再参与合并
+                redisTemplate.opsForSet().remove(CATEGORIES_KEY, categoryId.toString());
+            }
+        }
+        long now = System.currentTimeMillis();
+        redisTemplate.opsForValue().set(UPDATED_AT_KEY, Long.toString(now));
+        lastRefreshMillis = now;
+        log.debug("Hot news leaderboard windows merged");
+    }
+
+    private boolean mergeWindow(Long categoryId, List<String> days) {
+        List<String> dayKeys = days.stream().map(day -> dayKey(day, categoryId)).toList();
+        String destination = windowKey(categoryId);
+        ZSetOperations<String, String> zSet = redisTemplate.opsForZSet();
+        Long size = zSet.unionAndStore(dayKeys.get(0), dayKeys.subList(1, dayKeys.size()), destination);
+        if (size == null || size == 0) {
+            return false;
+        }
+        if (size > topK) {
+            zSet.removeRange(destination, 0, size - topK - 1);
+        }
+        return true;
+    }
+
+    /**
+     * 同步其他节点的合并时间，返回排行榜是否已存在
+     */
+    private boolean syncRefreshTime() {
+        String updated = redisTemplate.opsForValue().get(UPDATED_AT_KEY);
+        if (updated == null) {
+            return false;
+        }
+        lastRefreshMillis = Long.parseLong(updated);
+        return true;
+    }
+
+    private Map<Long, Long> loadPublishedCategories(Set<Long> newsIds) {
+        List<Long> ids = new ArrayList<>(newsIds);
+        String placeholders = String.join(",", Collections.nCopies(ids.size(), "?"));
+        Map<Long, Long> categories = new HashMap<>();
+        jdbcTemplate.query(
+                "SELECT id, category_id FROM news WHERE status = 'PUBLISHED' AND id IN (" + placeholders + ")",
+                rs -> {
+                    categories.put(rs.getLong("id"), rs.getObject("category_id", Long.class));
+                },
+                ids.toArray());
+        return categories;
+    }
+
+    private Map<Long, Long> drain() {
+        Map<Long, Long> deltas = new HashMap<>();
+        for (Map.Entry<Long, LongAdder> entry : pending.entrySet()) {
+            LongAdder adder = entry.getValue();
+            long delta = adder.sum();
+            if (delta == 0) {
+                pending.remove(entry.getKey(), adder);
+                continue;
+            }
+            adder.add(-delta);
+            deltas.put(entry.getKey(), delta);
+        }
+        return deltas;
+    }
+
+    private void add(Long newsId, long delta) {
+        if (delta != 0) {
+            pending.computeIfAbsent(newsId, id -> new LongAdder()).add(delta);
+        }
+    }
+
+    private List<Long> categoryIds() {
+        Set<String> members = redisTemplate.opsForSet().members(CATEGORIES_KEY);
+        return members == null ? List.of() : members.stream().map(Long::valueOf).toList();
+    }
+
+    private List<String> windowDays() {
+        LocalDate today = LocalDate.now();
+        List<String> days = new ArrayList<>(windowDays);
+        for (int i = 0; i < windowDays; i++) {
+            days.add(today.minusDays(i).format(DAY_FORMAT));
+        }
+        return days;
+    }
+
+    private static String dayKey(String day, Long categoryId) {
+        return categoryId == null ? DAY_KEY_PREFIX + day : DAY_KEY_PREFIX + day + CATEGORY_INFIX + categoryId;
+    }
+
+    private static String windowKey(Long categoryId) {
+        return categoryId == null ? WINDOW_KEY : WINDOW_KEY + CATEGORY_INFIX + categoryId;
+    }
+
+    private double ageSeconds() {
+        long last = lastRefreshMillis;
+        return last == 0L ? Double.NaN : (System.currentTimeMillis() - last) / 1000.0;
+    }
+}
@@ -1,15 +1,18 @@
 package com.news.service;
 
+import com.news.event.LikeChangedEvent;
+import com.news.exception.BusinessException;
 import com.news.exception.ResourceNotFoundException;
-import com.news.model.entity.Like;
 import com.news.repository.LikeRepository;
-import com.news.repository.NewsRepository;
-import com.news.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
+import java.util.Set;
+
 /**
  * 点赞服务
  */
@@ -18,53 +21,59 @@ import org.springframework.transaction.annotation.Transactional;
 @Slf4j
 public class LikeService {
 
+    private static final int MAX_STATUS_BATCH = 100;
+
     private final LikeRepository likeRepository;
-    private final NewsRepository newsRepository;
-    private final UserRepository userRepository;
+    private final NewsCounterService newsCounterService;
+    private final HotNewsLeaderboard hotNewsLeaderboard;
+    private final UserLikeCache userLikeCache;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
-     * 点赞新闻
+     * 点赞新闻（幂等）
+     * 先原子增加计数：同时校验新闻存在，并锁定新闻行，同一新闻的点赞/取消点赞在此排队，
+     * 两条路径加锁顺序一致，不会互相死锁；再以INSERT IGNORE写入，重复点赞时补偿计数
+     *
+     * @return 是否新增了点赞
      */
     @Transactional
-    public void likeNews(Long newsId, Long userId) {
-        log.info("User {} liking news {}", userId, newsId);
+    public boolean likeNews(Long newsId, Long userId) {
+        newsCounterService.adjustLikes(newsId, 1);
 
-        // 验证新闻是否存在
-        if (!newsRepository.existsById(newsId)) {
-            throw new ResourceNotFoundException("新闻不存在，ID: " + newsId);
+        if (likeRepository.insertIfAbsent(newsId, userId) > 0) {
+            hotNewsLeaderboard.recordLike(newsId, 1);
+            eventPublisher.publishEvent(new LikeChangedEvent(newsId, userId, true));
+            log.debug("User {} liked news {}", userId, newsId);
+            return true;
         }
 
-        // 验证用户是否存在
-        if (!userRepository.existsById(userId)) {
+        // 未插入：已点赞，或用户不存在（外键错误被IGNORE降级为警告）
+        if (!likeRepository.existsByNewsIdAndUserId(newsId, userId)) {
             throw new ResourceNotFoundException("用户不存在，ID: " + userId);
         }
-
-        // 检查是否已点赞
-        if (likeRepository.existsByNewsIdAndUserId(newsId, userId)) {
-            log.info("User {} already liked news {}", userId, newsId);
-            return;
-        }
-
-        Like like = Like.builder()
-                .newsId(newsId)
-                .userId(userId)
-                .build();
-
-        likeRepository.save(like);
-        log.info("Like created successfully");
+        newsCounterService.adjustLikes(newsId, -1);
+        return false;
     }
 
     /**
-     * 取消点赞
+     * 取消点赞（幂等）
+     * 与点赞相同先锁定新闻行，按DELETE影响行数决定是否补偿计数
+     *
+     * @return 是否删除了点赞
      */
     @Transactional
-    public void unlikeNews(Long newsId, Long userId) {
-        log.info("User {} unliking news {}", userId, newsId);
+    public boolean unlikeNews(Long newsId, Long userId) {
+        newsCounterService.adjustLikes(newsId, -1);
 
-        if (likeRepository.existsByNewsIdAndUserId(newsId, userId)) {
-            likeRepository.deleteByNewsIdAndUserId(newsId, userId);
-            log.info("Like removed successfully");
+        if (likeRepository.deleteByNewsIdAndUserId(newsId, userId) > 0) {
+            hotNewsLeaderboard.recordLike(newsId, -1);
+            eventPublisher.publishEvent(new LikeChangedEvent(newsId, userId, false));
+            log.debug("User {} unliked news {}", userId, newsId);
+            return true;
         }
+
+        newsCounterService.adjustLikes(newsId, 1);
+        return false;
     }
 
     /**
@@ -75,10 +84,20 @@ public class LikeService {
     }
 
     /**
-     * 统计新闻点赞数
+     * 批量查询用户在给定新闻中点赞过的ID（列表页一次请求）
+     */
+    public Set<Long> getLikedNewsIds(Long userId, Collection<Long> newsIds) {
+        if (newsIds.size() > MAX_STATUS_BATCH) {
+            throw new BusinessException("单次最多查询" + MAX_STATUS_BATCH + "条新闻的点赞状态");
+        }
+        return userLikeCache.likedAmong(userId, newsIds);
+    }
+
+    /**
+     * 统计新闻点赞数（读取news表的反范式计数）
      */
     public long countNewsLikes(Long newsId) {
-        return likeRepository.countByNewsId(newsId);
+        return newsCounterService.getLikeCount(newsId);
     }
 }
 
@@ -0,0 +1,90 @@
+package com.news.service;
+
+import com.news.config.CacheNames;
+import com.news.event.NewsBatchCreatedEvent;
+import com.news.event.NewsChangedEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 新闻列表缓存失效
+ * 新闻变更（事务提交后）清空列表缓存，各节点的本地缓存经发布订阅同步清理。
+ * 批量入库时连续触发的变更合并：窗口内首个变更立即清空，其余在窗口结束时统一清空一次
+ */
+@Component
+@Slf4j
+public class NewsCacheInvalidator {
+
+    private static final List<String> NEWS_CACHES =
+            List.of(CacheNames.NEWS_LIST, CacheNames.LATEST_NEWS);
+
+    private final CacheManager cacheManager;
+    private final TaskScheduler taskScheduler;
+    private final long windowNanos;
+
+    private final AtomicBoolean trailingScheduled = new AtomicBoolean();
+    private volatile long lastClearNanos;
+
+    public NewsCacheInvalidator(CacheManager cacheManager,
+                                TaskScheduler taskScheduler,
+                                @Value("${app.cache.invalidation-window:200}") long windowMillis) {
+        this.cacheManager = cacheManager;
+        this.taskScheduler = taskScheduler;
+        this.windowNanos = TimeUnit.MILLISECONDS.toNanos(windowMillis);
+        this.lastClearNanos = System.nanoTime() - windowNanos;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onNewsChanged(NewsChangedEvent event) {
+        if (event.type() == NewsChangedEvent.ChangeType.DELETED) {
+            Cache summaries = cacheManager.getCache(CacheNames.SUMMARIES);
+            if (summaries != null) {
+                summaries.evict(event.newsId());
+            }
+        }
+        invalidate();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onNewsBatchCreated(NewsBatchCreatedEvent event) {
+        invalidate();
+    }
+
+    private void invalidate() {
+        if (System.nanoTime() - lastClearNanos >= windowNanos) {
+            clearNewsCaches();
+        } else if (trailingScheduled.compareAndSet(false, true)) {
+            taskScheduler.schedule(() -> {
+                trailingScheduled.set(false);
+                clearNewsCaches();
+            }, Instant.now().plusNanos(windowNanos));
+        }
+    }
+
+    private void clearNewsCaches() {
+        lastClearNanos = System.nanoTime();
+        for (String name : NEWS_CACHES) {
+            Cache cache = cacheManager.getCache(name);
+            if (cache == null) {
+                continue;
+            }
+            try {
+                cache.clear();
+            } catch (Exception e) {
+                // Redis不可用时，L2条目在TTL到期后失效
+                log.warn("Failed to clear cache {}: {}", name, e.getMessage());
+            }
+        }
+        log.debug("News list caches cleared");
+    }
+}
@@ -0,0 +1,100 @@
+package com.news.service;
+
+import com.news.exception.ResourceNotFoundException;
+import com.news.repository.NewsRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+/**
+ * 新闻点赞数、评论数计数服务
+ * news表的like_count、comment_count在点赞/评论写入的同一事务内用单条UPDATE原子增减，
+ * 计数查询直接读取这两列，不再对likes、comments表做COUNT；
+ * 定时校正任务按ID区间批量修复可能出现的偏差
+ */
+@Service
+@Slf4j
+public class NewsCounterService {
+
+    private final NewsRepository newsRepository;
+    private final Counter repairedLikes;
+    private final Counter repairedComments;
+
+    @Value("${counters.reconcile.batch-size:1000}")
+    private int batchSize;
+
+    public NewsCounterService(NewsRepository newsRepository, MeterRegistry meterRegistry) {
+        this.newsRepository = newsRepository;
+        this.repairedLikes = Counter.builder("news.counter.repaired")
+                .description("校正任务修复的计数行数")
+                .tag("counter", "like")
+                .register(meterRegistry);
+        this.repairedComments = Counter.builder("news.counter.repaired")
+                .description("校正任务修复的计数行数")
+                .tag("counter", "comment")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 调整点赞数（需在调用方事务内执行）
+     * 同时作为新闻存在性校验，新闻不存在时抛出异常使事务回滚
+     */
+    public void adjustLikes(Long newsId, int delta) {
+        if (newsRepository.adjustLikeCount(newsId, delta) == 0) {
+            throw new ResourceNotFoundException("新闻不存在，ID: " + newsId);
+        }
+    }
+
+    /**
+     * 调整评论数（需在调用方事务内执行）
+     * 同时作为新闻存在性校验，新闻不存在时抛出异常使事务回滚
+     */
+    public void adjustComments(Long newsId, int delta) {
+        if (newsRepository.adjustCommentCount(newsId, delta) == 0) {
+            throw new ResourceNotFoundException("新闻不存在，ID: " + newsId);
+        }
+    }
+
+    /**
+     * 获取点赞数
+     */
+    public long getLikeCount(Long newsId) {
+        return newsRepository.findLikeCountById(newsId).map(count -> Math.max(count, 0L)).orElse(0L);
+    }
+
+    /**
+     * 获取评论数
+     */
+    public long getCommentCount(Long newsId) {
+        return newsRepository.findCommentCountById(newsId).map(count -> Math.max(count, 0L)).orElse(0L);
+    }
+
+    /**
+     * 按likes、comments表校正全部新闻的计数
+     * 按ID区间分批，每批一条UPDATE JOIN并单独提交，只写入不一致的行
+     *
+     * @return 校正的行数
+     */
+    public int reconcile() {
+        Long maxId = newsRepository.findMaxId();
+        if (maxId == null) {
+            return 0;
+        }
+
+        int likes = 0;
+        int comments = 0;
+        for (long from = 1; from <= maxId; from += batchSize) {
+            long to = from + batchSize - 1;
+            likes += newsRepository.reconcileLikeCounts(from, to);
+            comments += newsRepository.reconcileCommentCounts(from, to);
+        }
+        repairedLikes.increment(likes);
+        repairedComments.increment(comments);
+        if (likes + comments > 0) {
+            log.warn("Counter drift repaired: {} like counts, {} comment counts", likes, comments);
+        }
+        return likes + comments;
+    }
+}
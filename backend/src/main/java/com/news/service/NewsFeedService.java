@@ -0,0 +1,96 @@
+package com.news.service;
+
+import com.news.exception.BusinessException;
+import com.news.model.dto.CursorSlice;
+import com.news.model.dto.FeedCursor;
+import com.news.model.dto.NewsFeedItem;
+import com.news.repository.NewsRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * 新闻列表游标分页服务
+ * 按 (排序键, id) 定位下一页，不使用OFFSET，也不执行count查询；
+ * 每次多取一条判断是否还有下一页
+ */
+@Service
+@RequiredArgsConstructor
+public class NewsFeedService {
+
+    private static final int MAX_SIZE = 100;
+
+    private final NewsRepository newsRepository;
+
+    /**
+     * 最新新闻
+     */
+    public CursorSlice<NewsFeedItem> getLatest(String cursor, int size) {
+        return byTime(cursor, size, (after, limit) ->
+                newsRepository.findLatestFeedAfter(after.time(), after.id(), limit));
+    }
+
+    /**
+     * 分类下的最新新闻
+     */
+    public CursorSlice<NewsFeedItem> getByCategory(Long categoryId, String cursor, int size) {
+        return byTime(cursor, size, (after, limit) ->
+                newsRepository.findCategoryFeedAfter(categoryId, after.time(), after.id(), limit));
+    }
+
+    /**
+     * 来源下的最新新闻
+     */
+    public CursorSlice<NewsFeedItem> getBySource(String sourceWebsite, String cursor, int size) {
+        return byTime(cursor, size, (after, limit) ->
+                newsRepository.findSourceFeedAfter(sourceWebsite, after.time(), after.id(), limit));
+    }
+
+    /**
+     * 时间范围内的新闻
+     */
+    public CursorSlice<NewsFeedItem> getByTimeRange(LocalDateTime startTime, LocalDateTime endTime,
+                                                    String cursor, int size) {
+        if (startTime.isAfter(endTime)) {
+            throw new BusinessException("开始时间不能晚于结束时间");
+        }
+        return byTime(cursor, size, (after, limit) ->
+                newsRepository.findRangeFeedAfter(startTime, endTime, after.time(), after.id(), limit));
+    }
+
+    /**
+     * 智能排序（按热度分值）
+     * 热度分值定时刷新，刷新前后翻页可能出现少量重复或遗漏
+     */
+    public CursorSlice<NewsFeedItem> getSmart(Long categoryId, String cursor, int size) {
+        FeedCursor after = FeedCursor.decode(cursor, FeedCursor.FIRST_BY_SCORE);
+        return slice(size, limit -> categoryId != null
+                        ? newsRepository.findCategorySmartFeedAfter(categoryId, after.score(), after.id(), limit)
+                        : newsRepository.findSmartFeedAfter(after.score(), after.id(), limit),
+                last -> FeedCursor.byScore(last.getHotScore(), last.getId()));
+    }
+
+    private CursorSlice<NewsFeedItem> byTime(String cursor, int size,
+                                             BiFunction<FeedCursor, Pageable, List<NewsFeedItem>> query) {
+        FeedCursor after = FeedCursor.decode(cursor, FeedCursor.FIRST_BY_TIME);
+        return slice(size, limit -> query.apply(after, limit),
+                last -> FeedCursor.byTime(last.getPublishTime(), last.getId()));
+    }
+
+    private CursorSlice<NewsFeedItem> slice(int size,
+                                            Function<Pageable, List<NewsFeedItem>> query,
+                                            Function<NewsFeedItem, FeedCursor> cursorOf) {
+        int limit = Math.max(1, Math.min(size, MAX_SIZE));
+        List<NewsFeedItem> rows = query.apply(PageRequest.of(0, limit + 1));
+        boolean hasNext = rows.size() > limit;
+        List<NewsFeedItem> content = hasNext ? rows.subList(0, limit) : rows;
+        String nextCursor = hasNext ? cursorOf.apply(content.get(content.size() - 1)).encode() : null;
+        return new CursorSlice<>(content, nextCursor, hasNext);
+    }
+}
@@ -0,0 +1,265 @@
+package com.news.service;
+
+import com.news.event.NewsBatchCreatedEvent;
+import com.news.model.entity.News;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 爬取新闻入库服务
+ * 整批去重（一次IN查询）、内存分类、多行INSERT批量写入，数据库往返次数与批次大小无关
+ */
+@Service
+@Slf4j
+public class NewsIngestionService {
+
+    private static final int MAX_TITLE_LENGTH = 255;
+    private static final int MAX_URL_LENGTH = 500;
+
+    private static final String INSERT_COLUMNS = "INSERT INTO news (title, content, source_website, " +
+            "original_url, image_url, category_id, publish_time, crawl_time, status, classification_method, " +
+            "view_count, like_count, comment_count, hot_score, updated_at) VALUES ";
+    private static final String INSERT_ROW = "(?, ?, ?, ?, ?, ?, ?, ?, ?, ?, 0, 0, 0, 0, ?)";
+    // 只忽略唯一键冲突；外键和数据错误照常报错，不会被当作重复
+    private static final String ON_DUPLICATE = " ON DUPLICATE KEY UPDATE id = id";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final ClassificationService classificationService;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${crawler.ingest.insert-batch-size:100}")
+    private int insertBatchSize;
+
+    public NewsIngestionService(NamedParameterJdbcTemplate jdbcTemplate,
+                                ClassificationService classificationService,
+                                ApplicationEventPublisher eventPublisher) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.classificationService = classificationService;
+        this.eventPublisher = eventPublisher;
+    }
+
+    /**
+     * 批量入库爬取的新闻
+     * 标题或原始URL已存在的视为重复；已存在但缺少配图的新闻补充配图
+     */
+    @Transactional
+    public IngestResult ingest(List<News> crawledNews) {
+        int invalid = 0;
+        Map<String, News> byTitle = new LinkedHashMap<>();
+        Set<String> urls = new HashSet<>();
+        for (News news : crawledNews) {
+            if (!isValid(news)) {
+                invalid++;
+                continue;
+            }
+            // 批次内去重
+            if (byTitle.containsKey(news.getTitle()) || !urls.add(news.getOriginalUrl())) {
+                continue;
+            }
+            byTitle.put(news.getTitle(), news);
+        }
+        if (byTitle.isEmpty()) {
+            return new IngestResult(0, 0, crawledNews.size() - invalid, invalid);
+        }
+
+        // 1. 整批查询已存在的新闻
+        List<ExistingNews> existing = findExisting(byTitle.keySet(), urls);
+        Map<String, ExistingNews> existingByTitle = new HashMap<>();
+        Map<String, ExistingNews> existingByUrl = new HashMap<>();
+        for (ExistingNews row : existing) {
+            existingByTitle.put(row.title(), row);
+            existingByUrl.put(row.originalUrl(), row);
+        }
+
+        List<News> fresh = new ArrayList<>();
+        Map<Long, String> imageUpdates = new LinkedHashMap<>();
+        for (News news : byTitle.values()) {
+            ExistingNews match = existingByTitle.get(news.getTitle());
+            if (match == null) {
+                match = existingByUrl.get(news.getOriginalUrl());
+            }
+            if (match == null) {
+                fresh.add(news);
+            } else if (isBlank(match.imageUrl()) && !isBlank(news.getImageUrl())) {
+                imageUpdates.put(match.id(), news.getImageUrl());
+            }
+        }
+
+        // 2. 补充配图
+        int imageUpdated = imageUpdates.isEmpty() ? 0 : updateImages(imageUpdates);
+
+        // 3. 内存分类并批量写入
+        int inserted = 0;
+        if (!fresh.isEmpty()) {
+            classificationService.classifyNewsBatch(fresh);
+            invalid += insertBatch(fresh);
+            inserted = publishInserted(fresh);
+        }
+
+        int duplicates = crawledNews.size() - invalid - inserted - imageUpdated;
+        log.info("Ingested crawl batch: inserted={}, imageUpdated={}, duplicates={}, invalid={}",
+                inserted, imageUpdated, duplicates, invalid);
+        return new IngestResult(inserted, imageUpdated, duplicates, invalid);
+    }
+
+    private List<ExistingNews> findExisting(Set<String> titles, Set<String> urls) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("titles", titles)
+                .addValue("urls", urls);
+        return jdbcTemplate.query(
+                "SELECT id, title, original_url, image_url FROM news " +
+                "WHERE title IN (:titles) OR original_url IN (:urls)",
+                params,
+                this::mapExisting);
+    }
+
+    private ExistingNews mapExisting(ResultSet rs, int rowNum) throws SQLException {
+        return new ExistingNews(rs.getLong("id"), rs.getString("title"),
+                rs.getString("original_url"), rs.getString("image_url"));
+    }
+
+    /**
+     * 以单条CASE更新补充配图，只覆盖仍为空的配图
+     */
+    private int updateImages(Map<Long, String> imageUpdates) {
+        StringBuilder sql = new StringBuilder("UPDATE news SET image_url = CASE id");
+        MapSqlParameterSource params = new MapSqlParameterSource("ids", imageUpdates.keySet());
+        int i = 0;
+        for (Map.Entry<Long, String> entry : imageUpdates.entrySet()) {
+            sql.append(" WHEN :id").append(i).append(" THEN :image").append(i);
+            params.addValue("id" + i, entry.getKey());
+            params.addValue("image" + i, entry.getValue());
+            i++;
+        }
+        sql.append(" ELSE image_url END WHERE id IN (:ids) AND (image_url IS NULL OR image_url = '')");
+        return jdbcTemplate.update(sql.toString(), params);
+    }
+
+    /**
+     * 多行INSERT写入，唯一键冲突（并发爬取同一新闻）由ON DUPLICATE KEY UPDATE跳过；
+     * 某段因外键或数据错误失败时逐行重写，定位失败的行
+     *
+     * @return 写入失败的行数
+     */
+    private int insertBatch(List<News> fresh) {
+        LocalDateTime now = LocalDateTime.now();
+        int failed = 0;
+        for (int from = 0; from < fresh.size(); from += insertBatchSize) {
+            List<News> chunk = fresh.subList(from, Math.min(from + insertBatchSize, fresh.size()));
+            try {
+                insertRows(chunk, now);
+            } catch (DataAccessException e) {
+                log.warn("Bulk insert of {} news failed, retrying row by row: {}", chunk.size(), e.getMessage());
+                for (News news : chunk) {
+                    try {
+                        insertRows(List.of(news), now);
+                    } catch (DataAccessException rowError) {
+                        failed++;
+                        log.warn("Failed to insert news '{}' ({}): {}",
+                                news.getTitle(), news.getOriginalUrl(), rowError.getMessage());
+                    }
+                }
+            }
+        }
+        return failed;
+    }
+
+    private void insertRows(List<News> rows, LocalDateTime now) {
+        StringBuilder sql = new StringBuilder(INSERT_COLUMNS);
+        List<Object> args = new ArrayList<>(rows.size() * 11);
+        for (int i = 0; i < rows.size(); i++) {
+            News news = rows.get(i);
+            sql.append(i == 0 ? INSERT_ROW : "," + INSERT_ROW);
+            args.add(news.getTitle());
+            args.add(news.getContent());
+            args.add(news.getSourceWebsite());
+            args.add(news.getOriginalUrl());
+            args.add(news.getImageUrl());
+            args.add(news.getCategoryId());
+            args.add(Timestamp.valueOf(news.getPublishTime()));
+            args.add(Timestamp.valueOf(news.getCrawlTime() != null ? news.getCrawlTime() : now));
+            args.add(news.getStatus() != null ? news.getStatus() : "PUBLISHED");
+            args.add(news.getClassificationMethod() != null ? news.getClassificationMethod() : "AUTO");
+            args.add(Timestamp.valueOf(now));
+        }
+        sql.append(ON_DUPLICATE);
+        jdbcTemplate.getJdbcTemplate().update(sql.toString(), args.toArray());
+    }
+
+    /**
+     * 一次查询回填本批写入的新闻ID，并为整批发布一次创建事件
+     */
+    private int publishInserted(List<News> fresh) {
+        Map<String, News> byTitle = new HashMap<>();
+        fresh.forEach(news -> byTitle.put(news.getTitle(), news));
+
+        List<ExistingNews> rows = jdbcTemplate.query(
+                "SELECT id, title, original_url, image_url FROM news WHERE title IN (:titles)",
+                new MapSqlParameterSource("titles", byTitle.keySet()),
+                this::mapExisting);
+        List<News> inserted = new ArrayList<>(rows.size());
+        for (ExistingNews row : rows) {
+            News news = byTitle.get(row.title());
+            // 标题相同但URL不同说明被并发写入的其他新闻占用
+            if (news == null || !news.getOriginalUrl().equals(row.originalUrl())) {
+                continue;
+            }
+            news.setId(row.id());
+            news.setViewCount(0L);
+            news.setLikeCount(0);
+            news.setCommentCount(0);
+            news.setHotScore(0.0);
+            if (news.getStatus() == null) {
+                news.setStatus("PUBLISHED");
+            }
+            inserted.add(news);
+        }
+        if (!inserted.isEmpty()) {
+            eventPublisher.publishEvent(new NewsBatchCreatedEvent(inserted));
+        }
+        return inserted.size();
+    }
+
+    private boolean isValid(News news) {
+        return !isBlank(news.getTitle()) && news.getTitle().length() <= MAX_TITLE_LENGTH
+                && !isBlank(news.getOriginalUrl()) && news.getOriginalUrl().length() <= MAX_URL_LENGTH
+                && news.getContent() != null && news.getSourceWebsite() != null
+                && news.getPublishTime() != null;
+    }
+
+    private boolean isBlank(String value) {
+        return value == null || value.isEmpty();
+    }
+
+    /**
+     * 入库结果
+     *
+     * @param inserted     新写入数
+     * @param imageUpdated 补充配图数
+     * @param duplicates   重复跳过数
+     * @param invalid      字段不完整或写入失败（外键、数据错误）跳过数
+     */
+    public record IngestResult(int inserted, int imageUpdated, int duplicates, int invalid) {
+    }
+
+    private record ExistingNews(Long id, String title, String originalUrl, String imageUrl) {
+    }
+}
@@ -1,36 +1,66 @@
 package com.news.service;
 
+import com.news.config.CacheNames;
+import com.news.event.NewsChangedEvent;
 import com.news.exception.BusinessException;
 import com.news.exception.ResourceNotFoundException;
+import com.news.model.dto.NewsFeedItem;
 import com.news.model.entity.News;
 import com.news.repository.NewsRepository;
+import com.news.search.NewsSearchService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.annotation.Lazy;
+import org.springframework.core.task.TaskRejectedException;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 /**
  * 新闻服务
+ * 公开列表查询经二级缓存，新闻变更后由NewsCacheInvalidator失效
  */
 @Service
 @Slf4j
 public class NewsService {
 
     private final NewsRepository newsRepository;
+    private final ViewCountBuffer viewCountBuffer;
+    private final HotNewsLeaderboard hotNewsLeaderboard;
+    private final NewsSearchService newsSearchService;
+    private final ApplicationEventPublisher eventPublisher;
     private SummaryService summaryService;
 
     @Value("${summary.auto-generate:true}")
     private boolean autoGenerateSummary;
 
-    public NewsService(NewsRepository newsRepository) {
+    @Value("${ranking.hot-score.batch-size:1000}")
+    private int hotScoreBatchSize;
+
+    public NewsService(NewsRepository newsRepository,
+                       ViewCountBuffer viewCountBuffer,
+                       HotNewsLeaderboard hotNewsLeaderboard,
+                       NewsSearchService newsSearchService,
+                       ApplicationEventPublisher eventPublisher) {
         this.newsRepository = newsRepository;
+        this.viewCountBuffer = viewCountBuffer;
+        this.hotNewsLeaderboard = hotNewsLeaderboard;
+        this.newsSearchService = newsSearchService;
+        this.eventPublisher = eventPublisher;
     }
 
     @Autowired
@@ -57,11 +87,17 @@ public class NewsService {
 
         News saved = newsRepository.save(news);
         log.info("News created successfully with ID: {}", saved.getId());
+        eventPublisher.publishEvent(NewsChangedEvent.created(saved));
 
         // 自动生成摘要（异步）
         if (autoGenerateSummary && summaryService != null && "PUBLISHED".equals(saved.getStatus())) {
             log.info("Triggering async summary generation for news: {}", saved.getId());
-            summaryService.generateSummaryAsync(saved.getId());
+            try {
+                summaryService.generateSummaryAsync(saved.getId());
+            } catch (TaskRejectedException e) {
+                // 摘要线程池已满时不阻塞发布，摘要留待批量任务补齐
+                log.warn("Summary executor saturated, skipped summary for news {}", saved.getId());
+            }
         }
 
         return saved;
@@ -91,6 +127,7 @@ public class NewsService {
 
         News updated = newsRepository.save(existing);
         log.info("News updated successfully: {}", id);
+        eventPublisher.publishEvent(NewsChangedEvent.updated(updated));
         return updated;
     }
 
@@ -107,6 +144,7 @@ public class NewsService {
 
         newsRepository.deleteById(id);
         log.info("News deleted successfully: {}", id);
+        eventPublisher.publishEvent(NewsChangedEvent.deleted(id));
     }
 
     /**
@@ -119,28 +157,33 @@ public class NewsService {
 
     /**
      * 获取新闻并增加浏览次数
+     * 浏览次数先记入写缓冲，由ViewCountBuffer定时批量写回
      */
-    @Transactional
     public News getNewsWithViewIncrement(Long id) {
         News news = getNewsById(id);
-        newsRepository.incrementViewCount(id);
-        news.incrementViewCount(); // 更新内存中的对象
-        log.info("Incremented view count for news: {}", id);
+        viewCountBuffer.record(id);
+        hotNewsLeaderboard.recordView(id);
+        // 返回值包含本节点尚未写回的增量
+        news.setViewCount(news.getViewCount() + viewCountBuffer.pendingFor(id));
+        log.debug("Recorded view for news: {}", id);
         return news;
     }
 
     /**
      * 分页获取所有已发布新闻（智能排序）
      */
-    public Page<News> getPublishedNewsWithSmartSort(Pageable pageable) {
-        return newsRepository.findByStatusWithSmartSort("PUBLISHED", pageable);
+    @Cacheable(cacheNames = CacheNames.NEWS_LIST, key = "'all:' + #pageable.pageNumber + ':' + #pageable.pageSize")
+    public Page<NewsFeedItem> getPublishedNewsWithSmartSort(Pageable pageable) {
+        return newsRepository.findFeedByStatusWithSmartSort("PUBLISHED", pageable);
     }
 
     /**
      * 根据分类分页获取新闻（智能排序）
      */
-    public Page<News> getNewsByCategoryWithSmartSort(Long categoryId, Pageable pageable) {
-        return newsRepository.findByCategoryIdAndStatusWithSmartSort(
+    @Cacheable(cacheNames = CacheNames.NEWS_LIST,
+            key = "#categoryId + ':' + #pageable.pageNumber + ':' + #pageable.pageSize")
+    public Page<NewsFeedItem> getNewsByCategoryWithSmartSort(Long categoryId, Pageable pageable) {
+        return newsRepository.findFeedByCategoryIdAndStatusWithSmartSort(
                 categoryId, "PUBLISHED", pageable);
     }
 
@@ -154,39 +197,67 @@ public class NewsService {
     /**
      * 根据来源分页获取新闻
      */
-    public Page<News> getNewsBySource(String sourceWebsite, Pageable pageable) {
-        return newsRepository.findBySourceWebsite(sourceWebsite, pageable);
+    public Page<NewsFeedItem> getNewsBySource(String sourceWebsite, Pageable pageable) {
+        return newsRepository.findFeedBySourceWebsite(sourceWebsite, pageable);
     }
 
     /**
-     * 搜索新闻（标题和内容）
+     * 搜索新闻（标题、摘要和内容）
+     * 优先使用内存倒排索引，索引未就绪时回退到数据库LIKE查询
      */
     public Page<News> searchNews(String keyword, Pageable pageable) {
+        if (newsSearchService.isReady()) {
+            return newsSearchService.search(keyword, pageable);
+        }
         return newsRepository.searchByKeyword(keyword, "PUBLISHED", pageable);
     }
 
     /**
      * 获取热门新闻
+     * 优先读取HotNewsLeaderboard的滚动窗口排行榜，再按ID回表；
+     * 排行榜不可用时回退到数据库（全站按最近7天浏览量，分类按热度分值）
+     *
+     * @param categoryId 分类ID，为null时取全站
      */
-    public Page<News> getHotNews(Pageable pageable) {
-        return newsRepository.findHotNews(pageable);
+    public Page<NewsFeedItem> getHotNews(Long categoryId, Pageable pageable) {
+        Optional<Page<Long>> ranked = hotNewsLeaderboard.topIds(categoryId, pageable);
+        if (ranked.isEmpty()) {
+            return categoryId != null
+                    ? newsRepository.findFeedByCategoryIdAndStatusWithSmartSort(categoryId, "PUBLISHED", pageable)
+                    : newsRepository.findHotFeed(LocalDateTime.now().minusDays(7), pageable);
+        }
+
+        Page<Long> ids = ranked.get();
+        if (ids.isEmpty()) {
+            return new PageImpl<>(List.of(), pageable, ids.getTotalElements());
+        }
+        Map<Long, NewsFeedItem> items = newsRepository.findFeedByIds(ids.getContent()).stream()
+                .filter(item -> categoryId == null || categoryId.equals(item.getCategoryId()))
+                .collect(Collectors.toMap(NewsFeedItem::getId, Function.identity()));
+        // 按排名顺序返回，跳过已下线或已调整分类的新闻
+        List<NewsFeedItem> content = ids.getContent().stream()
+                .map(items::get)
+                .filter(Objects::nonNull)
+                .toList();
+        return new PageImpl<>(content, pageable, ids.getTotalElements());
     }
 
     /**
      * 获取最新新闻
      */
-    public Page<News> getLatestNews(Pageable pageable) {
-        return newsRepository.findLatestNews(pageable);
+    @Cacheable(cacheNames = CacheNames.LATEST_NEWS, key = "#pageable.pageNumber + ':' + #pageable.pageSize")
+    public Page<NewsFeedItem> getLatestNews(Pageable pageable) {
+        return newsRepository.findLatestFeed(pageable);
     }
 
     /**
      * 根据时间范围获取新闻
      */
-    public Page<News> getNewsByTimeRange(
+    public Page<NewsFeedItem> getNewsByTimeRange(
             LocalDateTime startTime,
             LocalDateTime endTime,
             Pageable pageable) {
-        return newsRepository.findByTimeRange(startTime, endTime, "PUBLISHED", pageable);
+        return newsRepository.findFeedByTimeRange(startTime, endTime, "PUBLISHED", pageable);
     }
 
     /**
@@ -204,6 +275,28 @@ public class NewsService {
         return total != null ? total : 0L;
     }
 
+    /**
+     * 重新计算热度分值
+     * 按ID区间分批，每批一条UPDATE并单独提交，只写入分值变化的行，避免长时间持有大量行锁
+     * @param since 仅刷新该时间之后发布的新闻，为null时全量刷新
+     */
+    public int refreshHotScores(LocalDateTime since) {
+        LocalDateTime from = since != null ? since : LocalDateTime.of(1970, 1, 1, 0, 0);
+        List<Object[]> range = newsRepository.findPublishedIdRangeSince(from);
+        if (range.isEmpty() || range.get(0)[0] == null) {
+            return 0;
+        }
+        long minId = ((Number) range.get(0)[0]).longValue();
+        long maxId = ((Number) range.get(0)[1]).longValue();
+
+        int updated = 0;
+        for (long fromId = minId; fromId <= maxId; fromId += hotScoreBatchSize) {
+            updated += newsRepository.refreshHotScores(fromId, fromId + hotScoreBatchSize - 1, from);
+        }
+        log.debug("Refreshed hot score for {} news published since {}", updated, from);
+        return updated;
+    }
+
     /**
      * 发布新闻
      */
@@ -219,6 +312,7 @@ public class NewsService {
 
         News published = newsRepository.save(news);
         log.info("News published successfully: {}", id);
+        eventPublisher.publishEvent(NewsChangedEvent.updated(published));
         return published;
     }
 
@@ -234,6 +328,7 @@ public class NewsService {
 
         News archived = newsRepository.save(news);
         log.info("News archived successfully: {}", id);
+        eventPublisher.publishEvent(NewsChangedEvent.updated(archived));
         return archived;
     }
 }
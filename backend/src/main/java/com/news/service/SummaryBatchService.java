@@ -0,0 +1,369 @@
+package com.news.service;
+
+import com.news.ai.AdaptiveRateLimiter;
+import com.news.ai.ZhipuAIRateLimitException;
+import com.news.exception.BusinessException;
+import com.news.exception.ResourceNotFoundException;
+import com.news.model.entity.Summary;
+import com.news.model.entity.SummaryBatchJob;
+import com.news.repository.NewsRepository;
+import com.news.repository.SummaryBatchJobRepository;
+import com.news.repository.SummaryRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 批量摘要任务服务
+ * 按新闻ID游标分页，页内以固定并发调用AI接口，通过自适应令牌桶控制请求速率并在限流时退避；
+ * 每页处理完后持久化断点，暂停、取消或重启后从断点继续
+ */
+@Service
+@Slf4j
+public class SummaryBatchService {
+
+    private static final String PUBLISHED = "PUBLISHED";
+    private static final List<String> ACTIVE_STATUSES = List.of("RUNNING", "PAUSED");
+
+    private final SummaryBatchJobRepository jobRepository;
+    private final NewsRepository newsRepository;
+    private final SummaryRepository summaryRepository;
+    private final SummaryService summaryService;
+    private final AdaptiveRateLimiter rateLimiter;
+    private final ExecutorService coordinator;
+    private final ExecutorService workers;
+
+    // 运行中任务的控制信号：任务ID -> 请求的目标状态
+    private final Map<Long, JobControl> controls = new ConcurrentHashMap<>();
+    // 串行化“检查是否有未结束任务再创建”，避免并发请求各自创建任务
+    private final ReentrantLock startLock = new ReentrantLock();
+
+    @Value("${summary.batch.page-size:50}")
+    private int pageSize;
+
+    @Value("${summary.batch.max-attempts:5}")
+    private int maxAttempts;
+
+    public SummaryBatchService(SummaryBatchJobRepository jobRepository,
+                               NewsRepository newsRepository,
+                               SummaryRepository summaryRepository,
+                               SummaryService summaryService,
+                               MeterRegistry meterRegistry,
+                               @Value("${summary.batch.concurrency:4}") int concurrency,
+                               @Value("${summary.batch.rate.initial:2.0}") double initialRate,
+                               @Value("${summary.batch.rate.min:0.2}") double minRate,
+                               @Value("${summary.batch.rate.max:10.0}") double maxRate,
+                               @Value("${summary.batch.rate.increase-step:0.05}") double increaseStep,
+                               @Value("${summary.batch.rate.burst:4}") int burst,
+                               @Value("${summary.batch.rate.backoff:5000}") long backoffMillis) {
+        this.jobRepository = jobRepository;
+        this.newsRepository = newsRepository;
+        this.summaryRepository = summaryRepository;
+        this.summaryService = summaryService;
+        this.rateLimiter = new AdaptiveRateLimiter(initialRate, minRate, maxRate, increaseStep, burst, backoffMillis);
+        this.coordinator = Executors.newSingleThreadExecutor(runnable -> daemon(runnable, "SummaryBatch-coordinator"));
+        AtomicInteger counter = new AtomicInteger();
+        this.workers = Executors.newFixedThreadPool(concurrency,
+                runnable -> daemon(runnable, "SummaryBatch-" + counter.incrementAndGet()));
+        new ExecutorServiceMetrics(workers, "summaryBatch", Tags.empty()).bindTo(meterRegistry);
+        Gauge.builder("summary.batch.rate", rateLimiter, AdaptiveRateLimiter::getRate)
+                .description("批量摘要当前请求速率（次/秒）")
+                .register(meterRegistry);
+        log.info("Summary batch engine initialized: concurrency={}, initialRate={}/s", concurrency, initialRate);
+    }
+
+    /**
+     * 创建并启动批量摘要任务
+     *
+     * @param forceRegenerate 是否强制重新生成已有摘要
+     */
+    public SummaryBatchJob startJob(boolean forceRegenerate) {
+        SummaryBatchJob job;
+        startLock.lock();
+        try {
+            if (jobRepository.existsByStatusIn(ACTIVE_STATUSES)) {
+                throw new BusinessException("已有未结束的批量摘要任务，请先完成或取消");
+            }
+            job = jobRepository.save(SummaryBatchJob.builder()
+                    .status("RUNNING")
+                    .forceRegenerate(forceRegenerate)
+                    .lastNewsId(0L)
+                    .totalCount((int) newsRepository.countByStatusAndIdGreaterThan(PUBLISHED, 0L))
+                    .startedAt(LocalDateTime.now())
+                    .build());
+        } finally {
+            startLock.unlock();
+        }
+        log.info("Summary batch job {} created (forceRegenerate: {}, total: {})",
+                job.getId(), forceRegenerate, job.getTotalCount());
+        launch(job.getId());
+        return job;
+    }
+
+    /**
+     * 暂停任务，正在处理的新闻完成后生效
+     */
+    public SummaryBatchJob pauseJob(Long jobId) {
+        SummaryBatchJob job = getJob(jobId);
+        JobControl control = controls.get(jobId);
+        if (!"RUNNING".equals(job.getStatus()) || control == null) {
+            throw new BusinessException("任务未在运行，无法暂停");
+        }
+        control.request("PAUSED");
+        log.info("Pause requested for summary batch job {}", jobId);
+        return job;
+    }
+
+    /**
+     * 恢复已暂停的任务
+     */
+    public SummaryBatchJob resumeJob(Long jobId) {
+        SummaryBatchJob job = getJob(jobId);
+        if (controls.containsKey(jobId)) {
+            throw new BusinessException("任务正在运行");
+        }
+        if (job.isFinished()) {
+            throw new BusinessException("任务已结束，无法恢复");
+        }
+        job.setStatus("RUNNING");
+        job = jobRepository.save(job);
+        log.info("Resuming summary batch job {} from news ID {}", jobId, job.getLastNewsId());
+        launch(jobId);
+        return job;
+    }
+
+    /**
+     * 取消任务，运行中的任务在正在处理的新闻完成后停止
+     */
+    public SummaryBatchJob cancelJob(Long jobId) {
+        SummaryBatchJob job = getJob(jobId);
+        if (job.isFinished()) {
+            throw new BusinessException("任务已结束");
+        }
+        JobControl control = controls.get(jobId);
+        if (control != null) {
+            control.request("CANCELLED");
+            log.info("Cancel requested for summary batch job {}", jobId);
+            return job;
+        }
+        job.setStatus("CANCELLED");
+        job.setFinishedAt(LocalDateTime.now());
+        log.info("Summary batch job {} cancelled", jobId);
+        return jobRepository.save(job);
+    }
+
+    /**
+     * 获取任务
+     */
+    public SummaryBatchJob getJob(Long jobId) {
+        return jobRepository.findById(jobId)
+                .orElseThrow(() -> new ResourceNotFoundException("批量摘要任务不存在，ID: " + jobId));
+    }
+
+    /**
+     * 获取最近的任务
+     */
+    public List<SummaryBatchJob> getRecentJobs(int limit) {
+        return jobRepository.findLatestJobs(PageRequest.of(0, limit));
+    }
+
+    /**
+     * 启动时恢复重启前仍在运行的任务
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeInterruptedJobs() {
+        for (SummaryBatchJob job : jobRepository.findByStatus("RUNNING")) {
+            log.info("Resuming interrupted summary batch job {} from news ID {}", job.getId(), job.getLastNewsId());
+            launch(job.getId());
+        }
+    }
+
+    /**
+     * 关闭时停止运行中的任务并保留RUNNING状态，重启后自动恢复
+     */
+    @PreDestroy
+    public void shutdown() {
+        controls.values().forEach(control -> control.request("RUNNING"));
+        coordinator.shutdown();
+        workers.shutdown();
+        try {
+            if (!coordinator.awaitTermination(30, TimeUnit.SECONDS)) {
+                coordinator.shutdownNow();
+                workers.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            coordinator.shutdownNow();
+            workers.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void launch(Long jobId) {
+        if (controls.putIfAbsent(jobId, new JobControl()) != null) {
+            return;
+        }
+        coordinator.execute(() -> run(jobId));
+    }
+
+    private void run(Long jobId) {
+        JobControl control = controls.get(jobId);
+        SummaryBatchJob job = jobRepository.findById(jobId).orElse(null);
+        if (job == null) {
+            controls.remove(jobId);
+            return;
+        }
+
+        try {
+            boolean completed = false;
+            while (control.requested() == null) {
+                List<Long> ids = newsRepository.findIdsByStatusAfter(
+                        PUBLISHED, job.getLastNewsId(), PageRequest.of(0, pageSize));
+                if (ids.isEmpty()) {
+                    completed = true;
+                    break;
+                }
+                job = processPage(job, ids, control);
+            }
+
+            String requested = control.requested();
+            if (completed) {
+                job.setStatus("COMPLETED");
+                job.setFinishedAt(LocalDateTime.now());
+            } else if ("CANCELLED".equals(requested)) {
+                job.setStatus("CANCELLED");
+                job.setFinishedAt(LocalDateTime.now());
+            } else if ("PAUSED".equals(requested)) {
+                job.setStatus("PAUSED");
+            }
+            jobRepository.save(job);
+            log.info("Summary batch job {} stopped with status {}: {} generated, {} skipped, {} failed",
+                    jobId, job.getStatus(), job.getSuccessCount(), job.getSkipCount(), job.getFailCount());
+
+        } catch (Exception e) {
+            log.error("Summary batch job {} failed: {}", jobId, e.getMessage(), e);
+            job.setStatus("FAILED");
+            job.setErrorMessage(e.getMessage());
+            job.setFinishedAt(LocalDateTime.now());
+            jobRepository.save(job);
+        } finally {
+            controls.remove(jobId);
+        }
+    }
+
+    /**
+     * 并发处理一页新闻，并把断点推进到连续完成的最后一条
+     */
+    private SummaryBatchJob processPage(SummaryBatchJob job, List<Long> ids, JobControl control) {
+        Set<Long> withSummary = Boolean.TRUE.equals(job.getForceRegenerate())
+                ? Set.of()
+                : new HashSet<>(summaryRepository.findNewsIdsWithSummary(ids));
+        boolean throttle = summaryService.isAIServiceAvailable();
+
+        List<CompletableFuture<Outcome>> futures = new ArrayList<>(ids.size());
+        for (Long newsId : ids) {
+            futures.add(withSummary.contains(newsId)
+                    ? CompletableFuture.completedFuture(Outcome.SKIPPED)
+                    : CompletableFuture.supplyAsync(() -> generate(newsId, control, throttle), workers));
+        }
+
+        // 工作线程按提交顺序取任务，停止信号之后的任务都不会执行，已完成的新闻构成前缀
+        Long checkpoint = job.getLastNewsId();
+        for (int i = 0; i < ids.size(); i++) {
+            Outcome outcome = futures.get(i).join();
+            if (outcome == Outcome.NOT_STARTED) {
+                break;
+            }
+            checkpoint = ids.get(i);
+            job.setProcessedCount(job.getProcessedCount() + 1);
+            switch (outcome) {
+                case SUCCESS -> job.setSuccessCount(job.getSuccessCount() + 1);
+                case SKIPPED -> job.setSkipCount(job.getSkipCount() + 1);
+                default -> job.setFailCount(job.getFailCount() + 1);
+            }
+        }
+        futures.forEach(CompletableFuture::join);
+
+        job.setLastNewsId(checkpoint);
+        return jobRepository.save(job);
+    }
+
+    private Outcome generate(Long newsId, JobControl control, boolean throttle) {
+        for (int attempt = 1; attempt <= maxAttempts; attempt++) {
+            if (control.requested() != null) {
+                return Outcome.NOT_STARTED;
+            }
+            try {
+                if (throttle) {
+                    rateLimiter.acquire();
+                }
+                Summary summary = summaryService.generateSummary(newsId);
+                if (throttle) {
+                    rateLimiter.onSuccess();
+                }
+                return "SUCCESS".equals(summary.getStatus()) ? Outcome.SUCCESS : Outcome.FAILED;
+            } catch (ZhipuAIRateLimitException e) {
+                log.debug("Rate limited on news {} (attempt {}), backing off", newsId, attempt);
+                rateLimiter.onThrottled(e.getRetryAfterMillis());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return Outcome.NOT_STARTED;
+            } catch (Exception e) {
+                log.error("Failed to generate summary for news {}: {}", newsId, e.getMessage());
+                return Outcome.FAILED;
+            }
+        }
+        log.warn("Giving up on news {} after {} rate-limited attempts", newsId, maxAttempts);
+        return Outcome.FAILED;
+    }
+
+    private static Thread daemon(Runnable runnable, String name) {
+        Thread thread = new Thread(runnable, name);
+        thread.setDaemon(true);
+        return thread;
+    }
+
+    private enum Outcome {
+        SUCCESS,
+        SKIPPED,
+        FAILED,
+        NOT_STARTED
+    }
+
+    /**
+     * 任务控制信号，由接口线程写入、任务线程读取
+     */
+    private static final class JobControl {
+
+        private volatile String requested;
+
+        void request(String status) {
+            requested = status;
+        }
+
+        String requested() {
+            return requested;
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package com.news.service;
+
+import com.news.model.entity.SummaryCacheEntry;
+import com.news.repository.SummaryCacheRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 摘要缓存服务
+ * 按 模型+规范化提示词 的哈希缓存生成结果：本地LRU为一级，summary_cache表为二级。
+ * 相同内容（如多家转载的同一新闻）只调用一次AI接口
+ */
+@Service
+@Slf4j
+public class SummaryCacheService {
+
+    private final SummaryCacheRepository cacheRepository;
+    private final Map<String, String> local;
+    private final ReentrantLock localLock = new ReentrantLock();
+
+    private final Counter localHits;
+    private final Counter databaseHits;
+    private final Counter misses;
+    private final Counter savedCalls;
+
+    public SummaryCacheService(SummaryCacheRepository cacheRepository,
+                               MeterRegistry meterRegistry,
+                               @Value("${summary.cache.local-size:1000}") int localSize) {
+        this.cacheRepository = cacheRepository;
+        this.local = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, String> eldest) {
+                return size() > localSize;
+            }
+        };
+        this.localHits = Counter.builder("summary.cache.requests")
+                .description("摘要缓存查询次数")
+                .tags("result", "hit", "tier", "local")
+                .register(meterRegistry);
+        this.databaseHits = Counter.builder("summary.cache.requests")
+                .description("摘要缓存查询次数")
+                .tags("result", "hit", "tier", "database")
+                .register(meterRegistry);
+        this.misses = Counter.builder("summary.cache.requests")
+                .description("摘要缓存查询次数")
+                .tags("result", "miss", "tier", "none")
+                .register(meterRegistry);
+        this.savedCalls = Counter.builder("summary.cache.api.calls.saved")
+                .description("因缓存命中或内容未变化而省去的AI接口调用次数")
+                .register(meterRegistry);
+        Gauge.builder("summary.cache.local.size", this, SummaryCacheService::localSize)
+                .description("本地摘要缓存条目数")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 查询缓存的摘要
+     */
+    public Optional<String> get(String promptHash) {
+        String cached = getLocal(promptHash);
+        if (cached != null) {
+            localHits.increment();
+            savedCalls.increment();
+            return Optional.of(cached);
+        }
+
+        Optional<String> stored = cacheRepository.findById(promptHash).map(SummaryCacheEntry::getSummaryContent);
+        if (stored.isPresent()) {
+            putLocal(promptHash, stored.get());
+            databaseHits.increment();
+            savedCalls.increment();
+        } else {
+            misses.increment();
+        }
+        return stored;
+    }
+
+    /**
+     * 写入缓存
+     */
+    public void put(String promptHash, String modelVersion, String summaryContent) {
+        cacheRepository.upsert(promptHash, modelVersion, summaryContent);
+        putLocal(promptHash, summaryContent);
+    }
+
+    /**
+     * 记录一次因内容未变化而跳过的生成
+     */
+    public void recordUnchanged() {
+        savedCalls.increment();
+    }
+
+    private String getLocal(String promptHash) {
+        localLock.lock();
+        try {
+            return local.get(promptHash);
+        } finally {
+            localLock.unlock();
+        }
+    }
+
+    private void putLocal(String promptHash, String summaryContent) {
+        localLock.lock();
+        try {
+            local.put(promptHash, summaryContent);
+        } finally {
+            localLock.unlock();
+        }
+    }
+
+    private double localSize() {
+        localLock.lock();
+        try {
+            return local.size();
+        } finally {
+            localLock.unlock();
+        }
+    }
+}
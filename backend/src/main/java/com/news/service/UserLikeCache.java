@@ -0,0 +1,206 @@
+package com.news.service;
+
+import com.news.event.LikeChangedEvent;
+import com.news.repository.LikeRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * 用户点赞状态缓存
+ * 每个用户最近的点赞新闻ID存入Redis集合，并带一个标记成员说明集合是否包含了该用户的全部点赞；
+ * 批量查询用一次SMISMEMBER得到结果，集合不完整时只对未命中的ID回查数据库。
+ * 点赞状态变化（事务提交后）递增该用户的版本号并删除集合，回填时版本号已变化则放弃写入，
+ * 避免并发点赞前读到的旧数据覆盖失效；Redis不可用时直接查询数据库
+ */
+@Component
+@Slf4j
+public class UserLikeCache {
+
+    private static final String KEY_PREFIX = "likes:user:";
+    private static final String COMPLETE = "#complete";
+    private static final String PARTIAL = "#partial";
+    private static final String VERSION_SUFFIX = ":ver";
+
+    /** 版本号未变化时重建集合：ARGV = 期望版本, TTL, 成员... */
+    private static final RedisScript<Long> FILL = new DefaultRedisScript<>(
+            "if (redis.call('GET', KEYS[2]) or '') ~= ARGV[1] then return 0 end " +
+            "redis.call('DEL', KEYS[1]) " +
+            "redis.call('SADD', KEYS[1], unpack(ARGV, 3)) " +
+            "redis.call('EXPIRE', KEYS[1], ARGV[2]) " +
+            "return 1", Long.class);
+
+    /** 递增版本并删除集合：ARGV = TTL */
+    private static final RedisScript<Long> INVALIDATE = new DefaultRedisScript<>(
+            "redis.call('INCR', KEYS[2]) " +
+            "redis.call('EXPIRE', KEYS[2], ARGV[1]) " +
+            "return redis.call('DEL', KEYS[1])", Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final LikeRepository likeRepository;
+    private final Counter hits;
+    private final Counter misses;
+
+    @Value("${likes.status-cache.enabled:true}")
+    private boolean enabled;
+
+    @Value("${likes.status-cache.ttl:600}")
+    private long ttlSeconds;
+
+    @Value("${likes.status-cache.max-size:1000}")
+    private int maxSize;
+
+    public UserLikeCache(StringRedisTemplate redisTemplate,
+                         LikeRepository likeRepository,
+                         MeterRegistry meterRegistry) {
+        this.redisTemplate = redisTemplate;
+        this.likeRepository = likeRepository;
+        this.hits = Counter.builder("likes.status.cache.requests")
+                .description("点赞状态缓存查询次数")
+                .tag("result", "hit")
+                .register(meterRegistry);
+        this.misses = Counter.builder("likes.status.cache.requests")
+                .description("点赞状态缓存查询次数")
+                .tag("result", "miss")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 返回给定新闻中用户已点赞的ID
+     */
+    public Set<Long> likedAmong(Long userId, Collection<Long> newsIds) {
+        if (newsIds.isEmpty()) {
+            return Set.of();
+        }
+        if (!enabled) {
+            return new HashSet<>(likeRepository.findLikedNewsIds(userId, newsIds));
+        }
+
+        Map<Object, Boolean> cached;
+        try {
+            Object[] members = new Object[newsIds.size() + 2];
+            members[0] = COMPLETE;
+            members[1] = PARTIAL;
+            int i = 2;
+            for (Long newsId : newsIds) {
+                members[i++] = newsId.toString();
+            }
+            cached = redisTemplate.opsForSet().isMember(key(userId), members);
+        } catch (Exception e) {
+            log.warn("Like status cache read failed for user {}: {}", userId, e.getMessage());
+            return new HashSet<>(likeRepository.findLikedNewsIds(userId, newsIds));
+        }
+
+        boolean complete = Boolean.TRUE.equals(cached.get(COMPLETE));
+        if (complete || Boolean.TRUE.equals(cached.get(PARTIAL))) {
+            hits.increment();
+            Set<Long> liked = new HashSet<>();
+            List<Long> unknown = new ArrayList<>();
+            for (Long newsId : newsIds) {
+                if (Boolean.TRUE.equals(cached.get(newsId.toString()))) {
+                    liked.add(newsId);
+                } else if (!complete) {
+                    unknown.add(newsId);
+                }
+            }
+            if (!unknown.isEmpty()) {
+                liked.addAll(likeRepository.findLikedNewsIds(userId, unknown));
+            }
+            return liked;
+        }
+
+        misses.increment();
+        return loadAndAnswer(userId, newsIds);
+    }
+
+    /**
+     * 点赞状态变化后递增版本号并失效该用户的集合
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onLikeChanged(LikeChangedEvent event) {
+        if (!enabled) {
+            return;
+        }
+        try {
+            redisTemplate.execute(INVALIDATE, List.of(key(event.userId()), versionKey(event.userId())),
+                    Long.toString(ttlSeconds));
+        } catch (Exception e) {
+            // 集合在TTL到期后失效
+            log.warn("Failed to evict like status cache for user {}: {}", event.userId(), e.getMessage());
+        }
+    }
+
+    /**
+     * 读取用户最近的点赞填充集合，并据此回答本次查询
+     * 版本号须在查询数据库之前读取，查询期间有点赞变化时回填会被放弃
+     */
+    private Set<Long> loadAndAnswer(Long userId, Collection<Long> newsIds) {
+        String version;
+        try {
+            // 版本号不存在时按空串比较
+            version = Objects.requireNonNullElse(redisTemplate.opsForValue().get(versionKey(userId)), "");
+        } catch (Exception e) {
+            log.warn("Like status cache read failed for user {}: {}", userId, e.getMessage());
+            version = null;
+        }
+
+        List<Long> recent = likeRepository.findRecentLikedNewsIds(userId, PageRequest.of(0, maxSize + 1));
+        boolean complete = recent.size() <= maxSize;
+        Set<Long> recentSet = new HashSet<>(complete ? recent : recent.subList(0, maxSize));
+
+        // 读取版本号失败时不回填
+        if (version != null) {
+            fill(userId, version, complete, recentSet);
+        }
+
+        Set<Long> liked = new HashSet<>();
+        List<Long> unknown = new ArrayList<>();
+        for (Long newsId : newsIds) {
+            if (recentSet.contains(newsId)) {
+                liked.add(newsId);
+            } else if (!complete) {
+                unknown.add(newsId);
+            }
+        }
+        if (!unknown.isEmpty()) {
+            liked.addAll(likeRepository.findLikedNewsIds(userId, unknown));
+        }
+        return liked;
+    }
+
+    private void fill(Long userId, String version, boolean complete, Set<Long> recent) {
+        try {
+            List<String> args = new ArrayList<>(recent.size() + 3);
+            args.add(version);
+            args.add(Long.toString(ttlSeconds));
+            args.add(complete ? COMPLETE : PARTIAL);
+            recent.forEach(newsId -> args.add(newsId.toString()));
+            redisTemplate.execute(FILL, List.of(key(userId), versionKey(userId)), args.toArray());
+        } catch (Exception e) {
+            log.warn("Like status cache write failed for user {}: {}", userId, e.getMessage());
+        }
+    }
+
+    private static String key(Long userId) {
+        return KEY_PREFIX + userId;
+    }
+
+    private static String versionKey(Long userId) {
+        return KEY_PREFIX + userId + VERSION_SUFFIX;
+    }
+}
@@ -0,0 +1,48 @@
+package com.news.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.news.model.entity.User;
+import com.news.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 用户名缓存
+ * 评论等列表按用户ID批量解析用户名，未命中的ID合并为一次IN查询；用户名创建后不可修改，按TTL过期即可
+ */
+@Component
+public class UserNameCache {
+
+    private final UserRepository userRepository;
+    private final Cache<Long, String> cache;
+
+    public UserNameCache(UserRepository userRepository,
+                         @Value("${comments.username-cache.max-size:10000}") long maxSize,
+                         @Value("${comments.username-cache.ttl:600}") long ttlSeconds) {
+        this.userRepository = userRepository;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .build();
+    }
+
+    /**
+     * 批量获取用户名，不存在的用户不出现在结果中
+     */
+    public Map<Long, String> getUsernames(Collection<Long> userIds) {
+        return cache.getAll(userIds, missing -> {
+            Map<Long, String> loaded = new HashMap<>();
+            for (User user : userRepository.findAllById(List.copyOf(missing))) {
+                loaded.put(user.getId(), user.getUsername());
+            }
+            return loaded;
+        });
+    }
+}
@@ -0,0 +1,385 @@
+package com.news.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 浏览次数写缓冲
+ * 请求线程只做无锁的内存累加，由定时任务把增量合并成批量UPDATE写回数据库，
+ * 避免热门新闻的单行锁竞争。redis模式下各节点先把增量汇总到Redis，再由抢到批次的节点落库；
+ * 领取的批次带节点所有权租约，节点崩溃后租约过期，遗留的批次由存活节点接管写回。
+ * 批次按固定分段写回，每段与写回记录在同一事务中提交，重试和接管时跳过已写回的分段，不会重复累加。
+ */
+@Component
+@Slf4j
+public class ViewCountBuffer {
+
+    private static final String REDIS_PENDING_KEY = "news:views:pending";
+    private static final String REDIS_FLUSHING_KEY_PREFIX = "news:views:flushing:";
+    private static final String REDIS_OWNER_KEY_PREFIX = "news:views:owner:";
+    // 批次哈希中的元数据字段，与新闻ID字段区分
+    private static final String BATCH_ID_FIELD = "#batch";
+    private static final String CHUNK_SIZE_FIELD = "#chunk";
+    private static final Duration FLUSH_RECORD_RETENTION = Duration.ofDays(1);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final StringRedisTemplate redisTemplate;
+    private final Timer flushTimer;
+    private final Counter flushedViews;
+
+    private final ConcurrentHashMap<Long, LongAdder> pending = new ConcurrentHashMap<>();
+    // 上一轮已移出的空闲计数器，下一轮再收取一次，防止并发写入丢失
+    private final List<Map.Entry<Long, LongAdder>> retired = new ArrayList<>();
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private final String nodeId = UUID.randomUUID().toString();
+    private final String flushingKey = REDIS_FLUSHING_KEY_PREFIX + nodeId;
+    private final String ownerKey = REDIS_OWNER_KEY_PREFIX + nodeId;
+
+    @Value("${view-counter.mode:local}")
+    private String mode;
+
+    @Value("${view-counter.max-batch-size:500}")
+    private int maxBatchSize;
+
+    @Value("${view-counter.owner-lease:60}")
+    private long ownerLeaseSeconds;
+
+    public ViewCountBuffer(JdbcTemplate jdbcTemplate,
+                           PlatformTransactionManager transactionManager,
+                           StringRedisTemplate redisTemplate,
+                           MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.redisTemplate = redisTemplate;
+        this.flushTimer = Timer.builder("news.view.flush")
+                .description("浏览次数批量写回耗时")
+                .register(meterRegistry);
+        this.flushedViews = Counter.builder("news.view.flushed")
+                .description("已写回数据库的浏览次数")
+                .register(meterRegistry);
+        Gauge.builder("news.view.pending.articles", pending, Map::size)
+                .description("有待写回浏览增量的新闻数")
+                .register(meterRegistry);
+        Gauge.builder("news.view.pending.deltas", this, ViewCountBuffer::pendingDeltaTotal)
+                .description("待写回的浏览增量总数")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 记录一次浏览（无阻塞）
+     */
+    public void record(Long newsId) {
+        pending.computeIfAbsent(newsId, id -> new LongAdder()).increment();
+    }
+
+    /**
+     * 获取本节点尚未写回的浏览增量
+     */
+    public long pendingFor(Long newsId) {
+        LongAdder adder = pending.get(newsId);
+        return adder != null ? adder.sum() : 0L;
+    }
+
+    /**
+     * 定时写回
+     */
+    @Scheduled(fixedDelayString = "${view-counter.flush-interval:5000}")
+    public void flush() {
+        if (!flushLock.tryLock()) {
+            return;
+        }
+        try {
+            flushTimer.record(this::doFlush);
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    /**
+     * 接管无主批次：节点领取批次后崩溃时，其哈希会一直留在Redis中，
+     * 所有权租约过期后由存活节点改名为自己的批次并写回
+     */
+    @Scheduled(initialDelayString = "${view-counter.flush-interval:5000}",
+               fixedDelayString = "${view-counter.reclaim-interval:60000}")
+    public void reclaimOrphanedBatches() {
+        if (!isRedisMode() || !flushLock.tryLock()) {
+            return;
+        }
+        try {
+            renewOwnership();
+            List<String> orphans = new ArrayList<>();
+            ScanOptions options = ScanOptions.scanOptions().match(REDIS_FLUSHING_KEY_PREFIX + "*").count(100).build();
+            try (Cursor<String> cursor = redisTemplate.scan(options)) {
+                cursor.forEachRemaining(key -> {
+                    String owner = key.substring(REDIS_FLUSHING_KEY_PREFIX.length());
+                    if (!owner.equals(nodeId) && !Boolean.TRUE.equals(redisTemplate.hasKey(REDIS_OWNER_KEY_PREFIX + owner))) {
+                        orphans.add(key);
+                    }
+                });
+            }
+            for (String orphan : orphans) {
+                // 本节点的批次未写完时先处理自己的，下一轮再接管
+                if (Boolean.TRUE.equals(redisTemplate.hasKey(flushingKey))) {
+                    break;
+                }
+                try {
+                    redisTemplate.rename(orphan, flushingKey);
+                } catch (Exception e) {
+                    // 已被其他节点接管
+                    continue;
+                }
+                log.warn("Reclaimed orphaned view batch {}", orphan);
+                applyClaimedBatch();
+            }
+            purgeFlushRecords();
+        } catch (Exception e) {
+            log.warn("Failed to reclaim orphaned view batches: {}", e.getMessage());
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    /**
+     * 应用关闭前写回剩余增量
+     */
+    @PreDestroy
+    public void shutdown() {
+        log.info("Flushing pending view counts before shutdown");
+        flushLock.lock();
+        try {
+            doFlush();
+            // 已移出的计数器在关闭时也一并收取
+            doFlush();
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    private void doFlush() {
+        Map<Long, Long> deltas = drainLocal();
+        if (isRedisMode()) {
+            flushThroughRedis(deltas);
+        } else if (!deltas.isEmpty()) {
+            applyOrRequeue(deltas);
+        }
+    }
+
+    /**
+     * 收取本地增量：非零计数器减去已读取的值，空闲计数器移出并在下一轮复查
+     */
+    private Map<Long, Long> drainLocal() {
+        Map<Long, Long> deltas = new HashMap<>();
+
+        for (Map.Entry<Long, LongAdder> entry : retired) {
+            long late = entry.getValue().sum();
+            if (late != 0) {
+                deltas.merge(entry.getKey(), late, Long::sum);
+            }
+        }
+        retired.clear();
+
+        for (Map.Entry<Long, LongAdder> entry : pending.entrySet()) {
+            LongAdder adder = entry.getValue();
+            long delta = adder.sum();
+            if (delta == 0) {
+                if (pending.remove(entry.getKey(), adder)) {
+                    retired.add(Map.entry(entry.getKey(), adder));
+                }
+                continue;
+            }
+            adder.add(-delta);
+            deltas.merge(entry.getKey(), delta, Long::sum);
+        }
+        return deltas;
+    }
+
+    /**
+     * redis模式：先汇总到共享哈希，再通过RENAME原子地领取整个批次写回数据库
+     */
+    private void flushThroughRedis(Map<Long, Long> deltas) {
+        try {
+            if (!deltas.isEmpty()) {
+                redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                    StringRedisConnection conn = (StringRedisConnection) connection;
+                    deltas.forEach((newsId, delta) ->
+                            conn.hIncrBy(REDIS_PENDING_KEY, newsId.toString(), delta));
+                    return null;
+                });
+            }
+        } catch (Exception e) {
+            log.warn("Failed to push view deltas to Redis, writing to database directly: {}", e.getMessage());
+            applyOrRequeue(deltas);
+            return;
+        }
+
+        try {
+            renewOwnership();
+            // 上一轮领取但未写成功的批次优先处理
+            if (!Boolean.TRUE.equals(redisTemplate.hasKey(flushingKey))) {
+                if (!Boolean.TRUE.equals(redisTemplate.hasKey(REDIS_PENDING_KEY))) {
+                    return;
+                }
+                redisTemplate.rename(REDIS_PENDING_KEY, flushingKey);
+            }
+        } catch (Exception e) {
+            // 其他节点先领取了批次时RENAME会失败，属于正常竞争
+            log.debug("Redis view batch not claimed this round: {}", e.getMessage());
+            return;
+        }
+        applyClaimedBatch();
+    }
+
+    /**
+     * 写回本节点领取的批次
+     * 首次写回时给批次分配ID并固定分段大小（写入哈希，接管的节点沿用），分段按新闻ID排序后切分，
+     * 重试时分段不变；每段的UPDATE与写回记录在同一事务中提交，已有记录的分段直接跳过。
+     * 全部分段写回后才删除哈希，删除失败只会导致下一轮重新检查写回记录
+     */
+    private void applyClaimedBatch() {
+        try {
+            redisTemplate.opsForHash().putIfAbsent(flushingKey, BATCH_ID_FIELD, UUID.randomUUID().toString());
+            redisTemplate.opsForHash().putIfAbsent(flushingKey, CHUNK_SIZE_FIELD, Integer.toString(maxBatchSize));
+            Map<Object, Object> claimed = redisTemplate.opsForHash().entries(flushingKey);
+            String batchId = claimed.get(BATCH_ID_FIELD).toString();
+            int chunkSize = Integer.parseInt(claimed.get(CHUNK_SIZE_FIELD).toString());
+
+            List<Map.Entry<Long, Long>> entries = new ArrayList<>();
+            claimed.forEach((k, v) -> {
+                if (!k.toString().startsWith("#")) {
+                    entries.add(Map.entry(Long.valueOf(k.toString()), Long.valueOf(v.toString())));
+                }
+            });
+            entries.sort(Map.Entry.comparingByKey(Comparator.naturalOrder()));
+
+            for (int from = 0, chunkNo = 0; from < entries.size(); from += chunkSize, chunkNo++) {
+                applyOnce(batchId, chunkNo, entries.subList(from, Math.min(from + chunkSize, entries.size())));
+            }
+            redisTemplate.delete(flushingKey);
+        } catch (Exception e) {
+            log.error("Failed to flush claimed view batch {}, will retry: {}", flushingKey, e.getMessage());
+        }
+    }
+
+    /**
+     * 在一个事务中写入分段的写回记录和批量UPDATE，记录已存在说明该分段写回过
+     */
+    private void applyOnce(String batchId, int chunkNo, List<Map.Entry<Long, Long>> chunk) {
+        Boolean applied = transactionTemplate.execute(status -> {
+            int recorded = jdbcTemplate.update(
+                    "INSERT IGNORE INTO view_count_flushes (batch_id, chunk_no) VALUES (?, ?)", batchId, chunkNo);
+            if (recorded == 0) {
+                return false;
+            }
+            updateViewCounts(chunk);
+            return true;
+        });
+        if (Boolean.TRUE.equals(applied)) {
+            chunk.forEach(entry -> flushedViews.increment(entry.getValue()));
+        } else {
+            log.info("View batch {} chunk {} already applied, skipping", batchId, chunkNo);
+        }
+    }
+
+    /**
+     * 清理过期的写回记录，批次在租约和接管周期内早已写完，记录只需保留一段时间
+     */
+    private void purgeFlushRecords() {
+        int purged = jdbcTemplate.update("DELETE FROM view_count_flushes WHERE applied_at < ?",
+                Timestamp.valueOf(LocalDateTime.now().minus(FLUSH_RECORD_RETENTION)));
+        if (purged > 0) {
+            log.debug("Purged {} view flush records", purged);
+        }
+    }
+
+    /**
+     * 续租本节点的批次所有权，租约存在时其他节点不会接管本节点的批次
+     */
+    private void renewOwnership() {
+        redisTemplate.opsForValue().set(ownerKey, "1", Duration.ofSeconds(ownerLeaseSeconds));
+    }
+
+    private void applyOrRequeue(Map<Long, Long> deltas) {
+        for (List<Map.Entry<Long, Long>> chunk : chunks(deltas)) {
+            try {
+                updateViewCounts(chunk);
+                chunk.forEach(entry -> flushedViews.increment(entry.getValue()));
+            } catch (Exception e) {
+                log.error("Failed to flush {} view deltas, will retry: {}", chunk.size(), e.getMessage());
+                chunk.forEach(entry ->
+                        pending.computeIfAbsent(entry.getKey(), id -> new LongAdder()).add(entry.getValue()));
+            }
+        }
+    }
+
+    private List<List<Map.Entry<Long, Long>>> chunks(Map<Long, Long> deltas) {
+        List<Map.Entry<Long, Long>> entries = new ArrayList<>(deltas.entrySet());
+        List<List<Map.Entry<Long, Long>>> chunks = new ArrayList<>();
+        for (int from = 0; from < entries.size(); from += maxBatchSize) {
+            chunks.add(entries.subList(from, Math.min(from + maxBatchSize, entries.size())));
+        }
+        return chunks;
+    }
+
+    /**
+     * 以多行CASE更新批量写回，显式保留updated_at
+     */
+    private void updateViewCounts(List<Map.Entry<Long, Long>> chunk) {
+        StringBuilder sql = new StringBuilder("UPDATE news SET view_count = view_count + CASE id");
+        List<Object> args = new ArrayList<>(chunk.size() * 3);
+        for (Map.Entry<Long, Long> entry : chunk) {
+            sql.append(" WHEN ? THEN ?");
+            args.add(entry.getKey());
+            args.add(entry.getValue());
+        }
+        sql.append(" ELSE 0 END, updated_at = updated_at WHERE id IN (");
+        for (int i = 0; i < chunk.size(); i++) {
+            sql.append(i == 0 ? "?" : ",?");
+            args.add(chunk.get(i).getKey());
+        }
+        sql.append(")");
+
+        jdbcTemplate.update(sql.toString(), args.toArray());
+        log.debug("Flushed view deltas for {} news", chunk.size());
+    }
+
+    private boolean isRedisMode() {
+        return "redis".equalsIgnoreCase(mode);
+    }
+
+    private double pendingDeltaTotal() {
+        long total = 0;
+        for (LongAdder adder : pending.values()) {
+            total += adder.sum();
+        }
+        return total;
+    }
+}
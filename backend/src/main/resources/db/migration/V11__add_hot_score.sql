@@ -0,0 +1,13 @@
+-- V11__add_hot_score.sql
+-- 新闻热度分值预计算，替代列表查询中逐行计算的时间衰减排序表达式
+
+ALTER TABLE news ADD COLUMN hot_score DOUBLE NOT NULL DEFAULT 0 COMMENT '热度分值（浏览量按发布时间衰减）';
+
+-- 初始化已有数据的热度分值（保持updated_at不变）
+UPDATE news
+SET hot_score = view_count / (1 + TIMESTAMPDIFF(HOUR, publish_time, NOW()) / 24),
+    updated_at = updated_at;
+
+-- 智能排序索引：按状态/分类过滤后直接按热度顺序扫描（InnoDB二级索引隐含主键id，可用于同分排序）
+CREATE INDEX idx_status_hot_score ON news(status, hot_score DESC);
+CREATE INDEX idx_category_status_hot_score ON news(category_id, status, hot_score DESC);
@@ -0,0 +1,12 @@
+-- V13__add_summary_cache.sql
+-- 摘要缓存：按 模型+规范化提示词 的SHA-256复用生成结果
+
+CREATE TABLE IF NOT EXISTS summary_cache (
+    prompt_hash CHAR(64) PRIMARY KEY,
+    model_version VARCHAR(50) NOT NULL,
+    summary_content TEXT NOT NULL,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='摘要缓存表';
+
+-- 记录摘要对应的提示词哈希，内容未变化时跳过重新生成
+ALTER TABLE summaries ADD COLUMN prompt_hash CHAR(64) NULL;
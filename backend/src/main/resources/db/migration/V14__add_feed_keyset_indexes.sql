@@ -0,0 +1,19 @@
+-- V14__add_feed_keyset_indexes.sql
+-- 游标分页（keyset）索引：排序键后紧跟id，WHERE (排序键, id) < (游标) 可直接在索引上定位并顺序扫描
+-- 原有DESC索引的隐含主键为升序，无法同时满足 排序键 DESC, id DESC 的排序，由以下索引替代
+
+-- 最新 / 时间范围（按状态）
+CREATE INDEX idx_status_publish_id ON news(status, publish_time, id);
+
+-- 按分类最新（替代 idx_category_status_publish，同时满足category_id外键索引要求）
+CREATE INDEX idx_category_status_publish_id ON news(category_id, status, publish_time, id);
+DROP INDEX idx_category_status_publish ON news;
+
+-- 按来源最新
+CREATE INDEX idx_source_status_publish_id ON news(source_website, status, publish_time, id);
+
+-- 智能排序（替代V11中的热度索引）
+CREATE INDEX idx_status_hot_score_id ON news(status, hot_score, id);
+CREATE INDEX idx_category_status_hot_score_id ON news(category_id, status, hot_score, id);
+DROP INDEX idx_status_hot_score ON news;
+DROP INDEX idx_category_status_hot_score ON news;
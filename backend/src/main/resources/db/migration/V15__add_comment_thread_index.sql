@@ -0,0 +1,6 @@
+-- V15__add_comment_thread_index.sql
+-- 评论列表按 (news_id, status) 过滤、(created_at, id) 倒序的游标分页索引
+
+-- 替代 idx_news_id，同时满足news_id外键索引要求
+CREATE INDEX idx_news_status_created_id ON comments(news_id, status, created_at, id);
+DROP INDEX idx_news_id ON comments;
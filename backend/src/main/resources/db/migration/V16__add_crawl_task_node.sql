@@ -0,0 +1,5 @@
+-- V16__add_crawl_task_node.sql
+-- 记录执行爬取任务的节点，重启时只把本节点遗留的未结束任务标记为失败
+
+ALTER TABLE crawl_tasks ADD COLUMN node_id VARCHAR(100) COMMENT '执行任务的节点';
+CREATE INDEX idx_status_node ON crawl_tasks(status, node_id);
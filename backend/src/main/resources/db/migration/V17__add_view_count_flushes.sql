@@ -0,0 +1,10 @@
+-- V17__add_view_count_flushes.sql
+-- 浏览次数批次写回记录：与批量UPDATE在同一事务中写入，重试或接管批次时跳过已写回的分段
+
+CREATE TABLE view_count_flushes (
+    batch_id VARCHAR(36) NOT NULL,
+    chunk_no INT NOT NULL,
+    applied_at DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (batch_id, chunk_no),
+    INDEX idx_applied_at (applied_at)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
@@ -0,0 +1,70 @@
+package com.news;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 集成测试基类
+ * 在MySQL和Redis容器上启动完整应用上下文，表结构由Flyway迁移创建；没有Docker时跳过
+ */
+@SpringBootTest
+@Testcontainers(disabledWithoutDocker = true)
+public abstract class AbstractContainerTest {
+
+    @Container
+    protected static final MySQLContainer<?> MYSQL = new MySQLContainer<>("mysql:8.0")
+            .withDatabaseName("news_management_db");
+
+    @Container
+    protected static final GenericContainer<?> REDIS = new GenericContainer<>("redis:7-alpine")
+            .withExposedPorts(6379);
+
+    @Autowired
+    protected JdbcTemplate jdbcTemplate;
+
+    @DynamicPropertySource
+    static void containerProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", MYSQL::getJdbcUrl);
+        registry.add("spring.datasource.username", MYSQL::getUsername);
+        registry.add("spring.datasource.password", MYSQL::getPassword);
+        registry.add("spring.data.redis.host", REDIS::getHost);
+        registry.add("spring.data.redis.port", () -> REDIS.getMappedPort(6379));
+    }
+
+    /**
+     * 批量创建用户，返回按创建顺序排列的ID
+     */
+    protected List<Long> createUsers(String prefix, int count) {
+        List<Object[]> rows = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            rows.add(new Object[]{prefix + i});
+        }
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO users (username, password_hash, role) VALUES (?, 'test', 'USER')", rows);
+        return jdbcTemplate.queryForList(
+                "SELECT id FROM users WHERE username LIKE ? ORDER BY id", Long.class, prefix + "%");
+    }
+
+    /**
+     * 创建一篇已发布新闻，返回ID
+     */
+    protected Long createNews(String title) {
+        Long categoryId = jdbcTemplate.queryForObject("SELECT MIN(id) FROM categories", Long.class);
+        jdbcTemplate.update("INSERT INTO news (title, content, source_website, original_url, category_id, publish_time)"
+                        + " VALUES (?, 'content', 'test', ?, ?, ?)",
+                title, "https://example.com/" + title, categoryId, Timestamp.valueOf(LocalDateTime.now()));
+        return jdbcTemplate.queryForObject("SELECT id FROM news WHERE title = ?", Long.class, title);
+    }
+}
@@ -0,0 +1,116 @@
+package com.news.search;
+
+import com.news.AbstractContainerTest;
+import com.news.event.NewsBatchCreatedEvent;
+import com.news.model.entity.News;
+import com.news.repository.NewsRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 全文检索基准测试
+ * 5000篇中英混排新闻上对比数据库LIKE查询与内存倒排索引：索引命中须覆盖LIKE的全部命中
+ * （包括"iphone"匹配"iPhone15"、"Hua"匹配"Huawei"这类子串查询），并记录两者耗时
+ */
+@Slf4j
+class NewsSearchBenchmarkTest extends AbstractContainerTest {
+
+    private static final int NEWS = 5_000;
+    private static final int ROUNDS = 20;
+
+    private static final String[] CJK_WORDS = {
+            "人工智能", "新能源汽车", "芯片", "发布会", "经济增长", "国际贸易", "航天", "气候变化",
+            "教育改革", "医疗保障", "股市", "半导体", "数字经济", "乡村振兴", "体育赛事", "文化旅游"
+    };
+    private static final String[] LATIN_WORDS = {
+            "iPhone15", "Huawei", "HarmonyOS", "5G", "ChatGPT", "Xiaomi14", "Tesla", "ModelY",
+            "NVIDIA", "GPU", "OpenAI", "BYD", "2024", "WiFi7", "AppleWatch", "Mate60"
+    };
+    private static final String[] QUERIES = {
+            "人工智能", "芯片", "新能源", "iphone", "iPhone15", "Hua", "harmony", "5G",
+            "gpt", "Mate", "2024", "byd", "半导体 NVIDIA", "发布会 iPhone"
+    };
+
+    @Autowired
+    private NewsRepository newsRepository;
+
+    @Autowired
+    private NewsSearchService newsSearchService;
+
+    @BeforeEach
+    void seed() {
+        String prefix = "search-benchmark-" + System.nanoTime() + "-";
+        Long categoryId = jdbcTemplate.queryForObject("SELECT MIN(id) FROM categories", Long.class);
+        Random random = new Random(42);
+        LocalDateTime base = LocalDateTime.now().minusDays(30);
+
+        List<Object[]> rows = new ArrayList<>(NEWS);
+        for (int i = 0; i < NEWS; i++) {
+            String title = prefix + i + " " + pick(random, CJK_WORDS) + pick(random, LATIN_WORDS);
+            StringBuilder content = new StringBuilder();
+            for (int w = 0; w < 60; w++) {
+                content.append(random.nextInt(3) == 0 ? pick(random, LATIN_WORDS) + " " : pick(random, CJK_WORDS));
+            }
+            rows.add(new Object[]{title, content.toString(), "https://example.com/" + prefix + i, categoryId,
+                    Timestamp.valueOf(base.plusMinutes(i))});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO news (title, content, source_website, original_url, category_id,"
+                + " publish_time) VALUES (?, ?, 'test', ?, ?, ?)", rows);
+
+        newsSearchService.onNewsBatchCreated(new NewsBatchCreatedEvent(newsRepository.findAll()));
+    }
+
+    @Test
+    void indexCoversLikeMatches() {
+        PageRequest all = PageRequest.of(0, NEWS);
+        long likeNanos = 0;
+        long indexNanos = 0;
+
+        for (String query : QUERIES) {
+            Set<Long> likeHits = ids(newsRepository.searchByKeyword(query, "PUBLISHED", all).getContent());
+            Set<Long> indexHits = ids(newsSearchService.search(query, all).getContent());
+            log.info("Query '{}': LIKE {} hits, index {} hits", query, likeHits.size(), indexHits.size());
+            assertThat(indexHits).as("index hits for '%s'", query).containsAll(likeHits);
+
+            likeNanos += time(() -> newsRepository.searchByKeyword(query, "PUBLISHED", PageRequest.of(0, 20)));
+            indexNanos += time(() -> newsSearchService.search(query, PageRequest.of(0, 20)));
+        }
+
+        int reads = QUERIES.length * ROUNDS;
+        log.info("First page over {} news: LIKE {} us/query, index {} us/query",
+                NEWS, TimeUnit.NANOSECONDS.toMicros(likeNanos) / reads, TimeUnit.NANOSECONDS.toMicros(indexNanos) / reads);
+    }
+
+    private long time(Supplier<?> query) {
+        long begin = System.nanoTime();
+        for (int i = 0; i < ROUNDS; i++) {
+            query.get();
+        }
+        return System.nanoTime() - begin;
+    }
+
+    private Set<Long> ids(List<News> news) {
+        Set<Long> ids = new HashSet<>();
+        news.forEach(item -> ids.add(item.getId()));
+        return ids;
+    }
+
+    private static String pick(Random random, String[] words) {
+        return words[random.nextInt(words.length)];
+    }
+}
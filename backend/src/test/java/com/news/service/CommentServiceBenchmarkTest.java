@@ -0,0 +1,124 @@
+package com.news.service;
+
+import com.news.AbstractContainerTest;
+import com.news.model.dto.CursorSlice;
+import com.news.model.entity.Comment;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.TestPropertySource;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 评论读取基准测试
+ * 单篇文章1万条评论（时间戳有重复，验证游标的ID兜底排序），逐页翻完并统计每页SQL条数和耗时
+ */
+@Slf4j
+@TestPropertySource(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class CommentServiceBenchmarkTest extends AbstractContainerTest {
+
+    private static final int COMMENTS = 10_000;
+    private static final int AUTHORS = 200;
+    private static final int PAGE_SIZE = 50;
+    private static final int FIRST_PAGE_READS = 200;
+
+    @Autowired
+    private CommentService commentService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Long newsId;
+    private Statistics statistics;
+
+    @BeforeEach
+    void seed() {
+        String title = "comment-benchmark-" + System.nanoTime();
+        newsId = createNews(title);
+        List<Long> authors = createUsers(title + "-user-", AUTHORS);
+
+        // 每3条评论共用一个时间戳（秒级），与created_at列精度一致
+        LocalDateTime base = LocalDateTime.now().withNano(0).minusDays(1);
+        List<Object[]> rows = new ArrayList<>(COMMENTS);
+        for (int i = 0; i < COMMENTS; i++) {
+            rows.add(new Object[]{newsId, authors.get(i % AUTHORS), "comment " + i,
+                    Timestamp.valueOf(base.plusSeconds(i / 3))});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO comments (news_id, user_id, content, created_at, status)"
+                + " VALUES (?, ?, ?, ?, 'APPROVED')", rows);
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void walksAllCommentsWithBoundedQueriesPerPage() {
+        Set<Long> seen = new HashSet<>();
+        Comment previous = null;
+        String cursor = null;
+        int pages = 0;
+        long maxStatements = 0;
+        long begin = System.nanoTime();
+
+        do {
+            statistics.clear();
+            CursorSlice<Comment> slice = commentService.getNewsComments(newsId, cursor, PAGE_SIZE);
+            maxStatements = Math.max(maxStatements, statistics.getPrepareStatementCount());
+            pages++;
+
+            for (Comment comment : slice.getContent()) {
+                assertThat(seen.add(comment.getId())).as("duplicate comment %s", comment.getId()).isTrue();
+                assertThat(comment.getUsername()).isNotNull();
+                if (previous != null) {
+                    assertThat(isOlder(comment, previous)).as("order at comment %s", comment.getId()).isTrue();
+                }
+                previous = comment;
+            }
+            cursor = slice.getNextCursor();
+        } while (cursor != null);
+
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - begin);
+        log.info("Walked {} comments in {} pages: {} ms total, {} ms/page, at most {} statements/page",
+                seen.size(), pages, elapsedMillis, elapsedMillis / pages, maxStatements);
+
+        assertThat(seen).hasSize(COMMENTS);
+        // 一条游标查询 + 最多一条作者IN查询
+        assertThat(maxStatements).isLessThanOrEqualTo(2);
+    }
+
+    @Test
+    void firstPageIsServedFromCacheAfterWarmup() {
+        int firstPageSize = 20;
+        commentService.getNewsComments(newsId, null, firstPageSize);
+
+        statistics.clear();
+        long begin = System.nanoTime();
+        for (int i = 0; i < FIRST_PAGE_READS; i++) {
+            assertThat(commentService.getNewsComments(newsId, null, firstPageSize).getContent())
+                    .hasSize(firstPageSize);
+        }
+        long elapsedMicros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - begin);
+        log.info("First page read {} times: {} us/read, {} statements",
+                FIRST_PAGE_READS, elapsedMicros / FIRST_PAGE_READS, statistics.getPrepareStatementCount());
+
+        // 评论和作者名都已缓存
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+    }
+
+    private boolean isOlder(Comment comment, Comment previous) {
+        int byTime = comment.getCreatedAt().compareTo(previous.getCreatedAt());
+        return byTime < 0 || (byTime == 0 && comment.getId() < previous.getId());
+    }
+}
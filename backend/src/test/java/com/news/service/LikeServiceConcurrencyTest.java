@@ -0,0 +1,125 @@
+package com.news.service;
+
+import com.news.AbstractContainerTest;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 点赞并发压力测试
+ * 1000个用户同时对同一篇新闻点赞/取消点赞（含重复点击），验证不抛唯一键冲突、
+ * 状态变化次数正确，且news.like_count与likes表行数一致
+ */
+@Slf4j
+class LikeServiceConcurrencyTest extends AbstractContainerTest {
+
+    private static final int USERS = 1000;
+    private static final int THREADS = 64;
+
+    @Autowired
+    private LikeService likeService;
+
+    @Test
+    void parallelDoubleClicksChangeStateOncePerUser() throws Exception {
+        Long newsId = createNews("like-double-click");
+        List<Long> userIds = createUsers("like-double-click-", USERS);
+
+        // 每个用户连点两次点赞，只有一次生效
+        List<Callable<Boolean>> likes = new ArrayList<>();
+        for (Long userId : userIds) {
+            likes.add(() -> likeService.likeNews(newsId, userId));
+            likes.add(() -> likeService.likeNews(newsId, userId));
+        }
+        assertThat(countChanged(runConcurrently("like", likes))).isEqualTo(USERS);
+        assertConsistent(newsId, USERS);
+
+        // 每个用户连点两次取消点赞，只有一次生效
+        List<Callable<Boolean>> unlikes = new ArrayList<>();
+        for (Long userId : userIds) {
+            unlikes.add(() -> likeService.unlikeNews(newsId, userId));
+            unlikes.add(() -> likeService.unlikeNews(newsId, userId));
+        }
+        assertThat(countChanged(runConcurrently("unlike", unlikes))).isEqualTo(USERS);
+        assertConsistent(newsId, 0);
+    }
+
+    @Test
+    void parallelRandomTogglesKeepCounterInSync() throws Exception {
+        Long newsId = createNews("like-toggle");
+        List<Long> userIds = createUsers("like-toggle-", USERS);
+
+        List<Callable<Boolean>> toggles = new ArrayList<>();
+        for (Long userId : userIds) {
+            int clicks = ThreadLocalRandom.current().nextInt(1, 5);
+            toggles.add(() -> {
+                for (int i = 0; i < clicks; i++) {
+                    if (ThreadLocalRandom.current().nextBoolean()) {
+                        likeService.likeNews(newsId, userId);
+                    } else {
+                        likeService.unlikeNews(newsId, userId);
+                    }
+                }
+                return true;
+            });
+        }
+        runConcurrently("toggle", toggles);
+
+        Integer rows = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM likes WHERE news_id = ?", Integer.class, newsId);
+        assertConsistent(newsId, rows);
+    }
+
+    /**
+     * 所有任务就绪后同时放行，全部完成后返回结果；任一任务抛出异常则测试失败
+     */
+    private List<Boolean> runConcurrently(String name, List<Callable<Boolean>> tasks) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<Boolean>> futures = new ArrayList<>(tasks.size());
+            for (Callable<Boolean> task : tasks) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return task.call();
+                }));
+            }
+            long begin = System.nanoTime();
+            start.countDown();
+            List<Boolean> results = new ArrayList<>(futures.size());
+            for (Future<Boolean> future : futures) {
+                results.add(future.get(60, TimeUnit.SECONDS));
+            }
+            long elapsedMillis = Math.max(1, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - begin));
+            log.info("{}: {} calls in {} ms ({} calls/s)",
+                    name, tasks.size(), elapsedMillis, tasks.size() * 1000L / elapsedMillis);
+            return results;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private long countChanged(List<Boolean> results) {
+        return results.stream().filter(Boolean::booleanValue).count();
+    }
+
+    private void assertConsistent(Long newsId, int expected) {
+        Integer rows = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM likes WHERE news_id = ?", Integer.class, newsId);
+        Integer likeCount = jdbcTemplate.queryForObject(
+                "SELECT like_count FROM news WHERE id = ?", Integer.class, newsId);
+        assertThat(rows).isEqualTo(expected);
+        assertThat(likeCount).isEqualTo(expected);
+    }
+}
@@ -33,6 +33,7 @@ export interface UserInfo {
  */
 export interface TokenRefreshResponse {
   token: string;
+  refreshToken: string;
 }
 
 /**
@@ -67,12 +68,13 @@ export function register(data: RegisterRequest): Promise<LoginResponse> {
 }
 
 /**
- * 用户登出
+ * 用户登出（同时吊销刷新Token）
  */
-export function logout(): Promise<void> {
+export function logout(refreshToken?: string): Promise<void> {
   return request({
     url: '/auth/logout',
-    method: 'post'
+    method: 'post',
+    data: refreshToken ? { refreshToken } : undefined
   });
 }
 
@@ -87,7 +89,7 @@ export function getCurrentUser(): Promise<UserInfo> {
 }
 
 /**
- * 刷新Token
+ * 刷新Token（刷新Token仅可使用一次，需保存响应中的新刷新Token）
  */
 export function refreshToken(refreshToken: string): Promise<TokenRefreshResponse> {
   return request({
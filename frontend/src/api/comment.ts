@@ -1,4 +1,5 @@
 import request from '@/utils/request'
+import type { CursorSlice } from '@/api/news'
 
 export interface Comment {
   id: number
@@ -28,12 +29,13 @@ export function createComment(data: CommentCreateRequest) {
 }
 
 /**
- * 获取新闻的评论列表
+ * 游标分页获取新闻的评论列表（按时间倒序），首页不传cursor
  */
-export function getNewsComments(newsId: number) {
-  return request<Comment[]>({
+export function getNewsComments(newsId: number, params: { cursor?: string; size?: number } = {}) {
+  return request<CursorSlice<Comment>>({
     url: `/comments/news/${newsId}`,
-    method: 'get'
+    method: 'get',
+    params
   })
 }
 
@@ -0,0 +1,119 @@
+import request from '@/utils/request'
+
+export interface CrawlProgress {
+  taskId: number
+  source: string
+  /** PENDING / RUNNING / SUCCESS / FAILED / CANCELLED */
+  status: string
+  maxCount: number
+  /** 已抓取并解析的详情页数 */
+  fetched: number
+  successCount: number
+  failCount: number
+  cancelRequested: boolean
+  startTime?: string
+  endTime?: string
+  errorMessage?: string
+}
+
+/**
+ * 启动单个来源的采集任务
+ */
+export function triggerCrawler(source: string, maxCount: number) {
+  return request<{ taskId: number; message: string }>({
+    url: `/crawler/trigger/${source}`,
+    method: 'post',
+    params: { maxCount }
+  })
+}
+
+/**
+ * 启动所有来源的采集任务
+ */
+export function triggerAllCrawlers(maxCount: number) {
+  return request<{ tasks: CrawlProgress[]; message: string }>({
+    url: '/crawler/trigger/all',
+    method: 'post',
+    params: { maxCount }
+  })
+}
+
+/**
+ * 获取未结束任务的进度
+ */
+export function getActiveCrawlTasks() {
+  return request<CrawlProgress[]>({
+    url: '/crawler/tasks/active',
+    method: 'get'
+  })
+}
+
+/**
+ * 取消采集任务
+ */
+export function cancelCrawlTask(taskId: number) {
+  return request<CrawlProgress>({
+    url: `/crawler/tasks/${taskId}/cancel`,
+    method: 'post'
+  })
+}
+
+/**
+ * 订阅采集任务进度（SSE）
+ * EventSource无法携带Authorization头，这里用fetch读取事件流；连接断开后自动重连
+ *
+ * @returns 取消订阅的函数
+ */
+export function subscribeCrawlProgress(onProgress: (progress: CrawlProgress) => void) {
+  const controller = new AbortController()
+  const url = `${import.meta.env.VITE_API_BASE_URL}/crawler/tasks/stream`
+
+  const connect = async () => {
+    while (!controller.signal.aborted) {
+      try {
+        const token = localStorage.getItem(import.meta.env.VITE_TOKEN_KEY || 'news_management_token')
+        const response = await fetch(url, {
+          headers: {
+            Accept: 'text/event-stream',
+            ...(token ? { Authorization: `Bearer ${token}` } : {})
+          },
+          signal: controller.signal
+        })
+        if (!response.ok || !response.body) {
+          throw new Error(`SSE connect failed: ${response.status}`)
+        }
+
+        const reader = response.body.getReader()
+        const decoder = new TextDecoder()
+        let buffer = ''
+        for (;;) {
+          const { value, done } = await reader.read()
+          if (done) break
+          buffer += decoder.decode(value, { stream: true })
+          // 事件之间以空行分隔，data行为JSON
+          let boundary
+          while ((boundary = buffer.indexOf('\n\n')) >= 0) {
+            const event = buffer.slice(0, boundary)
+            buffer = buffer.slice(boundary + 2)
+            const data = event
+              .split('\n')
+              .filter((line) => line.startsWith('data:'))
+              .map((line) => line.slice(5))
+              .join('\n')
+            if (data) {
+              onProgress(JSON.parse(data))
+            }
+          }
+        }
+      } catch (error) {
+        if (controller.signal.aborted) return
+        console.error('Crawl progress stream error:', error)
+      }
+      // 连接结束或失败后稍后重连
+      await new Promise((resolve) => setTimeout(resolve, 3000))
+    }
+  }
+
+  connect()
+  return () => controller.abort()
+}
@@ -1,10 +1,17 @@
 import request from '@/utils/request'
 
+export interface LikeToggleResponse {
+  message: string
+  liked: boolean
+  /** 点赞状态是否发生变化（重复点赞或重复取消时为false） */
+  changed: boolean
+}
+
 /**
  * 点赞新闻
  */
 export function likeNews(newsId: number) {
-  return request({
+  return request<LikeToggleResponse>({
     url: `/likes/news/${newsId}`,
     method: 'post'
   })
@@ -14,7 +21,7 @@ export function likeNews(newsId: number) {
  * 取消点赞
  */
 export function unlikeNews(newsId: number) {
-  return request({
+  return request<LikeToggleResponse>({
     url: `/likes/news/${newsId}`,
     method: 'delete'
   })
@@ -30,6 +37,17 @@ export function checkLikeStatus(newsId: number) {
   })
 }
 
+/**
+ * 批量检查点赞状态，返回其中已点赞的新闻ID（单次最多100条）
+ */
+export function getLikeStatuses(newsIds: number[]) {
+  return request<{ liked: number[] }>({
+    url: '/likes/news/status',
+    method: 'get',
+    params: { ids: newsIds.join(',') }
+  })
+}
+
 /**
  * 获取点赞数
  */
@@ -19,6 +19,39 @@ export interface News {
   updatedAt: string
 }
 
+// 新闻列表项（列表接口返回，正文仅含摘录）
+export interface NewsFeedItem {
+  id: number
+  title: string
+  sourceWebsite: string
+  categoryId: number
+  publishTime: string
+  imageUrl?: string
+  status: string
+  viewCount: number
+  likeCount?: number
+  commentCount?: number
+  hotScore?: number
+  excerpt: string
+}
+
+// 将完整新闻转换为列表项（搜索接口仍返回完整新闻）
+export function toFeedItem(news: News): NewsFeedItem {
+  return {
+    id: news.id,
+    title: news.title,
+    sourceWebsite: news.sourceWebsite,
+    categoryId: news.categoryId,
+    publishTime: news.publishTime,
+    imageUrl: news.imageUrl,
+    status: news.status,
+    viewCount: news.viewCount,
+    likeCount: news.likeCount,
+    commentCount: news.commentCount,
+    excerpt: news.content.substring(0, 150)
+  }
+}
+
 export interface Category {
   id: number
   name: string
@@ -46,13 +79,40 @@ export interface PageResponse<T> {
   number: number
 }
 
+// 游标分页结果（不含总数，nextCursor为空表示没有更多）
+export interface CursorSlice<T> {
+  content: T[]
+  nextCursor: string | null
+  hasNext: boolean
+}
+
+export interface FeedParams {
+  cursor?: string
+  size?: number
+}
+
+// 游标分页：最新新闻
+export function getLatestFeed(params: FeedParams) {
+  return request.get<CursorSlice<NewsFeedItem>>('/news/feed/latest', { params })
+}
+
+// 游标分页：智能排序（可按分类）
+export function getSmartFeed(params: FeedParams & { categoryId?: number }) {
+  return request.get<CursorSlice<NewsFeedItem>>('/news/feed/smart', { params })
+}
+
+// 游标分页：分类最新新闻
+export function getCategoryFeed(categoryId: number, params: FeedParams) {
+  return request.get<CursorSlice<NewsFeedItem>>(`/news/feed/category/${categoryId}`, { params })
+}
+
 // 获取新闻列表
 export function getNewsList(params: {
   page?: number
   size?: number
   categoryId?: number
 }) {
-  return request.get<PageResponse<News>>('/news', { params })
+  return request.get<PageResponse<NewsFeedItem>>('/news', { params })
 }
 
 // 获取新闻详情
@@ -70,13 +130,13 @@ export function searchNews(params: {
 }
 
 // 获取热门新闻
-export function getHotNews(params: { page?: number; size?: number }) {
-  return request.get<PageResponse<News>>('/news/hot', { params })
+export function getHotNews(params: { categoryId?: number; page?: number; size?: number }) {
+  return request.get<PageResponse<NewsFeedItem>>('/news/hot', { params })
 }
 
 // 获取最新新闻
 export function getLatestNews(params: { page?: number; size?: number }) {
-  return request.get<PageResponse<News>>('/news/latest', { params })
+  return request.get<PageResponse<NewsFeedItem>>('/news/latest', { params })
 }
 
 // 获取分类列表
@@ -110,8 +170,18 @@ export function generateSummary(newsId: number) {
 }
 
 // 批量生成摘要（管理员）
-export function batchGenerateSummaries() {
-  return request.post(`/summaries/generate/batch`)
+export function batchGenerateSummaries(forceRegenerate = false) {
+  return request.post(`/summaries/generate/batch`, null, { params: { forceRegenerate } })
+}
+
+// 获取批量摘要任务进度（管理员）
+export function getSummaryBatchJob(jobId: number) {
+  return request.get(`/summaries/batch-jobs/${jobId}`)
+}
+
+// 暂停/恢复/取消批量摘要任务（管理员）
+export function controlSummaryBatchJob(jobId: number, action: 'pause' | 'resume' | 'cancel') {
+  return request.post(`/summaries/batch-jobs/${jobId}/${action}`)
 }
 
 // 获取新闻统计（管理员）